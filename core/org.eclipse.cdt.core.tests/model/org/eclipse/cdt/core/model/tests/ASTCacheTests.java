@@ -148,6 +148,8 @@ public class ASTCacheTests extends BaseTestCase {
 		checkSingleThreadAccess();
 		checkAccessWithSequentialReconciler();
 		checkAccessWithConcurrentReconciler();
+		checkMultipleEntries();
+		checkBudget();
 	}
 
 	private void checkActiveElement() throws Exception {
@@ -318,6 +320,60 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	private IASTTranslationUnit getAST(ASTCache cache, ITranslationUnit tUnit, boolean wait) {
+		final IASTTranslationUnit[] result = { null };
+		cache.runOnAST(tUnit, wait, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				result[0] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		return result[0];
+	}
+
+	private void checkMultipleEntries() throws Exception {
+		ASTCache cache = new ASTCache();
+		cache.setActiveElement(fTU1);
+		IASTTranslationUnit ast1 = getAST(cache, fTU1, true);
+		assertNotNull(ast1);
+		assertSame(ast1, getAST(cache, fTU1, true));
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+
+		// The AST of the previously active element is kept.
+		cache.setActiveElement(fTU2);
+		IASTTranslationUnit ast2 = getAST(cache, fTU2, true);
+		assertNotNull(ast2);
+		assertSame(ast1, getAST(cache, fTU1, false));
+		cache.setActiveElement(fTU1);
+		assertSame(ast1, getAST(cache, fTU1, false));
+		assertSame(ast2, getAST(cache, fTU2, false));
+		assertEquals(2, cache.getMissCount());
+		assertEquals(4, cache.getHitCount());
+
+		// A change of the document invalidates the AST.
+		cache.aboutToBeReconciled(fTU2);
+		assertNull(getAST(cache, fTU2, false));
+
+		cache.disposeAST();
+		assertNull(getAST(cache, fTU1, false));
+		cache.setActiveElement(null);
+	}
+
+	private void checkBudget() throws Exception {
+		// Only the AST of the active element is kept.
+		ASTCache cache = new ASTCache(0);
+		cache.setActiveElement(fTU1);
+		assertNotNull(getAST(cache, fTU1, true));
+		cache.setActiveElement(fTU2);
+		assertNotNull(getAST(cache, fTU2, true));
+		assertNull(getAST(cache, fTU1, false));
+		assertNotNull(getAST(cache, fTU2, false));
+		assertTrue(cache.getEstimatedSize() > 0);
+		cache.setActiveElement(null);
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
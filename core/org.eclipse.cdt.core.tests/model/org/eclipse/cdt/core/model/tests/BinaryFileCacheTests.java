@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.model.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.model.BinaryFileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the persistent results of sniffing files for binaries.
+ */
+public class BinaryFileCacheTests extends BaseTestCase5 {
+	private static final String PARSERS = "org.eclipse.cdt.core.ELF;";
+
+	private File storage;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		storage = File.createTempFile("binaryfilecachetest", "dat");
+		storage.delete();
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		storage.delete();
+	}
+
+	@Test
+	public void testEntriesArePersisted() throws Exception {
+		byte[] hints = { 0x7f, 'E', 'L', 'F' };
+		BinaryFileCache cache = new BinaryFileCache(storage, PARSERS);
+		cache.put("/a.o", 100, 1000, "org.eclipse.cdt.core.ELF", hints);
+		cache.put("/a.txt", 10, 1000, null, hints);
+		cache.save();
+
+		cache = new BinaryFileCache(storage, PARSERS);
+		cache.load();
+		assertEquals(2, cache.size());
+		BinaryFileCache.Entry entry = cache.get("/a.o", 100, 1000);
+		assertNotNull(entry);
+		assertEquals("org.eclipse.cdt.core.ELF", entry.getParserId());
+		assertArrayEquals(hints, entry.getHints());
+		entry = cache.get("/a.txt", 10, 1000);
+		assertNotNull(entry);
+		assertNull(entry.getParserId());
+		assertNull(entry.getHints());
+	}
+
+	@Test
+	public void testChangedFilesAreNotFound() throws Exception {
+		BinaryFileCache cache = new BinaryFileCache(storage, PARSERS);
+		cache.put("/a.o", 100, 1000, null, null);
+		assertNull(cache.get("/a.o", 101, 1000));
+		assertNull(cache.get("/a.o", 100, 1001));
+		assertNull(cache.get("/b.o", 100, 1000));
+		assertNotNull(cache.get("/a.o", 100, 1000));
+	}
+
+	@Test
+	public void testRecentlyModifiedFilesAreNotRecorded() throws Exception {
+		BinaryFileCache cache = new BinaryFileCache(storage, PARSERS);
+		long now = System.currentTimeMillis();
+		cache.put("/a.o", 100, now, null, null);
+		cache.put("/b.o", 100, now - 10000, null, null);
+		assertNull(cache.get("/a.o", 100, now));
+		assertNotNull(cache.get("/b.o", 100, now - 10000));
+	}
+
+	@Test
+	public void testOtherParsersDiscardTheCache() throws Exception {
+		BinaryFileCache cache = new BinaryFileCache(storage, PARSERS);
+		cache.put("/a.o", 100, 1000, null, null);
+		cache.save();
+
+		cache = new BinaryFileCache(storage, "org.eclipse.cdt.core.PE64;");
+		cache.load();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testRetainAll() throws Exception {
+		BinaryFileCache cache = new BinaryFileCache(storage, PARSERS);
+		cache.put("/a.o", 100, 1000, null, null);
+		cache.put("/b.o", 100, 1000, null, null);
+		cache.retainAll(Collections.singleton("/b.o"));
+		cache.save();
+
+		cache = new BinaryFileCache(storage, PARSERS);
+		cache.load();
+		assertEquals(1, cache.size());
+		assertNotNull(cache.get("/b.o", 100, 1000));
+	}
+}
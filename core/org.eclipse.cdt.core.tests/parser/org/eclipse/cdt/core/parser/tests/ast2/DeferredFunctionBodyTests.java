@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTReturnStatement;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IParameter;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTDeferredCompoundStatement;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for function bodies that are parsed when they are accessed for the first time.
+ */
+public class DeferredFunctionBodyTests extends AST2TestBase {
+
+	public static TestSuite suite() {
+		return suite(DeferredFunctionBodyTests.class);
+	}
+
+	public DeferredFunctionBodyTests() {
+		super();
+	}
+
+	public DeferredFunctionBodyTests(String name) {
+		super(name);
+	}
+
+	private CPPASTTranslationUnit parse(String code, boolean defer) throws Exception {
+		IScanner scanner = createScanner(FileContent.create(TEST_CODE, code.toCharArray()), ParserLanguage.CPP,
+				ParserMode.COMPLETE_PARSE, createScannerInfo(ScannerKind.GNU));
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+		parser.setDeferFunctionBodies(defer);
+		return (CPPASTTranslationUnit) parser.parse();
+	}
+
+	/**
+	 * Describes the nodes of the AST with their locations and the bindings of the names.
+	 */
+	private static String dump(IASTTranslationUnit ast) {
+		final StringBuilder buf = new StringBuilder();
+		ast.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				assertTrue(node.isFrozen());
+				String className = node.getClass().getSimpleName();
+				if (node instanceof CPPASTDeferredCompoundStatement)
+					className = "CPPASTCompoundStatement";
+				buf.append(className);
+				IASTFileLocation location = node.getFileLocation();
+				if (location != null) {
+					buf.append(' ').append(location.getNodeOffset()).append(',').append(location.getNodeLength());
+				}
+				buf.append(' ').append(node.getRawSignature());
+				if (node instanceof IASTName) {
+					IBinding binding = ((IASTName) node).resolveBinding();
+					buf.append(" -> ").append(binding == null ? null : binding.getClass().getSimpleName());
+				}
+				buf.append('\n');
+				return PROCESS_CONTINUE;
+			}
+		});
+		return buf.toString();
+	}
+
+	//	struct A {
+	//		int m;
+	//		A() : m(0) {}
+	//		int get() const { return m; }
+	//	};
+	//	template<typename T> struct V {
+	//		T* p;
+	//		int n;
+	//		T& at(int i) { if (i < 0 || i >= n) throw 1; return p[i]; }
+	//		struct It { T* q; It& operator++() { ++q; return *this; } };
+	//	};
+	//	int f(int x) { A a; int y = x * 2; for (int i = 0; i < y; ++i) { y += a.get(); } return y; }
+	//	void k() { V<A> v; v.at(0).m = f(3); struct L { void q() { int z = 1; z++; } }; L l; l.q(); }
+	//	int t(int a) try { return a; } catch (...) { return 0; }
+	public void testSameAsFullParse() throws Exception {
+		String code = getAboveComment();
+		CPPASTTranslationUnit tu = parse(code, true);
+		assertEquals(7, tu.getDeferredFunctionBodyCount());
+		assertEquals(0, tu.getParsedDeferredFunctionBodyCount());
+		assertEquals(dump(parse(code, false)), dump(tu));
+		assertEquals(7, tu.getParsedDeferredFunctionBodyCount());
+	}
+
+	private static boolean isDeferred(IASTFunctionDefinition function) {
+		return function.getBody() instanceof CPPASTDeferredCompoundStatement;
+	}
+
+	//	int f(int x) {
+	//		return x;
+	//	}
+	//	int g() { return f(1); }
+	public void testBodyIsParsedOnDemand() throws Exception {
+		CPPASTTranslationUnit tu = parse(getAboveComment(), true);
+		IASTFunctionDefinition f = getDeclaration(tu, 0);
+		CPPASTDeferredCompoundStatement body = (CPPASTDeferredCompoundStatement) f.getBody();
+		assertFalse(body.isParsed());
+
+		IASTStatement[] statements = body.getStatements();
+		assertTrue(body.isParsed());
+		assertEquals(1, statements.length);
+		assertTrue(statements[0].isFrozen());
+		IASTIdExpression x = (IASTIdExpression) ((IASTReturnStatement) statements[0]).getReturnValue();
+		assertInstance(x.getName().resolveBinding(), IParameter.class);
+		assertEquals(1, tu.getParsedDeferredFunctionBodyCount());
+		IASTFunctionDefinition g = getDeclaration(tu, 1);
+		assertFalse(((CPPASTDeferredCompoundStatement) g.getBody()).isParsed());
+	}
+
+	//	constexpr int f(int x) { return x + 1; }
+	//	auto g() { return f(2); }
+	//	int h() { return 0; }
+	//	int a[f(3)];
+	//	decltype(g()) b;
+	public void testBodiesWithDeducedResultAreNotDeferred() throws Exception {
+		CPPASTTranslationUnit tu = parse(getAboveComment(), true);
+		assertEquals(1, tu.getDeferredFunctionBodyCount());
+		assertFalse(isDeferred(getDeclaration(tu, 0)));
+		assertFalse(isDeferred(getDeclaration(tu, 1)));
+		assertTrue(isDeferred(getDeclaration(tu, 2)));
+		assertEquals(dump(parse(getAboveComment(), false)), dump(tu));
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for reparsing a file with the function bodies of the AST of its previous version.
+ */
+public class FunctionBodyReuseTests extends AST2TestBase {
+
+	public static TestSuite suite() {
+		return suite(FunctionBodyReuseTests.class);
+	}
+
+	public FunctionBodyReuseTests() {
+		super();
+	}
+
+	public FunctionBodyReuseTests(String name) {
+		super(name);
+	}
+
+	private IASTTranslationUnit parse(String code, ReusableFunctionBodies bodies) throws Exception {
+		IScanner scanner = createScanner(FileContent.create(TEST_CODE, code.toCharArray()), ParserLanguage.CPP,
+				ParserMode.COMPLETE_PARSE, createScannerInfo(ScannerKind.GNU));
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+		parser.setReusableFunctionBodies(bodies);
+		return parser.parse();
+	}
+
+	private ReusableFunctionBodies reparse(String oldCode, String newCode) throws Exception {
+		IASTTranslationUnit oldAst = parse(oldCode, (ReusableFunctionBodies) null);
+		ReusableFunctionBodies bodies = ReusableFunctionBodies.create(oldAst, oldCode.toCharArray(),
+				newCode.toCharArray());
+		if (bodies != null) {
+			IASTTranslationUnit newAst = parse(newCode, bodies);
+			if (bodies.isConsistent()) {
+				assertEquals(dump(parse(newCode, (ReusableFunctionBodies) null)), dump(newAst));
+			}
+		}
+		return bodies;
+	}
+
+	/**
+	 * Describes the nodes of the AST with their locations and the bindings of the names.
+	 */
+	private static String dump(IASTTranslationUnit ast) {
+		final StringBuilder buf = new StringBuilder();
+		ast.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				buf.append(node.getClass().getSimpleName());
+				IASTFileLocation location = node.getFileLocation();
+				if (location != null) {
+					buf.append(' ').append(location.getNodeOffset()).append(',').append(location.getNodeLength());
+				}
+				buf.append(' ').append(node.getRawSignature());
+				if (node instanceof IASTName) {
+					IBinding binding = ((IASTName) node).resolveBinding();
+					buf.append(" -> ").append(binding == null ? null : binding.getClass().getSimpleName());
+				}
+				buf.append('\n');
+				return PROCESS_CONTINUE;
+			}
+		});
+		return buf.toString();
+	}
+
+	//	struct A { int m; };
+	//	int f(A a) { return a.m; }
+	//	int g(int x) {
+	//		return x + 1;
+	//	}
+	//	template<typename T> T h(T t) { A a; a.m = t; return f(a) * g(t); }
+	public void testEditWithinBody() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("x + 1", "x * (x - 2) + f(A())");
+		ReusableFunctionBodies bodies = reparse(code, newCode);
+		assertNotNull(bodies);
+		assertTrue(bodies.isConsistent());
+		assertEquals(2, bodies.getReusedCount());
+	}
+
+	//	int f() { return 1; }
+	//	int g(int x) {
+	//		return x;
+	//	}
+	//	int h() { return 2; }
+	public void testUnbalancedEdit() throws Exception {
+		String code = getAboveComment();
+		ReusableFunctionBodies bodies = reparse(code, code.replace("return x;", "return x; }"));
+		assertNotNull(bodies);
+		assertFalse(bodies.isConsistent());
+	}
+
+	//	int f() { return 1; }
+	//	int g(int x) {
+	//		return x;
+	//	}
+	public void testEditOutsideOfBody() throws Exception {
+		String code = getAboveComment();
+		assertNull(reparse(code, code.replace("int g(int x)", "long g(int x)")));
+		assertNull(reparse(code, code.replace("return x;", "#define X\nreturn x;")));
+	}
+
+	//	int f() { return 1; }
+	//	constexpr int g(int x) {
+	//		return x;
+	//	}
+	//	auto h() {
+	//		return 1;
+	//	}
+	public void testEditOfDeducedResult() throws Exception {
+		String code = getAboveComment();
+		assertNull(reparse(code, code.replace("return x;", "return x + 1;")));
+		assertNull(reparse(code, code.replace("return 1;\n", "return 1L;\n")));
+	}
+}
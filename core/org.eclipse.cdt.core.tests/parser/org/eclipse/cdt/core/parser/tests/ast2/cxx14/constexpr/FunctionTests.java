@@ -64,6 +64,13 @@ public abstract class FunctionTests extends TestBase {
 		assertEvaluationEquals(55);
 	}
 
+	// constexpr long fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+
+	// constexpr long x = fib(40);
+	public void testRepeatedCallsAreEvaluatedOnce() throws Exception {
+		assertEvaluationEquals(102334155);
+	}
+
 	// constexpr int helper(int n) {
 	//   int m = 5;
 	//   return m + n;
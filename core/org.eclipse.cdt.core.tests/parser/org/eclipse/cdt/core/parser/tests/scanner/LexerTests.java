@@ -880,4 +880,39 @@ public class LexerTests extends BaseTestCase {
 		token(IToken.tPOUND);
 		eof();
 	}
+
+	public void testSkippedTokens() throws Exception {
+		init("#if \n  a b + \"c\" \n#endif\nx y");
+		token(IToken.tPOUND);
+		id("if");
+		assertEquals(3, fLexer.consumeLine(0));
+		ws();
+		nl();
+		Token pound = fLexer.nextDirective();
+		assertEquals(IToken.tPOUND, pound.getType());
+		assertEquals(18, pound.getOffset());
+		assertTrue(fLexer.currentTokenIsFirstOnLine());
+		assertEquals(18, fLexer.getLastEndOffset());
+		assertEquals("endif", new String(fLexer.nextToken().getCharImage()));
+
+		// The last token before the end of the input is retained by the lexer.
+		Token t = fLexer.nextDirective();
+		assertEquals(IToken.tEND_OF_INPUT, t.getType());
+		assertEquals(28, fLexer.getLastEndOffset());
+		fLexer.nextDirective();
+		assertEquals(28, fLexer.getLastEndOffset());
+	}
+
+	public void testSharedIdentifierImages() throws Exception {
+		init("abc abd abc a\\\nbc");
+		Token t1 = fLexer.currentToken();
+		Token t2 = fLexer.nextToken();
+		Token t3 = fLexer.nextToken();
+		Token t4 = fLexer.nextToken();
+		assertEquals("abc", t1.getImage());
+		assertEquals("abd", t2.getImage());
+		assertSame(t1.getCharImage(), t3.getCharImage());
+		assertEquals("abc", t4.getImage());
+		assertNotSame(t1.getCharImage(), t4.getCharImage());
+	}
 }
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.LexerTokenCache;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for replaying the tokens of a file from the {@link LexerTokenCache}.
+ */
+public class LexerTokenCacheTests extends BaseTestCase {
+	private static final String INPUT = "#include <stdio.h>\n" + "#include \"local.h\"\n"
+			+ "/* block comment */ int a = 1; // line comment\n" + "char* s = \"string\\n\"; char c = 'c';\n"
+			+ "int x = a ??' 0x1f; int y <: 2 :> = <% 1, 2 %>;\n" + "#define M(x) x ## \\\n x\n"
+			+ "const char* u = \"unterminated;\n" + "float f = 1.5e10f + .5; a <<= 2; a->*b;\n" + "$ @ `\n";
+
+	private static final LexerOptions OPTIONS = new LexerOptions();
+
+	public static TestSuite suite() {
+		return suite(LexerTokenCacheTests.class);
+	}
+
+	public LexerTokenCacheTests() {
+		super();
+	}
+
+	public LexerTokenCacheTests(String name) {
+		super(name);
+	}
+
+	private static class RecordingLog implements ILexerLog {
+		final StringBuilder fEvents = new StringBuilder();
+
+		@Override
+		public void handleProblem(int problemID, char[] arg, int offset, int endOffset) {
+			fEvents.append("problem ").append(problemID).append(' ').append(arg).append(' ').append(offset)
+					.append('-').append(endOffset).append('\n');
+		}
+
+		@Override
+		public void handleComment(boolean isBlockComment, int offset, int endOffset, AbstractCharArray input) {
+			fEvents.append(isBlockComment ? "block " : "line ").append(offset).append('-').append(endOffset)
+					.append('\n');
+		}
+	}
+
+	private static String input() {
+		StringBuilder buf = new StringBuilder();
+		while (buf.length() < 1024) {
+			buf.append(INPUT);
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Lexes the input and returns a description of the tokens and of the events reported to the log.
+	 */
+	private String lex(String input, LexerTokenCache cache, boolean handleIncludes) throws Exception {
+		RecordingLog log = new RecordingLog();
+		Lexer lexer = new Lexer(input.toCharArray(), OPTIONS, log, null);
+		lexer.setTokenCache(cache);
+		StringBuilder buf = new StringBuilder();
+		int previousType = Lexer.tNEWLINE;
+		for (Token t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT; t = lexer.nextToken()) {
+			buf.append(t.getType()).append(' ').append(t.getOffset()).append('-').append(t.getEndOffset())
+					.append(' ').append(t.getCharImage()).append('\n');
+			if (handleIncludes && previousType == IToken.tPOUND && "include".equals(t.getImage())) {
+				lexer.setInsideIncludeDirective(true);
+			}
+			previousType = t.getType();
+		}
+		return buf.append(log.fEvents).toString();
+	}
+
+	public void testReplay() throws Exception {
+		final String input = input();
+		final String expected = lex(input, null, true);
+
+		LexerTokenCache cache = new LexerTokenCache(null, 1000000);
+		assertEquals(expected, lex(input, cache, true));
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		assertEquals(expected, lex(input, cache, true));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	public void testReplayWithDifferentIncludeDirectives() throws Exception {
+		final String input = input();
+		final String withIncludes = lex(input, null, true);
+		final String withoutIncludes = lex(input, null, false);
+		assertFalse(withIncludes.equals(withoutIncludes));
+
+		// Record without the include directives being active, replay with them, and vice versa.
+		LexerTokenCache cache = new LexerTokenCache(null, 1000000);
+		assertEquals(withoutIncludes, lex(input, cache, false));
+		assertEquals(withIncludes, lex(input, cache, true));
+		assertEquals(withoutIncludes, lex(input, cache, false));
+
+		cache = new LexerTokenCache(null, 1000000);
+		assertEquals(withIncludes, lex(input, cache, true));
+		assertEquals(withoutIncludes, lex(input, cache, false));
+		assertEquals(withIncludes, lex(input, cache, true));
+		assertEquals(1, cache.getMisses());
+		assertEquals(2, cache.getHits());
+	}
+
+	public void testSmallFilesAreNotCached() throws Exception {
+		LexerTokenCache cache = new LexerTokenCache(null, 1000000);
+		lex(INPUT.substring(0, 100), cache, true);
+		lex(INPUT.substring(0, 100), cache, true);
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+
+	public void testDiskCache() throws Exception {
+		final String input = input();
+		final String expected = lex(input, null, true);
+		File dir = Files.createTempDirectory("tokencache").toFile();
+		try {
+			LexerTokenCache cache = new LexerTokenCache(dir, 1000000);
+			assertEquals(expected, lex(input, cache, true));
+
+			// A new cache reads the entry from disk.
+			cache = new LexerTokenCache(dir, 1000000);
+			assertEquals(expected, lex(input, cache, true));
+			assertEquals(0, cache.getHits());
+			assertEquals(1, cache.getDiskHits());
+			assertEquals(expected, lex(input, cache, true));
+			assertEquals(1, cache.getHits());
+
+			cache.clear();
+			cache = new LexerTokenCache(dir, 1000000);
+			lex(input, cache, true);
+			assertEquals(0, cache.getDiskHits());
+			assertEquals(1, cache.getMisses());
+		} finally {
+			for (File file : dir.listFiles()) {
+				file.delete();
+			}
+			dir.delete();
+		}
+	}
+}
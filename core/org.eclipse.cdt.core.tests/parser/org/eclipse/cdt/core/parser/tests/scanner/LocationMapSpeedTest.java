@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+
+/**
+ * Measures the time needed to map the nodes of a translation unit with nested inclusions and
+ * many macro expansions to file and image locations, as done by semantic highlighting and by
+ * the indexer.
+ */
+public class LocationMapSpeedTest {
+	private static final String DIRECTORY = "/test/";
+	private static final String TEST_FILE = DIRECTORY + "test.cpp";
+	private static final int INCLUSION_DEPTH = 8;
+	private static final int FUNCTIONS_PER_FILE = 300;
+
+	public static void main(String[] args) {
+		try {
+			new LocationMapSpeedTest().runTest(20);
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+	}
+
+	public void test() throws Exception {
+		runTest(3);
+	}
+
+	private void runTest(int n) throws Exception {
+		final Map<String, String> files = createFiles();
+		InternalFileContentProvider provider = new InternalFileContentProvider() {
+			@Override
+			public boolean getInclusionExists(String path) {
+				return files.containsKey(path);
+			}
+
+			@Override
+			public InternalFileContent getContentForInclusion(String path, IMacroDictionary macroDictionary) {
+				String code = files.get(path);
+				return code == null ? null : (InternalFileContent) FileContent.create(path, code.toCharArray());
+			}
+
+			@Override
+			public InternalFileContent getContentForInclusion(IIndexFileLocation ifl, String astPath) {
+				return null;
+			}
+		};
+		FileContent content = FileContent.create(TEST_FILE, files.get(TEST_FILE).toCharArray());
+		IASTTranslationUnit tu = GPPLanguage.getDefault().getASTTranslationUnit(content,
+				new ScannerInfo(), provider, null, 0, new NullLogService());
+		ILocationResolver resolver = tu.getAdapter(ILocationResolver.class);
+
+		final List<ASTNode> nodes = new ArrayList<>();
+		tu.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				nodes.add((ASTNode) node);
+				return PROCESS_CONTINUE;
+			}
+		});
+
+		long totalTime = 0;
+		for (int i = 0; i < n; ++i) {
+			long startTime = System.nanoTime();
+			for (ASTNode node : nodes) {
+				resolver.getMappedFileLocation(node.getOffset(), node.getLength());
+				resolver.getImageLocation(node.getOffset(), node.getLength());
+				resolver.getContainingFilePath(node.getOffset());
+			}
+			long time = (System.nanoTime() - startTime) / 1000;
+			if (i > 0)
+				totalTime += time;
+		}
+		if (n > 1) {
+			System.out.println("Average time for " + nodes.size() + " nodes: " + (totalTime / (n - 1)) + " microsecs");
+		}
+	}
+
+	/**
+	 * Creates a chain of headers, each of which includes the next one and uses macros defined in
+	 * all of the headers it is included from.
+	 */
+	private static Map<String, String> createFiles() {
+		Map<String, String> files = new HashMap<>();
+		for (int depth = 0; depth <= INCLUSION_DEPTH; depth++) {
+			StringBuilder buf = new StringBuilder();
+			buf.append("#define ID" + depth + "(x) x\n");
+			buf.append("#define ADD" + depth + "(x, y) ID" + depth + "(x) + ID" + depth + "(y)\n");
+			buf.append("#define DECL" + depth + "(n) int n = ADD" + depth + "(1, 2);\n");
+			for (int i = 0; i < FUNCTIONS_PER_FILE; i++) {
+				if (i == FUNCTIONS_PER_FILE / 2 && depth < INCLUSION_DEPTH) {
+					buf.append("#include \"h" + (depth + 1) + ".h\"\n");
+				}
+				String name = "f" + depth + "_" + i;
+				buf.append("DECL" + depth + "(v" + name + ")\n");
+				buf.append("int " + name + "(int p) { return ADD" + depth + "(p, v" + name + ") * ID" + depth
+						+ "(ID" + depth + "(p)); }\n");
+			}
+			files.put(depth == 0 ? TEST_FILE : DIRECTORY + "h" + depth + ".h", buf.toString());
+		}
+		return files;
+	}
+}
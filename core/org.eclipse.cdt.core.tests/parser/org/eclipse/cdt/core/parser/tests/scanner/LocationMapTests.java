@@ -594,6 +594,28 @@ public class LocationMapTests extends BaseTestCase {
 		checkComment(comments[2], "b3", false, "pre1", 4, 2, 1, 1);
 		checkComment(comments[3], "d1", true, "pre2", 0, 2, 1, 1);
 
+		checkMappedFileLocations();
+
+		// After the end of the translation unit the locations are taken from the flattened index.
+		fLocationMap.endTranslationUnit(DIGITS.length, null);
+		checkMappedFileLocations();
+
+		IDependencyTree tree = fLocationMap.getDependencyTree();
+		assertEquals(FN, tree.getTranslationUnitPath());
+		IASTInclusionNode[] inclusions = tree.getInclusions();
+		assertEquals(2, inclusions.length);
+		checkInclude(inclusions[0].getIncludeDirective(), "", "", "pre1", "pre1", false, true, FN, 0, 0, 1, 0, 0);
+		checkInclude(inclusions[1].getIncludeDirective(), "", "", "pre2", "pre2", false, true, FN, 0, 0, 1, 0, 0);
+		assertEquals(0, inclusions[1].getNestedInclusions().length);
+
+		inclusions = inclusions[0].getNestedInclusions();
+		assertEquals(1, inclusions.length);
+		checkInclude(inclusions[0].getIncludeDirective(), "b4b", "4", "pre11", "pre11", false, true, "pre1", 6, 3, 1, 7,
+				1);
+		assertEquals(0, inclusions[0].getNestedInclusions().length);
+	}
+
+	private void checkMappedFileLocations() {
 		checkLocation(fLocationMap.getMappedFileLocation(0, 6), FN, 0, 0, 1, 1);
 		checkLocation(fLocationMap.getMappedFileLocation(6, 9), "pre1", 0, 9, 1, 1);
 		checkLocation(fLocationMap.getMappedFileLocation(15, 10), "pre11", 0, 10, 1, 1);
@@ -627,19 +649,5 @@ public class LocationMapTests extends BaseTestCase {
 		checkLocation(fLocationMap.getMappedFileLocation(30, 7), FN, 0, 0, 1, 1);
 		checkLocation(fLocationMap.getMappedFileLocation(36, 11), FN, 0, 0, 1, 1);
 		checkLocation(fLocationMap.getMappedFileLocation(46, 5), FN, 0, 1, 1, 1);
-
-		IDependencyTree tree = fLocationMap.getDependencyTree();
-		assertEquals(FN, tree.getTranslationUnitPath());
-		IASTInclusionNode[] inclusions = tree.getInclusions();
-		assertEquals(2, inclusions.length);
-		checkInclude(inclusions[0].getIncludeDirective(), "", "", "pre1", "pre1", false, true, FN, 0, 0, 1, 0, 0);
-		checkInclude(inclusions[1].getIncludeDirective(), "", "", "pre2", "pre2", false, true, FN, 0, 0, 1, 0, 0);
-		assertEquals(0, inclusions[1].getNestedInclusions().length);
-
-		inclusions = inclusions[0].getNestedInclusions();
-		assertEquals(1, inclusions.length);
-		checkInclude(inclusions[0].getIncludeDirective(), "b4b", "4", "pre11", "pre11", false, true, "pre1", 6, 3, 1, 7,
-				1);
-		assertEquals(0, inclusions[0].getNestedInclusions().length);
 	}
 }
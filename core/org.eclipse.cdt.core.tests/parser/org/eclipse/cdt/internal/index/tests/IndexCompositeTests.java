@@ -34,6 +34,7 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -120,6 +121,56 @@ public class IndexCompositeTests extends BaseTestCase {
 		}
 	}
 
+	// class A {};
+
+	// class B {};
+	public void testParallelFragmentQueries() throws Exception {
+		CharSequence[] contents = getContentsForTest(2);
+		List<ICProject> projects = new ArrayList<>();
+
+		try {
+			ProjectBuilder pb = new ProjectBuilder("projB_" + getName(), true);
+			pb.addFile("h1.h", contents[0]);
+			ICProject cprojB = createAndAddProject(pb);
+			projects.add(cprojB);
+
+			pb = new ProjectBuilder("projA_" + getName(), true);
+			pb.addFile("h2.h", contents[1]).addDependency(cprojB.getProject());
+			ICProject cprojA = createAndAddProject(pb);
+			projects.add(cprojA);
+
+			setIndex(cprojA, REFS);
+			CIndex cindex = (CIndex) index;
+			assertEquals(2, cindex.getFragments().length);
+			IBinding[] sequential = index.findBindingsForPrefix(new char[0], true, FILTER, npm());
+			assertEquals(2, sequential.length);
+
+			cindex.setParallelFragmentQueries(true);
+			try {
+				IBinding[] parallel = index.findBindingsForPrefix(new char[0], true, FILTER, npm());
+				assertEquals(sequential.length, parallel.length);
+				for (int i = 0; i < sequential.length; i++) {
+					assertEquals(sequential[i].getName(), parallel[i].getName());
+				}
+				assertBCount(2, 2);
+
+				// The second fragment is skipped once the first one provides enough proposals.
+				assertEquals(2, index.findBindingsForContentAssist(new char[0], true, FILTER, npm()).length);
+				cindex.setContentAssistLimit(1);
+				assertEquals(1, index.findBindingsForContentAssist(new char[0], true, FILTER, npm()).length);
+				cindex.setParallelFragmentQueries(false);
+				assertEquals(1, index.findBindingsForContentAssist(new char[0], true, FILTER, npm()).length);
+			} finally {
+				cindex.setParallelFragmentQueries(false);
+				cindex.setContentAssistLimit(0);
+			}
+		} finally {
+			for (ICProject project : projects) {
+				project.getProject().delete(true, true, new NullProgressMonitor());
+			}
+		}
+	}
+
 	// class C1 {public: int i;};
 	// namespace X { class C2 {}; }
 	// enum E {E1,E2};
@@ -99,6 +99,57 @@ public class IndexIncludeTest extends IndexTestBase {
 		checkContext();
 	}
 
+	public void testParserThreads() throws Exception {
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS, "4");
+		TestSourceReader.createFile(fProject.getProject(), "shared_parallel.h",
+				"#pragma once\nstruct shared_parallel {};\n");
+		final int sourceCount = 20;
+		for (int i = 0; i < sourceCount; i++) {
+			TestSourceReader.createFile(fProject.getProject(), "parallel" + i + ".cpp",
+					"#include \"shared_parallel.h\"\nshared_parallel var_parallel" + i + ";\n");
+		}
+		CCorePlugin.getIndexManager().reindex(fProject);
+		waitForIndexer();
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding[] result = fIndex.findBindings(Pattern.compile("var_parallel.*"), true, IndexFilter.ALL,
+					npm());
+			assertEquals(sourceCount, result.length);
+			result = fIndex.findBindings(Pattern.compile("shared_parallel"), true, IndexFilter.ALL, npm());
+			assertEquals(1, result.length);
+			assertEquals(sourceCount, fIndex.findReferences(result[0]).length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	public void testMacrosFromIndexedPrefix() throws Exception {
+		TestSourceReader.createFile(fProject.getProject(), "prefix.h",
+				"#pragma once\n#define PREFIX_TYPE int\n#define PREFIX_DECL(x) PREFIX_TYPE x\n#undef UNDEFINED\n");
+		final int sourceCount = 5;
+		for (int i = 0; i < sourceCount; i++) {
+			TestSourceReader.createFile(fProject.getProject(), "prefix" + i + ".cpp",
+					"#include \"prefix.h\"\nPREFIX_DECL(var_prefix" + i + ");\n");
+		}
+		CCorePlugin.getIndexManager().reindex(fProject);
+		waitForIndexer();
+
+		// The translation units after the first one reuse the macros read from the index.
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding[] result = fIndex.findBindings(Pattern.compile("var_prefix.*"), true, IndexFilter.ALL,
+					npm());
+			assertEquals(sourceCount, result.length);
+			for (IIndexBinding binding : result) {
+				assertTrue(binding instanceof IVariable);
+				assertEquals("int", ((IVariable) binding).getType().toString());
+			}
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	private void waitForIndexer() throws InterruptedException {
 		waitForIndexer(fProject);
 	}
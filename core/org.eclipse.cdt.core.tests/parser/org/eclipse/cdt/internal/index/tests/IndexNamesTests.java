@@ -14,6 +14,7 @@
 package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -31,6 +32,7 @@ import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -237,6 +239,127 @@ public class IndexNamesTests extends BaseTestCase {
 		}
 	}
 
+	// void g();
+	// void h();
+	// struct A {
+	//    void m() { g(); }
+	//    int field;
+	// };
+	// void f() {
+	//    g();
+	//    h();
+	// }
+	public void testNestedDefinitions() throws Exception {
+		waitForIndexer();
+		String content = getComment();
+		IFile file = createFile(getProject().getProject(), "test.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexName[] enclosed = findDefinition("A").getEnclosedNames();
+			assertLength(2, enclosed);
+			assertName("m", enclosed[0]);
+			assertName("field", enclosed[1]);
+
+			enclosed = enclosed[0].getEnclosedNames();
+			assertLength(1, enclosed);
+			assertName("g", enclosed[0]);
+
+			enclosed = findDefinition("f").getEnclosedNames();
+			assertLength(2, enclosed);
+			assertName("g", enclosed[0]);
+			assertName("h", enclosed[1]);
+
+			assertLength(0, findDefinition("A::field").getEnclosedNames());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		// The enclosed names are updated when the file is indexed again.
+		file = createFile(getProject().getProject(), "test.cpp", content.replace("h();", "h();\n   g();"));
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexName[] enclosed = findDefinition("f").getEnclosedNames();
+			assertLength(3, enclosed);
+			assertName("g", enclosed[0]);
+			assertName("h", enclosed[1]);
+			assertName("g", enclosed[2]);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	// struct Base {};
+	// struct A : Base {};
+	// struct B : public A, virtual Base {};
+	// Base b;
+	// void f(A* a) {
+	//    Base* p = a;
+	// }
+	public void testFindBaseSpecifiers() throws Exception {
+		waitForIndexer();
+		String content = getComment();
+		IFile file = createFile(getProject().getProject(), "test.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		final int flags = IIndex.FIND_REFERENCES | IIndexFragment.FIND_BASE_SPECIFIERS_ONLY;
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding base = findBinding("Base");
+			IIndexName[] baseSpecifiers = fIndex.findNames(base, flags);
+			assertLength(2, baseSpecifiers);
+			for (IIndexName name : baseSpecifiers) {
+				assertTrue(name.isBaseSpecifier());
+			}
+			assertEquals("[A, B]", getEnclosingDefinitions(baseSpecifiers));
+
+			baseSpecifiers = fIndex.findNames(findBinding("A"), flags);
+			assertLength(1, baseSpecifiers);
+			assertName("B", baseSpecifiers[0].getEnclosingDefinition());
+
+			assertLength(0, fIndex.findNames(findBinding("B"), flags));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		// The base specifiers are updated when the file is indexed again.
+		file = createFile(getProject().getProject(), "test.cpp", content.replace("A : Base", "A"));
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexName[] baseSpecifiers = fIndex.findNames(findBinding("Base"), flags);
+			assertLength(1, baseSpecifiers);
+			assertName("B", baseSpecifiers[0].getEnclosingDefinition());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private String getEnclosingDefinitions(IIndexName[] names) throws CoreException {
+		String[] result = new String[names.length];
+		for (int i = 0; i < names.length; i++) {
+			result[i] = new String(names[i].getEnclosingDefinition().toCharArray());
+		}
+		Arrays.sort(result);
+		return Arrays.toString(result);
+	}
+
+	private IIndexBinding findBinding(String name) throws CoreException {
+		IIndexBinding[] bindings = fIndex.findBindings(getPattern(name), true, IndexFilter.ALL, npm());
+		assertLength(1, bindings);
+		return bindings[0];
+	}
+
+	private IIndexName findDefinition(String name) throws CoreException {
+		IIndexName[] names = fIndex.findDefinitions(findBinding(name));
+		assertLength(1, names);
+		return names[0];
+	}
+
 	//	class X {
 	//		public:
 	//			virtual void vm() {
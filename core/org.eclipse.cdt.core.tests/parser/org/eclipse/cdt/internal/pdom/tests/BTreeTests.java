@@ -120,6 +120,57 @@ public class BTreeTests extends BaseTestCase5 {
 		}
 	}
 
+	/**
+	 * Bulk insertion into an empty and into a populated B-tree, followed by deletions.
+	 */
+	@Test
+	public void testInsertAll() throws Exception {
+		Random random = new Random(4711);
+		for (int degree = 2; degree <= 12; degree += 5) {
+			for (int size : new int[] { 0, 1, 2, 3, 4, 15, 16, 17, 100, 5000 }) {
+				init(degree);
+				try {
+					SortedSet<Integer> expected = new TreeSet<>();
+					List<BTMockRecord> inserted = new ArrayList<>();
+					long[] records = new long[size];
+					for (int i = 0; i < size; i++) {
+						// Produce some duplicates.
+						int value = random.nextInt(size * 2 + 1);
+						BTMockRecord btValue = new BTMockRecord(db, value);
+						records[i] = btValue.getRecord();
+						if (expected.add(value)) {
+							inserted.add(btValue);
+						}
+					}
+					btree.insertAll(records, size);
+					assertBTreeMatchesSortedSet("[bulk load] ", btree, expected);
+					assertBTreeInvariantsHold("[bulk load] ");
+
+					int count = 0;
+					for (int i = 0; i < size; i++) {
+						int value = random.nextInt(size * 4 + 1);
+						if (expected.add(value)) {
+							records[count++] = new BTMockRecord(db, value).getRecord();
+						}
+					}
+					btree.insertAll(records, count);
+					assertBTreeMatchesSortedSet("[bulk insert] ", btree, expected);
+					assertBTreeInvariantsHold("[bulk insert] ");
+
+					for (int i = 0; i < inserted.size(); i += 2) {
+						BTMockRecord btValue = inserted.get(i);
+						expected.remove(btValue.intValue());
+						btree.delete(btValue.getRecord());
+					}
+					assertBTreeMatchesSortedSet("[delete] ", btree, expected);
+					assertBTreeInvariantsHold("[delete] ");
+				} finally {
+					finish();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Insert/Delete a random number of records into/from the B-tree
 	 * @param seed the seed for obtaining the deterministic random testing
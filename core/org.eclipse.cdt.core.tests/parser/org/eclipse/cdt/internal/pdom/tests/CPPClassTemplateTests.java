@@ -45,7 +45,10 @@ import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPDeferredClassInstance;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInstanceCache;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMSharedInstanceCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -564,4 +567,29 @@ public class CPPClassTemplateTests extends PDOMInlineCodeTestBase {
 			assertArrayEquals(c1[i], c2[i]);
 		}
 	}
+
+	//	template<typename T>
+	//	class Foo {};
+	//
+	//	class A {};
+	//
+	//	Foo<A> a;
+	@Test
+	public void testSharedInstanceCache() throws Exception {
+		IBinding[] as = pdom.findBindings(new char[][] { { 'a' } }, IndexFilter.ALL, npm());
+		assertEquals(1, as.length);
+		ICPPTemplateInstance instance = (ICPPTemplateInstance) ((ICPPVariable) as[0]).getType();
+		ICPPInstanceCache template = (ICPPInstanceCache) instance.getTemplateDefinition();
+		PDOMSharedInstanceCache cache = PDOMSharedInstanceCache.getCache(((PDOMBinding) template).getLinkage());
+
+		// The instance stored by the indexer is found without searching the index, also after
+		// the result cache of the PDOM has been cleared.
+		long hits = cache.getHits();
+		pdom.clearResultCache();
+		assertEquals(instance, template.getInstance(instance.getTemplateArguments()));
+		assertEquals(hits + 1, cache.getHits());
+		pdom.clearResultCache();
+		assertEquals(instance, template.getInstance(instance.getTemplateArguments()));
+		assertEquals(hits + 2, cache.getHits());
+	}
 }
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.testplugin.CTestPlugin;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.IPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the replacement policy and the counters of the {@link ChunkCache}.
+ */
+public class ChunkCacheTest extends BaseTestCase5 {
+	private static final int CACHE_CHUNKS = 400;
+	private static final int DB_CHUNKS = 4000;
+
+	private ChunkCache cache;
+	private Database db;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		IPath path = CTestPlugin.getDefault().getStateLocation().append("tests/");
+		File dir = path.toFile();
+		if (!dir.exists())
+			dir.mkdir();
+		File file = path.append(getName() + System.currentTimeMillis() + ".dat").toFile();
+		cache = new ChunkCache((long) CACHE_CHUNKS * Database.CHUNK_SIZE);
+		db = new Database(file, cache, 0, false);
+		db.setExclusiveLock();
+		for (int i = 1; i < DB_CHUNKS; i++) {
+			long rec = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(rec, i);
+		}
+		db.close();
+
+		// Start with an empty cache.
+		db = new Database(file, cache, 0, false);
+		db.setLocked(true);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.setExclusiveLock();
+		db.close();
+		if (!db.getLocation().delete()) {
+			db.getLocation().deleteOnExit();
+		}
+		db = null;
+	}
+
+	private void read(int fromChunk, int toChunk) throws Exception {
+		for (int i = fromChunk; i < toChunk; i++) {
+			db.getInt((long) i * Database.CHUNK_SIZE);
+		}
+	}
+
+	@Test
+	public void testWorkingSetSurvivesScan() throws Exception {
+		final int workingSet = CACHE_CHUNKS / 2;
+		// Load the working set, and reference it again after unrelated chunks have been loaded.
+		read(1, workingSet + 1);
+		read(DB_CHUNKS - CACHE_CHUNKS / 4, DB_CHUNKS);
+		read(1, workingSet + 1);
+
+		// Scan the entire database.
+		read(workingSet + 1, DB_CHUNKS);
+
+		db.resetCacheCounters();
+		read(1, workingSet + 1);
+		assertEquals(workingSet, db.getCacheHits());
+		assertEquals(0, db.getCacheMisses());
+	}
+
+	@Test
+	public void testCounters() throws Exception {
+		db.resetCacheCounters();
+		cache.resetCounters();
+		read(1, DB_CHUNKS);
+		assertEquals(DB_CHUNKS - 1, db.getCacheMisses());
+		assertEquals(DB_CHUNKS - 1 - CACHE_CHUNKS, db.getCacheEvictions());
+		assertEquals(db.getCacheMisses(), cache.getMisses());
+		assertEquals(db.getCacheEvictions(), cache.getEvictions());
+
+		read(DB_CHUNKS - 10, DB_CHUNKS);
+		assertEquals(10, db.getCacheHits());
+		assertEquals(10, cache.getHits());
+	}
+
+	@Test
+	public void testSetMaxSize() throws Exception {
+		read(1, DB_CHUNKS);
+		cache.setMaxSize(CACHE_CHUNKS / 4 * Database.CHUNK_SIZE);
+		assertEquals(CACHE_CHUNKS / 4 * Database.CHUNK_SIZE, cache.getMaxSize());
+
+		db.resetCacheCounters();
+		read(1, DB_CHUNKS);
+		assertTrue(db.getCacheMisses() >= DB_CHUNKS - 1 - CACHE_CHUNKS / 4);
+		for (int i = 1; i < DB_CHUNKS; i++) {
+			assertEquals(i, db.getInt((long) i * Database.CHUNK_SIZE + Database.BLOCK_HEADER_SIZE));
+		}
+	}
+}
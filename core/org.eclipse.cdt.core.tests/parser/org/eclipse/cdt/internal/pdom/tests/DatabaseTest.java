@@ -177,6 +177,21 @@ public class DatabaseTest extends BaseTestCase5 {
 		}
 	}
 
+	@Test
+	public void testRecordPointersBeyond32GB() throws Exception {
+		assertTrue(Database.MAX_DB_SIZE > (1L << 35));
+		byte[] buffer = new byte[Database.PTR_SIZE];
+		long[] records = { Database.BLOCK_HEADER_SIZE + Database.CHUNK_SIZE,
+				(1L << 35) + Database.BLOCK_HEADER_SIZE,
+				Database.MAX_DB_SIZE - Database.BLOCK_SIZE_DELTA + Database.BLOCK_HEADER_SIZE };
+		for (long record : records) {
+			Database.putRecPtr(record, buffer, 0);
+			assertEquals(record, Database.getRecPtr(buffer, 0));
+		}
+		Database.putRecPtr(0, buffer, 0);
+		assertEquals(0, Database.getRecPtr(buffer, 0));
+	}
+
 	@Test
 	public void testStringsInBTree() throws Exception {
 		String[] names = { "ARLENE", "BRET", "CINDY", "DENNIS", "EMILY", "FRANKLIN", "GERT", "HARVEY", "IRENE", "JOSE",
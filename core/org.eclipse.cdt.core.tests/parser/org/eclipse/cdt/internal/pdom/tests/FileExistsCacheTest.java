@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.indexer.FileExistsCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the directory listings shared by the instances of {@link FileExistsCache}.
+ */
+public class FileExistsCacheTest extends BaseTestCase5 {
+	private File dir;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dir = Files.createTempDirectory("FileExistsCacheTest").toFile();
+		assertTrue(new File(dir, "a.h").createNewFile());
+		assertTrue(new File(dir, "sub").mkdir());
+		// Modified long enough ago for the listing to be shared.
+		assertTrue(dir.setLastModified(System.currentTimeMillis() - 60000));
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+
+	private String path(String name) {
+		return new File(dir, name).getPath();
+	}
+
+	@Test
+	public void testListingIsShared() throws Exception {
+		FileExistsCache first = new FileExistsCache(false);
+		assertTrue(first.isFile(path("a.h")));
+		assertFalse(first.isFile(path("b.h")));
+		assertFalse(first.isFile(path("sub")));
+		assertEquals(3, first.getQueryCount());
+
+		FileExistsCache second = new FileExistsCache(false);
+		assertFalse(second.isFile(path("b.h")));
+		assertFalse(second.isFile(path("c.h")));
+		assertEquals(1, second.getSharedListingCount());
+		// Only the modification time of the directory was checked.
+		assertEquals(1, second.getFileSystemAccessCount());
+		assertEquals(1, second.getFileSystemAccessesAvoided());
+	}
+
+	@Test
+	public void testModifiedDirectoryIsListedAgain() throws Exception {
+		FileExistsCache first = new FileExistsCache(false);
+		assertFalse(first.isFile(path("b.h")));
+
+		assertTrue(new File(dir, "b.h").createNewFile());
+		assertTrue(dir.setLastModified(System.currentTimeMillis() - 30000));
+
+		FileExistsCache second = new FileExistsCache(false);
+		assertTrue(second.isFile(path("b.h")));
+		assertEquals(0, second.getSharedListingCount());
+	}
+
+	@Test
+	public void testRecentlyModifiedDirectoryIsNotShared() throws Exception {
+		assertTrue(dir.setLastModified(System.currentTimeMillis()));
+		FileExistsCache first = new FileExistsCache(false);
+		assertFalse(first.isFile(path("b.h")));
+
+		// A modification within the resolution of the modification time may not change it.
+		assertTrue(new File(dir, "b.h").createNewFile());
+		FileExistsCache second = new FileExistsCache(false);
+		assertTrue(second.isFile(path("b.h")));
+		assertEquals(0, second.getSharedListingCount());
+	}
+
+	@Test
+	public void testMissingDirectory() throws Exception {
+		FileExistsCache cache = new FileExistsCache(false);
+		assertFalse(cache.isFile(path("missing/a.h")));
+		assertFalse(cache.isFile(path("missing/b.h")));
+		assertEquals(1, cache.getFileSystemAccessCount());
+	}
+}
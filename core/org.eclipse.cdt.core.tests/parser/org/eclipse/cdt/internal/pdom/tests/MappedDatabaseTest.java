@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.CTestPlugin;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the memory mapped read path of the {@link Database}.
+ */
+public class MappedDatabaseTest extends BaseTestCase5 {
+	// A cache that is small compared to the databases, such that most reads are cache misses.
+	private static final int CACHE_SIZE = 64 * Database.CHUNK_SIZE;
+
+	private File createFile() {
+		IPath path = CTestPlugin.getDefault().getStateLocation().append("tests/");
+		File dir = path.toFile();
+		if (!dir.exists())
+			dir.mkdir();
+		return path.append(getName() + System.nanoTime() + ".dat").toFile();
+	}
+
+	private static void delete(Database db) throws Exception {
+		db.setExclusiveLock();
+		db.close();
+		if (!db.getLocation().delete()) {
+			db.getLocation().deleteOnExit();
+		}
+	}
+
+	private static long[] fill(Database db, int count) throws Exception {
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(16);
+			db.putInt(records[i], i);
+			db.putLong(records[i] + Database.INT_SIZE, i * 31L);
+		}
+		db.flush();
+		return records;
+	}
+
+	private static long readRandomly(Database db, long[] records, int reads) throws Exception {
+		Random random = new Random(42);
+		long start = System.nanoTime();
+		for (int j = 0; j < reads; j++) {
+			int i = random.nextInt(records.length);
+			assertEquals(i, db.getInt(records[i]));
+			assertEquals(i * 31L, db.getLong(records[i] + Database.INT_SIZE));
+		}
+		return System.nanoTime() - start;
+	}
+
+	@Test
+	public void testReadsAfterEviction() throws Exception {
+		Database db = new Database(createFile(), new ChunkCache(CACHE_SIZE), 0, false, true);
+		try {
+			db.setExclusiveLock();
+			long[] records = fill(db, 50000);
+			assertTrue(db.getSizeBytes() > CACHE_SIZE);
+
+			// The file grows while it is mapped, the reads need to observe the new content.
+			long[] more = fill(db, 50000);
+			db.giveUpExclusiveLock(true);
+
+			db.setLocked(true);
+			readRandomly(db, records, 100000);
+			readRandomly(db, more, 100000);
+			assertTrue(db.getCacheMisses() > 0);
+			db.setLocked(false);
+		} finally {
+			delete(db);
+		}
+	}
+
+	@Test
+	public void testReopen() throws Exception {
+		File file = createFile();
+		Database db = new Database(file, new ChunkCache(CACHE_SIZE), 0, false, true);
+		db.setExclusiveLock();
+		long[] records = fill(db, 20000);
+		db.close();
+
+		db = new Database(file, new ChunkCache(CACHE_SIZE), 0, true, true);
+		try {
+			db.setLocked(true);
+			readRandomly(db, records, 50000);
+			db.setLocked(false);
+		} finally {
+			delete(db);
+		}
+	}
+
+	@Test
+	public void testInterruptedRead() throws Exception {
+		Database db = new Database(createFile(), new ChunkCache(CACHE_SIZE), 0, false, true);
+		try {
+			db.setExclusiveLock();
+			long[] records = fill(db, 20000);
+			db.giveUpExclusiveLock(true);
+			db.setLocked(true);
+			readRandomly(db, records, 10000);
+			db.setLocked(false);
+
+			// The file grows, the segment has to be mapped again for the interrupted reader.
+			db.setExclusiveLock();
+			long[] more = fill(db, 50000);
+			db.giveUpExclusiveLock(true);
+			db.setLocked(true);
+			Thread.currentThread().interrupt();
+			try {
+				db.getInt(more[more.length / 2]);
+				fail("The interrupted read should fail");
+			} catch (CoreException e) {
+			} finally {
+				Thread.interrupted();
+			}
+
+			// The mapping is still used after the file was reopened by the next reader.
+			assertTrue(db.isMemoryMapped());
+			readRandomly(db, more, 10000);
+			assertTrue(db.isMemoryMapped());
+			db.setLocked(false);
+		} finally {
+			delete(db);
+		}
+	}
+
+	/**
+	 * Compares cache miss heavy lookups of the channel based and the memory mapped backend.
+	 */
+	@Test
+	@Tag(BaseTestCase5.SLOW_TEST_TAG)
+	public void testLookupThroughput() throws Exception {
+		final int recordCount = 500000;
+		final int reads = 5000000;
+		long[] time = new long[2];
+		for (int i = 0; i < time.length; i++) {
+			Database db = new Database(createFile(), new ChunkCache(CACHE_SIZE), 0, false, i == 1);
+			try {
+				db.setExclusiveLock();
+				long[] records = fill(db, recordCount);
+				db.giveUpExclusiveLock(true);
+				db.setLocked(true);
+				readRandomly(db, records, reads / 10); // warm up
+				time[i] = readRandomly(db, records, reads);
+				db.setLocked(false);
+			} finally {
+				delete(db);
+			}
+		}
+		System.out.println("MappedDatabaseTest: " + reads + " reads, channel " + time[0] / 1000000 + "ms, mapped "
+				+ time[1] / 1000000 + "ms");
+	}
+}
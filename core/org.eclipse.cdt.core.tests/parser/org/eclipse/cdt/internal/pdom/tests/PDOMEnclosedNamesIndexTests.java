@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMEnclosedNamesIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PDOMEnclosedNamesIndexTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected PDOMEnclosedNamesIndex index;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomenclosednamesindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		index = new PDOMEnclosedNamesIndex(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testAddAndRemove() throws Exception {
+		long[] definitions = new long[100];
+		for (int i = 0; i < definitions.length; i++) {
+			definitions[i] = db.malloc(16);
+		}
+		for (int i = definitions.length - 1; i >= 0; i--) {
+			index.add(definitions[i], lastEnclosed(definitions, i));
+		}
+		for (int i = 0; i < definitions.length; i++) {
+			assertEquals(lastEnclosed(definitions, i), index.getLastEnclosed(definitions[i]));
+		}
+
+		for (int i = 0; i < definitions.length; i += 2) {
+			index.remove(definitions[i]);
+		}
+		for (int i = 0; i < definitions.length; i++) {
+			assertEquals(i % 2 == 0 ? 0 : lastEnclosed(definitions, i), index.getLastEnclosed(definitions[i]));
+		}
+	}
+
+	private static long lastEnclosed(long[] definitions, int i) {
+		return definitions[(i + 1) % definitions.length];
+	}
+
+	@Test
+	public void testReplace() throws Exception {
+		long definition = db.malloc(16);
+		long name1 = db.malloc(16);
+		long name2 = db.malloc(16);
+		index.add(definition, name1);
+		index.add(definition, name2);
+		assertEquals(name2, index.getLastEnclosed(definition));
+		index.remove(definition);
+		assertEquals(0, index.getLastEnclosed(definition));
+		// Removing a missing entry has no effect.
+		index.remove(definition);
+	}
+}
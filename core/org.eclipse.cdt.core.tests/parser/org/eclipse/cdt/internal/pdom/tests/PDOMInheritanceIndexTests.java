@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMInheritanceIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PDOMInheritanceIndexTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected PDOMInheritanceIndex index;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdominheritanceindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		index = new PDOMInheritanceIndex(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testBaseSpecifiersByBase() throws Exception {
+		long base1 = db.malloc(16);
+		long base2 = db.malloc(16);
+		long[] names = new long[50];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = db.malloc(16);
+		}
+		for (int i = names.length - 1; i >= 0; i--) {
+			index.add(i % 3 == 0 ? base1 : base2, names[i]);
+		}
+		assertEquals(17, index.getBaseSpecifiers(base1).size());
+		assertEquals(33, index.getBaseSpecifiers(base2).size());
+		assertEquals(Collections.emptyList(), index.getBaseSpecifiers(names[0]));
+
+		for (int i = 0; i < names.length; i++) {
+			if (i % 3 != 0) {
+				index.remove(base2, names[i]);
+			}
+		}
+		assertEquals(0, index.getBaseSpecifiers(base2).size());
+		List<Long> remaining = index.getBaseSpecifiers(base1);
+		assertEquals(17, remaining.size());
+		for (int i = 0; i < names.length; i += 3) {
+			assertEquals(true, remaining.contains(names[i]));
+		}
+	}
+
+	@Test
+	public void testDuplicatesAndMissingEntries() throws Exception {
+		long base = db.malloc(16);
+		long name = db.malloc(16);
+		index.add(base, name);
+		index.add(base, name);
+		assertEquals(Arrays.asList(name), index.getBaseSpecifiers(base));
+		// Removing a missing entry has no effect.
+		index.remove(name, base);
+		assertEquals(Arrays.asList(name), index.getBaseSpecifiers(base));
+		index.remove(base, name);
+		assertEquals(Collections.emptyList(), index.getBaseSpecifiers(base));
+	}
+}
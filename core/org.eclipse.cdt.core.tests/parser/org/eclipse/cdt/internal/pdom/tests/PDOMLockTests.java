@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexLocationConverter;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.LockTimeHistogram;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the lock statistics of the PDOM.
+ */
+public class PDOMLockTests extends BaseTestCase5 {
+	private static final String PROPERTY = "test.property";
+
+	private File pdomFile;
+	private WritablePDOM pdom;
+
+	private static class MockIndexLocationConverter implements IIndexLocationConverter {
+		@Override
+		public IIndexFileLocation fromInternalFormat(String raw) {
+			return null;
+		}
+
+		@Override
+		public String toInternalFormat(IIndexFileLocation location) {
+			return null;
+		}
+	}
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		pdomFile = File.createTempFile(getClass().getSimpleName(), null);
+		pdom = new WritablePDOM(pdomFile, new MockIndexLocationConverter(), new HashMap<>());
+		setProperty("initial");
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.close();
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		pdomFile.delete();
+	}
+
+	private void setProperty(String value) throws Exception {
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.setProperty(PROPERTY, value);
+		} finally {
+			pdom.releaseWriteLock();
+		}
+	}
+
+	@Test
+	public void testLockStatistics() throws Exception {
+		final long writeLocks = pdom.getWriteLockHoldTimes().getCount();
+		assertEquals(writeLocks, pdom.getWriteLockWaitTimes().getCount());
+		setProperty("modified");
+		assertEquals(writeLocks + 1, pdom.getWriteLockHoldTimes().getCount());
+		assertEquals(writeLocks + 1, pdom.getWriteLockWaitTimes().getCount());
+
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		assertEquals(1, pdom.getReadLockWaitTimes().getCount());
+	}
+
+	@Test
+	public void testHistogram() throws Exception {
+		LockTimeHistogram histogram = new LockTimeHistogram();
+		assertEquals(0, histogram.getPercentile(50));
+		histogram.record(500); // 0.5us
+		histogram.record(1500); // 1.5us
+		histogram.record(3000000); // 3ms
+		histogram.record(3500000); // 3.5ms
+		assertEquals(4, histogram.getCount());
+		assertEquals(1, histogram.getCount(0));
+		assertEquals(1, histogram.getCount(1));
+		assertEquals(2, histogram.getCount(12));
+		assertEquals(2000, histogram.getPercentile(50));
+		assertEquals(4096000, histogram.getPercentile(99));
+		assertEquals(6502000, histogram.getTotalNanos());
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+	}
+}
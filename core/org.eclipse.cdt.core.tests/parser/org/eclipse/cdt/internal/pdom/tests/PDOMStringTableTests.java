@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMStringTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PDOMStringTableTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected PDOMStringTable stringTable;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomstringtabletest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		stringTable = new PDOMStringTable(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testIntern() throws Exception {
+		long val1_rec_a = stringTable.intern("val1".toCharArray());
+		long val2_rec_a = stringTable.intern("val2".toCharArray());
+		long val1_rec_b = stringTable.intern("val1".toCharArray());
+		assertTrue(val1_rec_a != 0);
+		assertTrue(val1_rec_a != val2_rec_a);
+		assertEquals(val1_rec_a, val1_rec_b);
+		assertEquals("val1", db.getString(val1_rec_a).getString());
+		assertEquals(2, stringTable.getReferenceCount(val1_rec_a));
+		assertEquals(1, stringTable.getReferenceCount(val2_rec_a));
+
+		// Lookups that are not served by the in-memory cache.
+		stringTable.clearCaches();
+		assertEquals(val1_rec_a, stringTable.intern("val1".toCharArray()));
+		assertEquals(3, stringTable.getReferenceCount(val1_rec_a));
+	}
+
+	@Test
+	public void testRelease() throws Exception {
+		long rec = stringTable.intern("val".toCharArray());
+		stringTable.intern("val".toCharArray());
+		stringTable.release(rec);
+		assertEquals(1, stringTable.getReferenceCount(rec));
+		assertEquals("val", db.getString(rec).getString());
+
+		stringTable.release(rec);
+		stringTable.clearCaches();
+		long rec2 = stringTable.intern("val".toCharArray());
+		assertEquals(1, stringTable.getReferenceCount(rec2));
+	}
+
+	@Test
+	public void testReleaseOfStringThatIsNotInterned() throws Exception {
+		long interned = stringTable.intern("val".toCharArray());
+		long rec = db.newString("val").getRecord();
+		assertEquals(0, stringTable.getReferenceCount(rec));
+
+		stringTable.release(rec);
+		assertEquals(1, stringTable.getReferenceCount(interned));
+		// The block of the string has been freed and is reused.
+		assertEquals(rec, db.newString("val").getRecord());
+	}
+
+	@Test
+	public void testHashCollisions() throws Exception {
+		// "Aa" and "BB" have the same hash code.
+		long rec1 = stringTable.intern("Aa".toCharArray());
+		long rec2 = stringTable.intern("BB".toCharArray());
+		assertTrue(rec1 != rec2);
+		stringTable.clearCaches();
+		assertEquals(rec1, stringTable.intern("Aa".toCharArray()));
+		assertEquals(rec2, stringTable.intern("BB".toCharArray()));
+
+		stringTable.release(rec1);
+		stringTable.release(rec1);
+		stringTable.clearCaches();
+		assertEquals(2, stringTable.getReferenceCount(rec2));
+		assertEquals(rec2, stringTable.intern("BB".toCharArray()));
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMStringTable;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMTrigramIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PDOMTrigramIndexTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected PDOMTrigramIndex trigramIndex;
+	protected PDOMStringTable stringTable;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomtrigramindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		trigramIndex = new PDOMTrigramIndex(db, Database.DATA_AREA + Database.PTR_SIZE);
+		stringTable = new PDOMStringTable(db, Database.DATA_AREA, trigramIndex);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	private Set<String> findCandidates(String regex, int flags) throws Exception {
+		int[] trigrams = PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile(regex, flags));
+		assertNotNull(trigrams);
+		Set<String> result = new TreeSet<>();
+		for (long rec : trigramIndex.findCandidates(trigrams)) {
+			result.add(db.getString(rec).getString());
+		}
+		return result;
+	}
+
+	@Test
+	public void testTrigrams() throws Exception {
+		assertEquals(0, PDOMTrigramIndex.getTrigrams("ab".toCharArray()).length);
+		assertEquals(1, PDOMTrigramIndex.getTrigrams("abc".toCharArray()).length);
+		assertEquals(2, PDOMTrigramIndex.getTrigrams("abab".toCharArray()).length);
+		assertArrayEquals(PDOMTrigramIndex.getTrigrams("FooBar".toCharArray()),
+				PDOMTrigramIndex.getTrigrams("foobar".toCharArray()));
+	}
+
+	@Test
+	public void testRequiredTrigrams() throws Exception {
+		assertArrayEquals(PDOMTrigramIndex.getTrigrams("foo".toCharArray()),
+				PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile(".*foo.*")));
+		assertArrayEquals(PDOMTrigramIndex.getTrigrams("foo".toCharArray()),
+				PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("fooo*")));
+		assertArrayEquals(PDOMTrigramIndex.getTrigrams("bar".toCharArray()),
+				PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("[abc]x?bar\\w+")));
+		assertEquals(4, PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("get.*Value")).length);
+
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile(".*")));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("fo.o")));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("foo|bar")));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("(foo)?")));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("\\Qfoo\\E")));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("\\x66oo")));
+		assertNull(PDOMTrigramIndex.getRequiredTrigrams(Pattern.compile("foo", Pattern.LITERAL)));
+	}
+
+	@Test
+	public void testFindCandidates() throws Exception {
+		stringTable.intern("getValue".toCharArray());
+		stringTable.intern("setValue".toCharArray());
+		stringTable.intern("getName".toCharArray());
+		stringTable.intern("ValueType".toCharArray());
+
+		assertEquals(Set.of("getValue", "setValue", "ValueType"), findCandidates(".*Value.*", 0));
+		assertEquals(Set.of("getValue", "getName"), findCandidates("get.*", 0));
+		assertEquals(Set.of("getValue"), findCandidates("get.*Value", 0));
+		assertEquals(Set.of("getValue", "setValue", "ValueType"),
+				findCandidates(".*VALUE.*", Pattern.CASE_INSENSITIVE));
+		assertEquals(Set.of(), findCandidates(".*xyz.*", 0));
+	}
+
+	@Test
+	public void testRelease() throws Exception {
+		long rec = stringTable.intern("getValue".toCharArray());
+		stringTable.intern("getValue".toCharArray());
+		stringTable.intern("setValue".toCharArray());
+
+		stringTable.release(rec);
+		assertEquals(Set.of("getValue", "setValue"), findCandidates(".*Value", 0));
+		stringTable.release(rec);
+		assertEquals(Set.of("setValue"), findCandidates(".*Value", 0));
+	}
+
+	@Test
+	public void testAgainstFullScan() throws Exception {
+		final String[] parts = { "get", "set", "Value", "Name", "Type", "_", "x", "Item", "List", "2" };
+		Map<String, Long> names = new HashMap<>();
+		for (int i = 0; i < 2000; i++) {
+			StringBuilder buf = new StringBuilder();
+			for (int j = i; j > 0; j /= parts.length) {
+				buf.append(parts[j % parts.length]);
+			}
+			String name = buf.toString();
+			if (!names.containsKey(name)) {
+				names.put(name, stringTable.intern(name.toCharArray()));
+			}
+		}
+		final String[] regexes = { ".*Value.*", "get.*", ".*Name_x.*", "set.*Item", ".*List2?", "[gs]et.*Type.*" };
+		for (String regex : regexes) {
+			for (int flags : new int[] { 0, Pattern.CASE_INSENSITIVE }) {
+				Pattern pattern = Pattern.compile(regex, flags);
+				Set<String> candidates = findCandidates(regex, flags);
+				for (String name : names.keySet()) {
+					if (pattern.matcher(name).matches()) {
+						assertTrue(candidates.contains(name), name + " is not a candidate for " + regex);
+					}
+				}
+			}
+		}
+	}
+}
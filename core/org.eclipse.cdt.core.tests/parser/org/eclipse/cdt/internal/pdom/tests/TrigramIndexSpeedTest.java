@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.index.URIRelativeLocationConverter;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
+import org.eclipse.cdt.internal.core.indexer.FileEncodingRegistry;
+import org.eclipse.cdt.internal.core.indexer.IStandaloneScannerInfoProvider;
+import org.eclipse.cdt.internal.core.indexer.StandaloneFastIndexer;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMTrigramIndex;
+import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.c.PDOMCLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares pattern searches that use the trigram index of the PDOM with the full walk over the
+ * bindings, on the index of a generated project with many classes and members.
+ */
+public class TrigramIndexSpeedTest extends BaseTestCase5 {
+	private static final int FILES = 50;
+	private static final int CLASSES_PER_FILE = 20;
+	private static final int MEMBERS_PER_CLASS = 12;
+	private static final String[] REGEXES = { ".*compute7Value", "Widget1[0-9]_3", ".*field1_1.*",
+			"get.*Value" };
+
+	private File sourceDir;
+	private File pdomFile;
+	private WritablePDOM pdom;
+
+	public static void main(String[] args) {
+		TrigramIndexSpeedTest test = new TrigramIndexSpeedTest();
+		try {
+			test.beforeEach();
+			test.runTest(20);
+			test.afterEach();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+	}
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		sourceDir = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+		pdomFile = new File(sourceDir, "test.pdom");
+		createFiles();
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		if (pdom != null) {
+			pdom.acquireWriteLock(null);
+			try {
+				pdom.close();
+			} finally {
+				pdom.releaseWriteLock();
+			}
+		}
+		for (File file : sourceDir.listFiles()) {
+			file.delete();
+		}
+		sourceDir.delete();
+	}
+
+	@Test
+	@Tag(BaseTestCase5.SLOW_TEST_TAG)
+	public void testFindBindings() throws Exception {
+		runTest(5);
+	}
+
+	private void runTest(int n) throws Exception {
+		createIndex();
+		pdom.acquireReadLock();
+		try {
+			for (String regex : REGEXES) {
+				Pattern pattern = Pattern.compile(regex);
+				// A group hides the literals from the trigram extraction, the pattern is matched by
+				// walking all bindings.
+				Pattern fullWalkPattern = Pattern.compile("(?:" + regex + ")");
+				assertNotNull(PDOMTrigramIndex.getRequiredTrigrams(pattern));
+				assertNull(PDOMTrigramIndex.getRequiredTrigrams(fullWalkPattern));
+
+				long[] time = new long[2];
+				Set<String> bindings = null;
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < time.length; j++) {
+						long startTime = System.nanoTime();
+						IIndexFragmentBinding[] result = pdom.findBindings(
+								new Pattern[] { j == 0 ? pattern : fullWalkPattern }, false, IndexFilter.ALL,
+								new NullProgressMonitor());
+						if (i > 0)
+							time[j] += System.nanoTime() - startTime;
+						Set<String> names = getQualifiedNames(result);
+						if (bindings == null) {
+							bindings = names;
+						} else {
+							assertEquals(bindings, names, regex);
+						}
+					}
+				}
+				if (n > 1) {
+					System.out.println("TrigramIndexSpeedTest: " + regex + ", " + bindings.size()
+							+ " bindings, trigram index " + time[0] / (n - 1) / 1000 + " microsecs, full walk "
+							+ time[1] / (n - 1) / 1000 + " microsecs");
+				}
+			}
+		} finally {
+			pdom.releaseReadLock();
+		}
+	}
+
+	private static Set<String> getQualifiedNames(IIndexBinding[] bindings) throws Exception {
+		Set<String> result = new TreeSet<>();
+		for (IIndexBinding binding : bindings) {
+			result.add(String.join("::", binding.getQualifiedName()));
+		}
+		return result;
+	}
+
+	private void createIndex() throws Exception {
+		Map<String, IPDOMLinkageFactory> factories = new HashMap<>();
+		factories.put(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory());
+		factories.put(ILinkage.C_LINKAGE_NAME, new PDOMCLinkageFactory());
+		IStandaloneScannerInfoProvider scannerInfoProvider = new IStandaloneScannerInfoProvider() {
+			@Override
+			public IScannerInfo getScannerInformation(String path) {
+				return new ScannerInfo();
+			}
+
+			@Override
+			public IScannerInfo getDefaultScannerInformation(int linkageID) {
+				return new ScannerInfo();
+			}
+		};
+		StandaloneFastIndexer indexer = new StandaloneFastIndexer(pdomFile,
+				new URIRelativeLocationConverter(sourceDir.toURI()), factories, scannerInfoProvider,
+				new FileEncodingRegistry("UTF-8"), file -> GPPLanguage.getDefault(), new NullLogService());
+		List<String> tus = new ArrayList<>();
+		for (int f = 0; f < FILES; f++) {
+			tus.add(new File(sourceDir, "s" + f + ".cpp").getAbsolutePath());
+		}
+		indexer.rebuild(tus, new NullProgressMonitor());
+		pdom = (WritablePDOM) indexer.getIndex().getWritableFragment();
+	}
+
+	/**
+	 * Creates pairs of a header with namespaces, classes, fields and methods, and a source file
+	 * defining the methods. Each header includes another one, so that the index contains a tree
+	 * of inclusions.
+	 */
+	private void createFiles() throws Exception {
+		for (int f = 0; f < FILES; f++) {
+			try (PrintWriter w = new PrintWriter(new FileWriter(new File(sourceDir, "h" + f + ".h")))) {
+				w.println("#pragma once");
+				if (f > 0)
+					w.println("#include \"h" + (f / 2) + ".h\"");
+				w.println("namespace ns" + (f % 17) + " { namespace sub" + f + " {");
+				for (int c = 0; c < CLASSES_PER_FILE; c++) {
+					w.println("class Widget" + f + "_" + c
+							+ (c > 0 ? " : public Widget" + f + "_" + (c - 1) : "") + " {");
+					w.println("public:");
+					for (int m = 0; m < MEMBERS_PER_CLASS; m++) {
+						w.println("  int field" + m + "_" + c + ";");
+						w.println("  int compute" + m + "Value(int arg);");
+						w.println("  int get" + m + "Value() const;");
+					}
+					w.println("};");
+				}
+				w.println("}}");
+			}
+			try (PrintWriter w = new PrintWriter(new FileWriter(new File(sourceDir, "s" + f + ".cpp")))) {
+				w.println("#include \"h" + f + ".h\"");
+				w.println("namespace ns" + (f % 17) + " { namespace sub" + f + " {");
+				for (int c = 0; c < CLASSES_PER_FILE; c++) {
+					for (int m = 0; m < MEMBERS_PER_CLASS; m++) {
+						w.println("int Widget" + f + "_" + c + "::compute" + m + "Value(int arg) { return arg + field"
+								+ m + "_" + c + "; }");
+					}
+				}
+				w.println("}}");
+			}
+		}
+	}
+}
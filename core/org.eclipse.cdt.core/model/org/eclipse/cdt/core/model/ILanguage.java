@@ -84,6 +84,17 @@ public interface ILanguage extends IAdaptable {
 	 */
 	public final static int OPTION_PARSE_INACTIVE_CODE = 0x20;
 
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Allows the parser to postpone parsing a function body until it is accessed for the first time,
+	 * e.g. by a visitor descending into the body. Supported by the C++ parser, only. Bodies that
+	 * affect the types or values computed outside of them, like bodies of constexpr functions, are
+	 * always parsed right away.
+	 *
+	 * @since 8.2
+	 */
+	public final static int OPTION_PARSE_FUNCTION_BODIES_ON_DEMAND = 0x40;
+
 	/**
 	 * Return the language id for this language.
 	 * This is to differentiate languages from each other.
@@ -15,6 +15,10 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
@@ -23,6 +27,7 @@ import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -33,7 +38,11 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides shared ASTs of translation units. The AST of the active element is computed by the
+ * reconciler and kept as long as it is valid. ASTs of other translation units, e.g. of the
+ * previously active editor, are kept in a least recently used cache limited by the estimated
+ * size of the ASTs. A cached AST becomes invalid on any index write access and when the content
+ * of its translation unit changes.
  *
  * @since 4.0
  */
@@ -45,6 +54,14 @@ public class ASTCache {
 			.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.core/debug/ASTCache")); //$NON-NLS-1$
 	private static final String DEBUG_PREFIX = "[ASTCache] "; //$NON-NLS-1$
 
+	/**
+	 * The default for the estimated size of the cached ASTs in bytes, the AST of the active element
+	 * is kept regardless of its size.
+	 */
+	private static final long DEFAULT_BUDGET = Long.getLong("org.eclipse.cdt.core.astCache.budget", 256L << 20); //$NON-NLS-1$
+	/** Rough estimate of the memory used by an AST per character of the source */
+	private static final int BYTES_PER_SOURCE_CHAR = 100;
+
 	/** Fast parse mode (use PDOM) */
 	public static int PARSE_MODE = ITranslationUnit.AST_SKIP_ALL_HEADERS
 			| ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT
@@ -67,27 +84,70 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * A cached AST.
+	 */
+	private static class Entry {
+		final IASTTranslationUnit fAST;
+		/**
+		 * The timestamp of the last index write access at the time
+		 * the AST got cached. A cached AST becomes invalid on any index
+		 * write access afterwards.
+		 */
+		final long fLastWriteOnIndex;
+		/** Hash and length of the content the AST was computed for */
+		final long fContentsHash;
+		final int fContentsLength;
+		/**
+		 * Whether the AST is known to match the document, i.e. it was computed for the active
+		 * element and the element did not become inactive since.
+		 */
+		boolean fIsCurrent;
+
+		Entry(IASTTranslationUnit ast, long contentsHash, int contentsLength) {
+			fAST = ast;
+			fLastWriteOnIndex = ast.getIndex() == null ? 0 : ast.getIndex().getLastWriteAccess();
+			fContentsHash = contentsHash;
+			fContentsLength = contentsLength;
+		}
+
+		long getEstimatedSize() {
+			return (long) fContentsLength * BYTES_PER_SOURCE_CHAR;
+		}
+	}
+
 	private final int fParseMode;
+	private final long fBudget;
 	private final Object fCacheMutex = new Object();
 
 	/** The active translation unit for which to cache the AST */
 	private ITranslationUnit fActiveTU;
-	/** The cached AST if any */
-	private IASTTranslationUnit fAST;
-	/**
-	 * The timestamp of the last index write access at the time
-	 * the AST got cached. A cached AST becomes invalid on any index
-	 * write access afterwards.
-	 */
-	private long fLastWriteOnIndex;
+	/** The cached ASTs in access order, including the one of the active translation unit */
+	private final LinkedHashMap<ITranslationUnit, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	private long fEstimatedSize;
 	/** Indicates whether the AST is currently being computed */
 	private boolean fIsReconciling;
 
+	// Statistics
+	private long fHits;
+	private long fMisses;
+	private long fParseTime;
+
 	/**
 	 * Create a new AST cache.
 	 */
 	public ASTCache() {
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Create a new AST cache.
+	 *
+	 * @param budget  the estimated size of the cached ASTs in bytes
+	 */
+	public ASTCache(long budget) {
 		fParseMode = PARSE_MODE;
+		fBudget = budget;
 	}
 
 	/**
@@ -114,22 +174,24 @@ public class ASTCache {
 				return null;
 
 			final boolean isActiveElement;
+			Entry entry;
 			synchronized (fCacheMutex) {
 				isActiveElement = tUnit.equals(fActiveTU);
+				entry = fEntries.get(tUnit);
+				if (entry != null && entry.fLastWriteOnIndex < index.getLastWriteAccess()) {
+					// AST has been invalidated by index write access
+					remove(tUnit);
+					entry = null;
+				}
+				if (entry != null && isActiveElement && entry.fIsCurrent) {
+					// cached AST is valid
+					fHits++;
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
+								+ toString(entry.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+					return entry.fAST;
+				}
 				if (isActiveElement) {
-					if (fAST != null) {
-						// AST is cached
-						if (fLastWriteOnIndex < index.getLastWriteAccess()) {
-							// AST has been invalidated by index write access
-							disposeAST();
-						} else {
-							// cached AST is valid
-							if (DEBUG)
-								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
-										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
-						}
-					}
 					// no cached AST
 					if (!wait) {
 						// no AST, no wait - we are done
@@ -138,32 +200,56 @@ public class ASTCache {
 									+ tUnit.getElementName());
 						return null;
 					}
-				}
-				// no cached AST, but wait
-				if (isActiveElement && isReconciling(tUnit)) {
-					try {
-						// Wait for AST
-						if (DEBUG)
-							System.out.println(
-									DEBUG_PREFIX + getThreadName() + "waiting for AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-						fCacheMutex.wait();
-						// Check whether active element is still valid
-						if (fAST != null) {
+					// no cached AST, but wait
+					if (isReconciling(tUnit)) {
+						try {
+							// Wait for AST
 							if (DEBUG)
-								System.out.println(
-										DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
+								System.out.println(DEBUG_PREFIX + getThreadName() + "waiting for AST for: " //$NON-NLS-1$
+										+ tUnit.getElementName());
+							fCacheMutex.wait();
+							// Check whether active element is still valid
+							entry = fEntries.get(tUnit);
+							if (entry != null) {
+								if (DEBUG)
+									System.out.println(DEBUG_PREFIX + getThreadName() + "...got AST for: " //$NON-NLS-1$
+											+ tUnit.getElementName());
+								return entry.fAST;
+							}
+							// try again
+							continue;
+						} catch (InterruptedException e) {
+							return null; // thread has been interrupted don't compute AST
 						}
-						// try again
-						continue;
-					} catch (InterruptedException e) {
-						return null; // thread has been interrupted don't compute AST
 					}
-				} else if (!wait) {
-					return null;
 				}
 			}
 
+			// The content of translation units other than the active one is checked, their
+			// documents are not tracked by the reconciler.
+			char[] contents = isActiveElement && entry == null ? null : getContents(tUnit);
+			if (entry != null) {
+				if (entry.fContentsLength == contents.length
+						&& entry.fContentsHash == new CharArray(contents).getContentsHash()) {
+					synchronized (fCacheMutex) {
+						fHits++;
+						if (isActiveElement && fEntries.get(tUnit) == entry)
+							entry.fIsCurrent = true;
+					}
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
+								+ toString(entry.fAST) + " for inactive: " + tUnit.getElementName()); //$NON-NLS-1$
+					return entry.fAST;
+				}
+				synchronized (fCacheMutex) {
+					if (fEntries.get(tUnit) == entry) {
+						remove(tUnit);
+					}
+				}
+			}
+			if (!wait)
+				return null;
+
 			if (isActiveElement)
 				aboutToBeReconciled(tUnit);
 
@@ -171,6 +257,7 @@ public class ASTCache {
 				System.err.println(DEBUG_PREFIX + getThreadName() + "creating AST for " + tUnit.getElementName()); //$NON-NLS-1$
 
 			IASTTranslationUnit ast = null;
+			final long start = System.nanoTime();
 			try {
 				ast = createAST(tUnit, index, progressMonitor);
 				if (progressMonitor != null && progressMonitor.isCanceled())
@@ -178,15 +265,33 @@ public class ASTCache {
 				else if (DEBUG && ast != null)
 					System.err.println(DEBUG_PREFIX + getThreadName() + "created AST for: " + tUnit.getElementName()); //$NON-NLS-1$
 			} finally {
+				synchronized (fCacheMutex) {
+					fMisses++;
+					fParseTime += System.nanoTime() - start;
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + fHits + " hits, " + fMisses //$NON-NLS-1$
+								+ " misses, " + fParseTime / 1000000 + " ms spent computing ASTs, " //$NON-NLS-1$ //$NON-NLS-2$
+								+ fEntries.size() + " ASTs cached"); //$NON-NLS-1$
+				}
 				if (isActiveElement) {
-					if (fAST != null) {
+					final Entry cached;
+					synchronized (fCacheMutex) {
+						cached = fEntries.get(tUnit);
+					}
+					if (cached != null) {
 						if (DEBUG)
 							System.out.println(DEBUG_PREFIX + getThreadName() + "Ignore created AST for " //$NON-NLS-1$
 									+ tUnit.getElementName() + "- AST from reconciler is newer"); //$NON-NLS-1$
 						// other reconciler was faster, still need to trigger notify
-						reconciled(fAST, tUnit);
+						reconciled(cached.fAST, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else if (ast != null) {
+					synchronized (fCacheMutex) {
+						if (!tUnit.equals(fActiveTU)) {
+							put(tUnit, new Entry(ast, new CharArray(contents).getContentsHash(), contents.length));
+						}
+					}
 				}
 			}
 			return ast;
@@ -292,12 +397,13 @@ public class ASTCache {
 	}
 
 	/**
-	 * Caches the given AST for the given translation unit.
+	 * Caches the given AST for the active translation unit.
 	 *
 	 * @param ast    the AST
 	 * @param tUnit  the translation unit
+	 * @param contents  the content the AST was computed for
 	 */
-	private void cache(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+	private void cache(IASTTranslationUnit ast, ITranslationUnit tUnit, char[] contents) {
 		assert Thread.holdsLock(fCacheMutex);
 		if (fActiveTU != null && !fActiveTU.equals(tUnit)) {
 			if (DEBUG && tUnit != null) // don't report call from disposeAST()
@@ -309,30 +415,114 @@ public class ASTCache {
 			System.out.println(
 					DEBUG_PREFIX + getThreadName() + "caching AST: " + toString(ast) + " for: " + toString(tUnit)); //$NON-NLS-1$ //$NON-NLS-2$
 
-		if (fAST != null)
-			disposeAST();
-
-		fAST = ast;
-		fLastWriteOnIndex = fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
+		if (tUnit != null) {
+			remove(tUnit);
+			if (ast != null) {
+				Entry entry = new Entry(ast, new CharArray(contents).getContentsHash(), contents.length);
+				entry.fIsCurrent = true;
+				put(tUnit, entry);
+			}
+		}
 
 		// Signal AST change
 		fCacheMutex.notifyAll();
 	}
 
+	private void put(ITranslationUnit tUnit, Entry entry) {
+		assert Thread.holdsLock(fCacheMutex);
+		remove(tUnit);
+		fEntries.put(tUnit, entry);
+		fEstimatedSize += entry.getEstimatedSize();
+		// Evict the least recently used ASTs, the one of the active element is kept.
+		for (Iterator<Map.Entry<ITranslationUnit, Entry>> it = fEntries.entrySet().iterator(); fEstimatedSize > fBudget
+				&& it.hasNext();) {
+			Map.Entry<ITranslationUnit, Entry> eldest = it.next();
+			if (!eldest.getKey().equals(fActiveTU)) {
+				if (DEBUG)
+					System.out.println(DEBUG_PREFIX + getThreadName() + "evicting AST for: " //$NON-NLS-1$
+							+ toString(eldest.getKey()));
+				fEstimatedSize -= eldest.getValue().getEstimatedSize();
+				it.remove();
+			}
+		}
+	}
+
+	private void remove(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		Entry entry = fEntries.remove(tUnit);
+		if (entry != null) {
+			fEstimatedSize -= entry.getEstimatedSize();
+		}
+	}
+
+	private static char[] getContents(ITranslationUnit tUnit) {
+		char[] contents = tUnit.getContents();
+		return contents != null ? contents : new char[0];
+	}
+
 	/**
-	 * Disposes the cached AST.
+	 * Disposes the cached AST of the active element.
 	 */
 	public void disposeAST() {
 		synchronized (fCacheMutex) {
-			if (fAST == null)
+			if (fActiveTU == null || !fEntries.containsKey(fActiveTU))
 				return;
 
 			if (DEBUG)
-				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " + toString(fAST) + " for: " //$NON-NLS-1$//$NON-NLS-2$
-						+ toString(fActiveTU));
+				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " //$NON-NLS-1$
+						+ toString(fEntries.get(fActiveTU).fAST) + " for: " + toString(fActiveTU)); //$NON-NLS-1$
+
+			remove(fActiveTU);
+			// Signal AST change
+			fCacheMutex.notifyAll();
+		}
+	}
+
+	/**
+	 * Disposes all cached ASTs.
+	 */
+	public void clear() {
+		synchronized (fCacheMutex) {
+			fEntries.clear();
+			fEstimatedSize = 0;
+			fCacheMutex.notifyAll();
+		}
+	}
 
-			fAST = null;
-			cache(null, null);
+	/**
+	 * Returns the number of requests for ASTs that were served by the cache.
+	 */
+	public long getHitCount() {
+		synchronized (fCacheMutex) {
+			return fHits;
+		}
+	}
+
+	/**
+	 * Returns the number of ASTs that were computed because they were not cached.
+	 */
+	public long getMissCount() {
+		synchronized (fCacheMutex) {
+			return fMisses;
+		}
+	}
+
+	/**
+	 * Returns the time spent computing ASTs that were not cached in milliseconds, the ASTs
+	 * computed by the reconciler are not included.
+	 */
+	public long getParseTime() {
+		synchronized (fCacheMutex) {
+			return fParseTime / 1000000;
+		}
+	}
+
+	/**
+	 * Returns the estimated size of the cached ASTs in bytes.
+	 */
+	public long getEstimatedSize() {
+		synchronized (fCacheMutex) {
+			return fEstimatedSize;
 		}
 	}
 
@@ -386,9 +576,16 @@ public class ASTCache {
 			return;
 		}
 		synchronized (fCacheMutex) {
+			// The AST of the previously active element stays in the cache, its document is no
+			// longer tracked.
+			if (fActiveTU != null) {
+				Entry entry = fEntries.get(fActiveTU);
+				if (entry != null)
+					entry.fIsCurrent = false;
+			}
 			fIsReconciling = false;
 			fActiveTU = tUnit;
-			cache(null, tUnit);
+			fCacheMutex.notifyAll();
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
@@ -418,6 +615,8 @@ public class ASTCache {
 
 		synchronized (fCacheMutex) {
 			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
+				// The document of an inactive element has changed.
+				remove(tUnit);
 				return;
 			}
 
@@ -425,7 +624,7 @@ public class ASTCache {
 				System.out.println(DEBUG_PREFIX + getThreadName() + "about to reconcile: " + toString(tUnit)); //$NON-NLS-1$
 
 			fIsReconciling = true;
-			cache(null, tUnit);
+			cache(null, tUnit, null);
 		}
 	}
 
@@ -436,6 +635,7 @@ public class ASTCache {
 	 * @param tUnit  the translation unit
 	 */
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		final char[] contents = ast != null && tUnit != null ? getContents(tUnit) : null;
 		synchronized (fCacheMutex) {
 			if (tUnit == null || !tUnit.equals(fActiveTU)) {
 				if (DEBUG)
@@ -447,7 +647,7 @@ public class ASTCache {
 						DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$
 
 			fIsReconciling = false;
-			cache(ast, tUnit);
+			cache(ast, tUnit, contents);
 		}
 	}
 
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.core.resources.IProject;
+
+/**
+ * The results of sniffing the headers of the files of a project for binaries, stored across
+ * sessions. For each file the cache records the id of the binary parser that accepted it together
+ * with the header that was read, or that no parser accepted it. An entry is valid as long as the
+ * length and the modification time of the file are unchanged, such that the binary runner only
+ * needs to read the files that changed.
+ * <p>
+ * The cache is specific to the binary parsers configured for the project, it is discarded when
+ * they change. The entries may be read and updated concurrently.
+ */
+public class BinaryFileCache {
+	private static final int VERSION = 1;
+	/**
+	 * A result is recorded only if the file was last modified this many milliseconds ago, such that
+	 * a later modification cannot go unnoticed due to the resolution of the modification time.
+	 */
+	private static final long MODIFICATION_TIME_RESOLUTION = 2000;
+
+	public static final class Entry {
+		private final long fLength;
+		private final long fLastModified;
+		private final String fParserId;
+		private final byte[] fHints;
+
+		Entry(long length, long lastModified, String parserId, byte[] hints) {
+			fLength = length;
+			fLastModified = lastModified;
+			fParserId = parserId;
+			fHints = hints;
+		}
+
+		/**
+		 * Returns the id of the binary parser that accepted the file, or {@code null} if the file
+		 * is not a binary.
+		 */
+		public String getParserId() {
+			return fParserId;
+		}
+
+		/**
+		 * Returns the header of the file that was passed to the binary parser.
+		 */
+		public byte[] getHints() {
+			return fHints;
+		}
+	}
+
+	private final File fStorage;
+	private final String fParsersKey;
+	private final Map<String, Entry> fEntries = new ConcurrentHashMap<>();
+	private volatile boolean fModified;
+
+	/**
+	 * @param storage the file the cache is persisted in
+	 * @param parsersKey identifies the configuration of the binary parsers the results are valid for
+	 */
+	public BinaryFileCache(File storage, String parsersKey) {
+		fStorage = storage;
+		fParsersKey = parsersKey;
+	}
+
+	/**
+	 * Returns the cache for the given project and its binary parsers, loaded from the state
+	 * location of the plug-in.
+	 */
+	public static BinaryFileCache load(IProject project, BinaryParserConfig[] parsers) {
+		StringBuilder key = new StringBuilder();
+		for (BinaryParserConfig parser : parsers) {
+			if (parser != null) {
+				key.append(parser.getId()).append(';');
+			}
+		}
+		File storage = CCorePlugin.getDefault().getStateLocation().append("binaryCache") //$NON-NLS-1$
+				.append(project.getName() + ".dat").toFile(); //$NON-NLS-1$
+		BinaryFileCache cache = new BinaryFileCache(storage, key.toString());
+		cache.load();
+		return cache;
+	}
+
+	/**
+	 * Reads the entries from the storage, unless it was written for other binary parsers.
+	 */
+	public void load() {
+		fEntries.clear();
+		if (!fStorage.isFile())
+			return;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fStorage)))) {
+			if (in.readInt() != VERSION || !fParsersKey.equals(in.readUTF()))
+				return;
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String path = in.readUTF();
+				long length = in.readLong();
+				long lastModified = in.readLong();
+				String parserId = null;
+				byte[] hints = null;
+				if (in.readBoolean()) {
+					parserId = in.readUTF();
+					hints = new byte[in.readInt()];
+					in.readFully(hints);
+				}
+				fEntries.put(path, new Entry(length, lastModified, parserId, hints));
+			}
+		} catch (IOException e) {
+			// The cache is rebuilt from the files.
+			fEntries.clear();
+		}
+		fModified = false;
+	}
+
+	/**
+	 * Writes the entries to the storage, if they changed since they were loaded.
+	 */
+	public void save() {
+		if (!fModified)
+			return;
+		File dir = fStorage.getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs())
+			return;
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(fStorage)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(fParsersKey);
+			out.writeInt(fEntries.size());
+			for (Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+				Entry entry = mapEntry.getValue();
+				out.writeUTF(mapEntry.getKey());
+				out.writeLong(entry.fLength);
+				out.writeLong(entry.fLastModified);
+				out.writeBoolean(entry.fParserId != null);
+				if (entry.fParserId != null) {
+					out.writeUTF(entry.fParserId);
+					out.writeInt(entry.fHints.length);
+					out.write(entry.fHints);
+				}
+			}
+			fModified = false;
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Returns the entry of the file at the given location, or {@code null} if there is none or
+	 * the file changed since the entry was made.
+	 */
+	public Entry get(String path, long length, long lastModified) {
+		Entry entry = fEntries.get(path);
+		if (entry != null && entry.fLength == length && entry.fLastModified == lastModified)
+			return entry;
+		return null;
+	}
+
+	/**
+	 * Records the result of sniffing the file at the given location. The result is not recorded
+	 * if the file was modified too recently, it may still be being written.
+	 *
+	 * @param parserId the id of the binary parser that accepted the file, or {@code null}
+	 * @param hints the header of the file that was passed to the binary parser
+	 */
+	public void put(String path, long length, long lastModified, String parserId, byte[] hints) {
+		if (System.currentTimeMillis() - lastModified < MODIFICATION_TIME_RESOLUTION)
+			return;
+		fEntries.put(path, new Entry(length, lastModified, parserId, parserId != null ? hints : null));
+		fModified = true;
+	}
+
+	/**
+	 * Removes the entries of the files not in the given collection.
+	 */
+	public void retainAll(Collection<String> paths) {
+		if (fEntries.keySet().retainAll(paths)) {
+			fModified = true;
+		}
+	}
+
+	public int size() {
+		return fEntries.size();
+	}
+}
@@ -16,6 +16,16 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
 import org.eclipse.cdt.core.model.CModelException;
@@ -81,6 +91,9 @@ public class BinaryRunner {
 
 	}
 
+	/** The maximum number of threads sniffing the headers of the files */
+	private static final int MAX_THREADS = 4;
+
 	private final ICProject cproject;
 	private final Job runnerJob; // final fields don't need synchronization
 	private IOutputEntry[] entries = new IOutputEntry[0];
@@ -118,7 +131,11 @@ public class BinaryRunner {
 						BinaryParserConfig[] parsers = CModelManager.getDefault()
 								.getBinaryParser(cproject.getProject());
 						if (parsers.length > 0) {
-							cproject.getProject().accept(new Visitor(monitor), IContainer.INCLUDE_PHANTOMS);
+							Visitor visitor = new Visitor(monitor);
+							cproject.getProject().accept(visitor, IContainer.INCLUDE_PHANTOMS);
+							if (!monitor.isCanceled()) {
+								createBinaries(visitor.getCandidates(), parsers, monitor);
+							}
 						}
 
 						if (!monitor.isCanceled()) {
@@ -140,6 +157,77 @@ public class BinaryRunner {
 		return job;
 	}
 
+	/**
+	 * Sniffs the headers of the candidate files concurrently and adds the binaries to the
+	 * containers of the project, in the order of the files. The results are cached across
+	 * sessions, such that only the files that changed since the last run are read.
+	 */
+	private void createBinaries(List<IFile> candidates, BinaryParserConfig[] parsers, IProgressMonitor monitor) {
+		if (candidates.isEmpty())
+			return;
+		final CModelManager factory = CModelManager.getDefault();
+		final BinaryFileCache cache = BinaryFileCache.load(cproject.getProject(), parsers);
+		// Create the parsers up front, the configurations are not thread-safe.
+		for (BinaryParserConfig parser : parsers) {
+			try {
+				if (parser != null) {
+					parser.getBinaryParser();
+				}
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			}
+		}
+
+		final int threadCount = Math.max(1,
+				Math.min(candidates.size(), Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors())));
+		final AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread thread = new Thread(r, "C/C++ Binary Runner " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		boolean complete = false;
+		try {
+			List<Future<IBinaryFile>> futures = new ArrayList<>(candidates.size());
+			for (final IFile file : candidates) {
+				futures.add(executor.submit(() -> monitor.isCanceled() ? null : factory.createBinaryFile(file, cache)));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				if (monitor.isCanceled())
+					return;
+				IBinaryFile bin = null;
+				try {
+					bin = futures.get(i).get();
+				} catch (ExecutionException e) {
+					CCorePlugin.log(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				if (bin != null) {
+					// Create the file will add it to the {Archive,Binary}Container.
+					factory.create(candidates.get(i), bin, cproject);
+				}
+			}
+			complete = true;
+		} finally {
+			executor.shutdownNow();
+			// The results of a canceled run are kept as well, only a complete run knows which
+			// files no longer exist.
+			if (complete) {
+				Set<String> paths = new HashSet<>();
+				for (IFile file : candidates) {
+					IPath location = file.getLocation();
+					if (location != null) {
+						paths.add(location.toOSString());
+					}
+				}
+				cache.retainAll(paths);
+			}
+			cache.save();
+		}
+	}
+
 	public void start() {
 		synchronized (runnerJob) {
 			if (!isStopped) {
@@ -172,8 +260,12 @@ public class BinaryRunner {
 		}
 	}
 
+	/**
+	 * Collects the files on the output entries that may be binaries.
+	 */
 	private class Visitor implements IResourceProxyVisitor {
 		private final IProgressMonitor vMonitor;
+		private final List<IFile> candidates = new ArrayList<>();
 		private final IProject project;
 		private final IContentType textContentType;
 
@@ -184,6 +276,10 @@ public class BinaryRunner {
 			textContentType = mgr.getContentType("org.eclipse.core.runtime.text"); //$NON-NLS-1$
 		}
 
+		public List<IFile> getCandidates() {
+			return candidates;
+		}
+
 		@Override
 		public boolean visit(IResourceProxy proxy) throws CoreException {
 			if (vMonitor.isCanceled()) {
@@ -221,13 +317,7 @@ public class BinaryRunner {
 			if (path != null) {
 				for (IOutputEntry entrie : entries) {
 					if (isOnOutputEntry(entrie, path)) {
-						IFile file = (IFile) proxy.requestResource();
-						CModelManager factory = CModelManager.getDefault();
-						IBinaryFile bin = factory.createBinaryFile(file);
-						if (bin != null) {
-							// Create the file will add it to the {Archive,Binary}Container.
-							factory.create(file, bin, cproject);
-						}
+						candidates.add((IFile) proxy.requestResource());
 						return true;
 					}
 				}
@@ -159,7 +159,8 @@ public class CModelBuilder2 implements IContributedModelBuilder {
 			parseFlags |= ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 			final IASTTranslationUnit ast;
 			try {
-				ast = fTranslationUnit.getAST(index, parseFlags, fProgressMonitor);
+				ast = fTranslationUnit.getAST(index, parseFlags, elementInfo instanceof ASTHolderTUInfo,
+						fProgressMonitor);
 				if (DEBUG) {
 					Util.debugLog("CModelBuilder2: parsing " //$NON-NLS-1$
 							+ fTranslationUnit.getElementName() + " mode=" //$NON-NLS-1$
@@ -676,6 +676,16 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 	}
 
 	public IBinaryFile createBinaryFile(IFile file) {
+		return createBinaryFile(file, null);
+	}
+
+	/**
+	 * Creates the binary file for the given file, looking up and recording the result of sniffing
+	 * its header in the given cache. May be called concurrently for different files.
+	 *
+	 * @param cache the cache of the sniffed files of the project, or {@code null}
+	 */
+	public IBinaryFile createBinaryFile(IFile file, BinaryFileCache cache) {
 		BinaryParserConfig[] parsers = getBinaryParser(file.getProject());
 		if (parsers.length == 0) {
 			return null;
@@ -730,6 +740,34 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 			//return null;
 		}
 
+		IPath location = file.getLocation();
+		String cachePath = null;
+		long length = 0;
+		long lastModified = 0;
+		if (cache != null && location != null) {
+			File localFile = location.toFile();
+			cachePath = location.toOSString();
+			length = localFile.length();
+			lastModified = localFile.lastModified();
+			BinaryFileCache.Entry entry = cache.get(cachePath, length, lastModified);
+			if (entry != null) {
+				if (entry.getParserId() == null)
+					return null;
+				for (BinaryParserConfig parser2 : parsers) {
+					if (parser2 != null && entry.getParserId().equals(parser2.getId())) {
+						try {
+							IBinaryFile binFile = parser2.getBinaryParser().getBinary(entry.getHints(), location);
+							if (binFile != null) {
+								return binFile;
+							}
+						} catch (IOException | CoreException e) {
+						}
+						break;
+					}
+				}
+			}
+		}
+
 		int hints = 0;
 
 		for (BinaryParserConfig parser2 : parsers) {
@@ -773,20 +811,29 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 			}
 		}
 
-		IPath location = file.getLocation();
-
+		boolean failed = false;
 		for (BinaryParserConfig parser2 : parsers) {
 			try {
 				IBinaryParser parser = parser2.getBinaryParser();
 				if (parser.isBinary(bytes, location)) {
 					IBinaryFile binFile = parser.getBinary(bytes, location);
 					if (binFile != null) {
+						if (cachePath != null) {
+							cache.put(cachePath, length, lastModified, parser2.getId(), bytes);
+						}
 						return binFile;
 					}
 				}
-			} catch (IOException | CoreException e) {
+			} catch (IOException e) {
+				failed = true;
+			} catch (CoreException e) {
 			}
 		}
+		// A file that could not be read by a parser, e.g. because the binary runner was canceled,
+		// is not recorded as a non-binary.
+		if (cachePath != null && !failed) {
+			cache.put(cachePath, length, lastModified, null, null);
+		}
 		return null;
 	}
 
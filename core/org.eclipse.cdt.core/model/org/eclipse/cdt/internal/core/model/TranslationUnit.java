@@ -22,17 +22,22 @@ package org.eclipse.cdt.internal.core.model;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
@@ -73,9 +78,13 @@ import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
 import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
 import org.eclipse.cdt.internal.core.index.IndexBasedFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.InternalParserUtil;
 import org.eclipse.cdt.internal.core.parser.ParserLogService;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerIncludeResolutionHeuristics;
 import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerInputAdapter;
@@ -119,6 +128,95 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 	SourceManipulationInfo sourceManipulationInfo;
 	private ILanguage fLanguageOfContext;
 
+	/**
+	 * The AST computed by the last reconcile, the function bodies of which can be reused by the next
+	 * reconcile.
+	 */
+	private SoftReference<ReconciledAST> fReconciledAST;
+	/** The time in milliseconds to wait for exclusive access to the AST of the previous reconcile */
+	private static final long REUSE_AST_TIMEOUT = 1000;
+
+	private static class ReconciledAST {
+		final IASTTranslationUnit fAST;
+		final char[] fContents;
+		final IScannerInfo fScannerInfo;
+		final ILanguage fLanguage;
+		final int fStyle;
+		final long fIndexWriteAccess;
+		/** The files included by the AST and the states of their contents when it was computed */
+		final IPath[] fIncludedFiles;
+		final long[] fIncludedFileStamps;
+
+		ReconciledAST(IASTTranslationUnit ast, char[] contents, IScannerInfo scannerInfo, ILanguage language,
+				int style, IIndex index, Map<IPath, IWorkingCopy> workingCopies) {
+			fAST = ast;
+			fContents = contents;
+			fScannerInfo = scannerInfo;
+			fLanguage = language;
+			fStyle = style;
+			fIndexWriteAccess = getLastWriteAccess(index);
+			Set<IPath> includedFiles = new LinkedHashSet<>();
+			for (IASTPreprocessorIncludeStatement include : ast.getIncludeDirectives()) {
+				if (include.isResolved()) {
+					includedFiles.add(new Path(include.getPath()));
+				}
+			}
+			fIncludedFiles = includedFiles.toArray(new IPath[includedFiles.size()]);
+			fIncludedFileStamps = new long[fIncludedFiles.length];
+			for (int i = 0; i < fIncludedFiles.length; i++) {
+				fIncludedFileStamps[i] = getStamp(fIncludedFiles[i], workingCopies);
+			}
+		}
+
+		boolean isCompatible(IScannerInfo scannerInfo, ILanguage language, int style, IIndex index,
+				Map<IPath, IWorkingCopy> workingCopies) {
+			return language == fLanguage && style == fStyle && getLastWriteAccess(index) == fIndexWriteAccess
+					&& scannerInfo.getDefinedSymbols().equals(fScannerInfo.getDefinedSymbols())
+					&& Arrays.equals(scannerInfo.getIncludePaths(), fScannerInfo.getIncludePaths())
+					&& isSameExtendedInfo(scannerInfo, fScannerInfo) && areIncludedFilesUnchanged(workingCopies);
+		}
+
+		private boolean areIncludedFilesUnchanged(Map<IPath, IWorkingCopy> workingCopies) {
+			for (int i = 0; i < fIncludedFiles.length; i++) {
+				if (getStamp(fIncludedFiles[i], workingCopies) != fIncludedFileStamps[i])
+					return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Returns a value that changes with the contents of the given file, the contents of its
+		 * working copy if it is open in an editor.
+		 */
+		private static long getStamp(IPath location, Map<IPath, IWorkingCopy> workingCopies) {
+			IWorkingCopy workingCopy = workingCopies.get(location);
+			if (workingCopy != null) {
+				try {
+					IBuffer buffer = workingCopy.getBuffer();
+					char[] contents = buffer != null ? buffer.getCharacters() : null;
+					if (contents != null)
+						return new CharArray(contents).getContentsHash();
+				} catch (CModelException e) {
+				}
+			}
+			return location.toFile().lastModified();
+		}
+
+		private static boolean isSameExtendedInfo(IScannerInfo info1, IScannerInfo info2) {
+			if (!(info1 instanceof ExtendedScannerInfo) || !(info2 instanceof ExtendedScannerInfo))
+				return !(info1 instanceof ExtendedScannerInfo) && !(info2 instanceof ExtendedScannerInfo);
+			ExtendedScannerInfo ext1 = (ExtendedScannerInfo) info1;
+			ExtendedScannerInfo ext2 = (ExtendedScannerInfo) info2;
+			return Arrays.equals(ext1.getMacroFiles(), ext2.getMacroFiles())
+					&& Arrays.equals(ext1.getIncludeFiles(), ext2.getIncludeFiles())
+					&& Arrays.equals(ext1.getLocalIncludePath(), ext2.getLocalIncludePath());
+		}
+
+		private static long getLastWriteAccess(IIndex index) {
+			return index != null ? index.getLastWriteAccess() : -1;
+		}
+	}
+
 	public TranslationUnit(ICElement parent, IFile file, String idType) {
 		super(parent, file, ICElement.C_UNIT);
 		setContentTypeID(idType);
@@ -844,6 +942,16 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 	}
 
 	public IASTTranslationUnit getAST(IIndex index, int style, IProgressMonitor monitor) throws CoreException {
+		return getAST(index, style, false, monitor);
+	}
+
+	/**
+	 * Computes the AST of the translation unit. With {@code reuseFunctionBodies} the AST is kept,
+	 * such that the next call with the flag can reuse its function bodies if the translation unit has
+	 * been edited in a single function body only. This is used for reconciling the AST of an editor.
+	 */
+	IASTTranslationUnit getAST(IIndex index, int style, boolean reuseFunctionBodies, IProgressMonitor monitor)
+			throws CoreException {
 		boolean incompleteIndex = index != null && !index.isFullyInitialized();
 		IIndexFile[] contextToHeader = getContextToHeader(index, style);
 		ITranslationUnit configureWith = getConfigureWith(contextToHeader);
@@ -883,8 +991,50 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		} else {
 			log = ParserUtil.getParserLogService();
 		}
-		ASTTranslationUnit ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent,
-				scanInfo, crf, index, options, log);
+		char[] contents = null;
+		Map<IPath, IWorkingCopy> workingCopies = null;
+		ReconciledAST previous = null;
+		ReusableFunctionBodies reusableBodies = null;
+		if (reuseFunctionBodies && fileContent instanceof InternalFileContent) {
+			AbstractCharArray source = ((InternalFileContent) fileContent).getSource();
+			contents = new char[source.getLength()];
+			source.arraycopy(0, contents, 0, contents.length);
+			workingCopies = getOpenWorkingCopies();
+			if (crf instanceof InternalFileContentProvider) {
+				previous = getReusableAST(scanInfo, language, style, index, workingCopies);
+			}
+			if (previous != null) {
+				// The bodies are copied from the previous AST while parsing.
+				reusableBodies = ReusableFunctionBodies.create(previous.fAST, previous.fContents, contents);
+				if (reusableBodies != null) {
+					((InternalFileContentProvider) crf).setReusableFunctionBodies(reusableBodies);
+				} else {
+					((ASTTranslationUnit) previous.fAST).endExclusiveAccess();
+					previous = null;
+				}
+			}
+		}
+		ASTTranslationUnit ast;
+		try {
+			ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent, scanInfo,
+					crf, index, options, log);
+		} finally {
+			if (previous != null) {
+				((ASTTranslationUnit) previous.fAST).endExclusiveAccess();
+			}
+		}
+		if (ast != null && reusableBodies != null && !reusableBodies.isConsistent()) {
+			// The edit has changed the context of the code following it, parse the entire file.
+			crf = getIncludeFileContentProvider(style, index, language.getLinkageID(), contextToHeader);
+			ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(FileContent.create(this),
+					scanInfo, crf, index, options, log);
+		}
+		if (contents != null) {
+			fReconciledAST = ast != null
+					? new SoftReference<>(
+							new ReconciledAST(ast, contents, scanInfo, language, style, index, workingCopies))
+					: null;
+		}
 		if (ast == null)
 			return null;
 		ast.setOriginatingTranslationUnit(this);
@@ -892,6 +1042,42 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		return ast;
 	}
 
+	/**
+	 * Returns the AST of the previous reconcile if its function bodies can be reused, with exclusive
+	 * access to it. The AST may be in use by other clients of the AST cache, its bodies are not
+	 * reused if they don't release it in time.
+	 */
+	private ReconciledAST getReusableAST(IScannerInfo scanInfo, ILanguage language, int style, IIndex index,
+			Map<IPath, IWorkingCopy> workingCopies) {
+		ReconciledAST previous = fReconciledAST != null ? fReconciledAST.get() : null;
+		if (previous == null || !previous.isCompatible(scanInfo, language, style, index, workingCopies))
+			return null;
+		try {
+			if (((ASTTranslationUnit) previous.fAST).tryBeginExclusiveAccess(REUSE_AST_TIMEOUT))
+				return previous;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the working copies that are open together with this one, by their locations.
+	 */
+	private Map<IPath, IWorkingCopy> getOpenWorkingCopies() {
+		Map<IPath, IWorkingCopy> result = new HashMap<>();
+		if (this instanceof WorkingCopy) {
+			IBufferFactory factory = ((WorkingCopy) this).getBufferFactory();
+			for (IWorkingCopy workingCopy : CModelManager.getDefault().getSharedWorkingCopies(factory)) {
+				IPath location = workingCopy.getLocation();
+				if (location != null) {
+					result.put(location, workingCopy);
+				}
+			}
+		}
+		return result;
+	}
+
 	private IncludeFileContentProvider getIncludeFileContentProvider(int style, IIndex index, int linkageID,
 			IIndexFile[] contextToHeader) {
 		final ICProject cprj = getCProject();
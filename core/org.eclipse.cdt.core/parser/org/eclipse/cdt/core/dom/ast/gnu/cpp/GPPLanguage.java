@@ -129,6 +129,9 @@ public class GPPLanguage extends AbstractCLikeLanguage {
 				parser.setMaximumTrivialExpressionsInAggregateInitializers(maximumTrivialExpressions);
 			}
 		}
+		if ((options & OPTION_PARSE_FUNCTION_BODIES_ON_DEMAND) != 0) {
+			parser.setDeferFunctionBodies(true);
+		}
 		return parser;
 	}
 
@@ -42,7 +42,9 @@ import org.eclipse.cdt.core.parser.ParseError;
 import org.eclipse.cdt.core.parser.ParseError.ParseErrorKind;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.internal.core.dom.parser.AbstractGNUSourceCodeParser;
 import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.util.ICancelable;
 import org.eclipse.cdt.internal.core.util.ICanceler;
 import org.eclipse.core.runtime.CoreException;
@@ -152,6 +154,10 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 			parserSettings = extendedScannerInfo.getParserSettings();
 		}
 		final ISourceCodeParser parser = createParser(scanner, log, index, false, options, parserSettings);
+		if (fileCreator instanceof InternalFileContentProvider && parser instanceof AbstractGNUSourceCodeParser) {
+			((AbstractGNUSourceCodeParser) parser).setReusableFunctionBodies(
+					((InternalFileContentProvider) fileCreator).getReusableFunctionBodies());
+		}
 
 		// Make it possible to cancel parser by reconciler - http://bugs.eclipse.org/226682
 		ICanceler canceler = null;
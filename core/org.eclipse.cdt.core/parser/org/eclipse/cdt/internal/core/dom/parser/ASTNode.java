@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser;
 
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTNodeProperty;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.ExpansionOverlapsBoundaryException;
@@ -45,8 +46,27 @@ public abstract class ASTNode implements IASTNode {
 	 */
 	private int offset;
 	private int length;
-	private IASTNodeLocation[] locations;
-	private IASTFileLocation fileLocation;
+	/**
+	 * The cached locations of the node, either the {@link IASTFileLocation}, the array of
+	 * {@link IASTNodeLocation}s or both of them in {@link CachedLocations}. They share a field to
+	 * keep the nodes of large ASTs small. A single file location among the node locations is also
+	 * the mapped file location.
+	 */
+	private Object locationCache;
+
+	/**
+	 * The node locations and the file location of a node, the node locations of which are not
+	 * a single file location, e.g. because the node contains a macro expansion.
+	 */
+	private static final class CachedLocations {
+		final IASTNodeLocation[] nodeLocations;
+		final IASTFileLocation fileLocation;
+
+		CachedLocations(IASTNodeLocation[] nodeLocations, IASTFileLocation fileLocation) {
+			this.nodeLocations = nodeLocations;
+			this.fileLocation = fileLocation;
+		}
+	}
 
 	private boolean frozen = false;
 	private boolean active = true;
@@ -76,6 +96,19 @@ public abstract class ASTNode implements IASTNode {
 		frozen = true;
 	}
 
+	/**
+	 * Makes the given node and all of its descendants immutable.
+	 */
+	public static void freeze(IASTNode node) {
+		node.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode n) {
+				((ASTNode) n).setIsFrozen();
+				return PROCESS_CONTINUE;
+			}
+		});
+	}
+
 	public void setInactive() {
 		assertNotFrozen();
 		active = false;
@@ -113,21 +146,18 @@ public abstract class ASTNode implements IASTNode {
 
 	public void setOffset(int offset) {
 		this.offset = offset;
-		this.locations = null;
-		this.fileLocation = null;
+		this.locationCache = null;
 	}
 
 	public void setLength(int length) {
 		this.length = length;
-		this.locations = null;
-		this.fileLocation = null;
+		this.locationCache = null;
 	}
 
 	public void setOffsetAndLength(int offset, int length) {
 		this.offset = offset;
 		this.length = length;
-		this.locations = null;
-		this.fileLocation = null;
+		this.locationCache = null;
 	}
 
 	public void setOffsetAndLength(ASTNode node) {
@@ -136,22 +166,37 @@ public abstract class ASTNode implements IASTNode {
 
 	@Override
 	public IASTNodeLocation[] getNodeLocations() {
-		if (locations == null) {
-			if (length != 0) {
-				final IASTTranslationUnit tu = getTranslationUnit();
-				if (tu != null) {
-					ILocationResolver l = tu.getAdapter(ILocationResolver.class);
-					if (l != null) {
-						locations = l.getLocations(getOffset(), length);
-					}
+		final Object cache = locationCache;
+		if (cache instanceof IASTNodeLocation[])
+			return (IASTNodeLocation[]) cache;
+		if (cache instanceof CachedLocations)
+			return ((CachedLocations) cache).nodeLocations;
+
+		IASTNodeLocation[] locations = null;
+		if (length != 0) {
+			final IASTTranslationUnit tu = getTranslationUnit();
+			if (tu != null) {
+				ILocationResolver l = tu.getAdapter(ILocationResolver.class);
+				if (l != null) {
+					locations = l.getLocations(getOffset(), length);
 				}
 			}
-			if (locations == null)
-				locations = IASTNodeLocation.EMPTY_ARRAY;
+		}
+		if (locations == null)
+			locations = IASTNodeLocation.EMPTY_ARRAY;
+		if (cache instanceof IASTFileLocation && !isSingleFileLocation(locations)) {
+			locationCache = new CachedLocations(locations, (IASTFileLocation) cache);
+		} else {
+			// A cached file location is contained in a single file location.
+			locationCache = locations;
 		}
 		return locations;
 	}
 
+	private static boolean isSingleFileLocation(IASTNodeLocation[] locations) {
+		return locations.length == 1 && locations[0] instanceof IASTFileLocation;
+	}
+
 	public IASTImageLocation getImageLocation() {
 		final IASTTranslationUnit tu = getTranslationUnit();
 		if (tu != null) {
@@ -199,14 +244,23 @@ public abstract class ASTNode implements IASTNode {
 
 	@Override
 	public IASTFileLocation getFileLocation() {
-		if (fileLocation != null)
-			return fileLocation;
+		final Object cache = locationCache;
+		if (cache instanceof IASTFileLocation)
+			return (IASTFileLocation) cache;
+		if (cache instanceof CachedLocations)
+			return ((CachedLocations) cache).fileLocation;
+		if (cache instanceof IASTNodeLocation[]) {
+			IASTNodeLocation[] locations = (IASTNodeLocation[]) cache;
+			if (isSingleFileLocation(locations))
+				return (IASTFileLocation) locations[0];
+		}
 		final int offset = getOffset();
 		// Only an empty translation unit should have offset = 0 and length = 0.
 		// Otherwise these values mean the parser failed to set the offset and length.
 		if (offset < 0 || (offset == 0 && length == 0 && !(this instanceof IASTTranslationUnit))) {
 			return null;
 		}
+		IASTFileLocation fileLocation = null;
 		IASTTranslationUnit ast = getTranslationUnit();
 		if (ast != null) {
 			ILocationResolver lr = ast.getAdapter(ILocationResolver.class);
@@ -217,6 +271,13 @@ public abstract class ASTNode implements IASTNode {
 				fileLocation = ast.flattenLocationsToFile(getNodeLocations());
 			}
 		}
+		if (fileLocation != null) {
+			if (cache instanceof IASTNodeLocation[]) {
+				locationCache = new CachedLocations((IASTNodeLocation[]) cache, fileLocation);
+			} else {
+				locationCache = fileLocation;
+			}
+		}
 		return fileLocation;
 	}
 
@@ -386,7 +447,7 @@ public abstract class ASTNode implements IASTNode {
 	}
 
 	private void setCopyLocation(IASTNode originalNode) {
-		locations = new IASTNodeLocation[] { new ASTCopyLocation(originalNode) };
+		locationCache = new IASTNodeLocation[] { new ASTCopyLocation(originalNode) };
 	}
 
 	@Override
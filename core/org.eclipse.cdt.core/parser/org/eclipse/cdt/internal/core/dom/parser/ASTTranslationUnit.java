@@ -24,7 +24,6 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IName;
-import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTComment;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
@@ -476,13 +475,7 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 
 	@Override
 	public final void freeze() {
-		accept(new ASTGenericVisitor(true) {
-			@Override
-			protected int genericVisit(IASTNode node) {
-				((ASTNode) node).setIsFrozen();
-				return PROCESS_CONTINUE;
-			}
-		});
+		freeze(this);
 
 		if (IndexFileSet.sDEBUG && fIndexFileSet != null && fASTFileSet != null) {
 			long t = ((IndexFileSet) fIndexFileSet).getTimingContainsDeclarationNanos()
@@ -227,6 +227,7 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 
 	private final INodeFactory nodeFactory;
 	private boolean fActiveCode = true;
+	private ReusableFunctionBodies fReusableFunctionBodies;
 
 	protected AbstractGNUSourceCodeParser(IScanner scanner, IParserLogService logService, ParserMode parserMode,
 			INodeFactory nodeFactory, boolean supportStatementsInExpressions, boolean supportTypeOfUnaries,
@@ -253,6 +254,14 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		maximumTrivialExpressionsInAggregateInitializers = limit;
 	}
 
+	/**
+	 * Provides the function bodies of a previous AST of the file, which are reused instead of being
+	 * parsed where the file has not changed.
+	 */
+	public void setReusableFunctionBodies(ReusableFunctionBodies bodies) {
+		fReusableFunctionBodies = bodies;
+	}
+
 	private AbstractParserLogService wrapLogService(IParserLogService logService) {
 		if (logService instanceof AbstractParserLogService) {
 			return (AbstractParserLogService) logService;
@@ -1524,9 +1533,46 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		}
 
 		// full parse
+		if (fReusableFunctionBodies != null && scanner.isOnTopContext())
+			return reuseOrParseFunctionBody();
 		return functionBody();
 	}
 
+	private IASTCompoundStatement reuseOrParseFunctionBody() throws EndOfFileException, BacktrackException {
+		final ILocationResolver resolver = scanner.getLocationResolver();
+		final IToken first = LA(1);
+		final IASTFileLocation location = resolver.getMappedFileLocation(first.getOffset(), first.getLength());
+		if (location == null)
+			return functionBody();
+
+		final int fileOffset = location.getNodeOffset();
+		final IASTCompoundStatement previous = fReusableFunctionBodies.getBody(fileOffset);
+		if (previous != null) {
+			final IToken mark = mark();
+			try {
+				final IToken last = skipOverCompoundStatement(false);
+				if (last.getEndOffset() - first.getOffset() == ((ASTNode) previous).getLength()) {
+					IASTCompoundStatement body = fReusableFunctionBodies.copy(previous, first.getOffset());
+					if (body != null)
+						return body;
+				}
+			} catch (EndOfFileException e) {
+				// Parse the body to report the problem.
+			}
+			backup(mark);
+		}
+
+		final IASTCompoundStatement body = functionBody();
+		if (fReusableFunctionBodies.isEditedBody(fileOffset)) {
+			IASTFileLocation bodyLocation = resolver.getMappedFileLocation(first.getOffset(),
+					calculateEndOffset(body) - first.getOffset());
+			if (bodyLocation != null) {
+				fReusableFunctionBodies.editedBodyParsed(bodyLocation.getNodeOffset() + bodyLocation.getNodeLength());
+			}
+		}
+		return body;
+	}
+
 	/**
 	 * Parses a function body.
 	 *
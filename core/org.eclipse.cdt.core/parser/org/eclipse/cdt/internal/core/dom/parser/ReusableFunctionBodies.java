@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNode.CopyStyle;
+import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
+
+/**
+ * The function bodies of the AST of a previous version of a file, that can be reused when the file
+ * is parsed again after an edit confined to the body of a single function. The parser skips over
+ * the tokens of a reusable body and inserts a copy of the previous body, such that only the edited
+ * body is parsed and the ambiguities of the other bodies don't need to be resolved again.
+ * <p>
+ * The bodies are reused only if the AST was computed with the same scanner configuration, the same
+ * state of the index and the same contents of the included files, which is to be checked by the
+ * caller. The caller also needs exclusive access to the previous AST until the new one is parsed,
+ * since the bodies are copied while parsing. Bodies containing preprocessor directives or macro
+ * expansions are always parsed. Bindings are not reused, the names of the copied bodies are resolved
+ * against the new AST.
+ * <p>
+ * An edited body that changes the nesting of the code that follows, e.g. by an unbalanced brace or
+ * an unterminated comment, may cause subsequent bodies to be reused in a different context. Such
+ * an AST is detected by {@link #isConsistent()} after parsing, it needs to be discarded.
+ */
+public final class ReusableFunctionBodies {
+	/** The bodies that can be reused, by their offset in the previous version of the file */
+	private final Map<Integer, IASTCompoundStatement> fBodies = new HashMap<>();
+	private final int fEditOffset;
+	private final int fOldEditEndOffset;
+	private final int fNewEditEndOffset;
+	/** The range of the edited body in the new version of the file, or -1 */
+	private int fEditedBodyOffset = -1;
+	private int fEditedBodyEndOffset = -1;
+	private boolean fEditedBodyParsed;
+	private int fReusedCount;
+
+	private ReusableFunctionBodies(int editOffset, int oldEditEndOffset, int newEditEndOffset) {
+		fEditOffset = editOffset;
+		fOldEditEndOffset = oldEditEndOffset;
+		fNewEditEndOffset = newEditEndOffset;
+	}
+
+	/**
+	 * Determines the bodies of the given AST that can be reused for parsing the new contents of
+	 * its file.
+	 *
+	 * @param ast the AST of the previous version of the file
+	 * @param oldContents the contents the AST was computed from
+	 * @param newContents the contents of the file to be parsed
+	 * @return the reusable bodies, or {@code null} if the edit is not confined to a function body
+	 */
+	public static ReusableFunctionBodies create(IASTTranslationUnit ast, char[] oldContents, char[] newContents) {
+		final int maxCommon = Math.min(oldContents.length, newContents.length);
+		int prefix = 0;
+		while (prefix < maxCommon && oldContents[prefix] == newContents[prefix]) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < maxCommon - prefix
+				&& oldContents[oldContents.length - 1 - suffix] == newContents[newContents.length - 1 - suffix]) {
+			suffix++;
+		}
+		// Edits of preprocessor directives may change the expansion of the entire rest of the file.
+		if (contains(oldContents, prefix, oldContents.length - suffix, '#')
+				|| contains(newContents, prefix, newContents.length - suffix, '#')) {
+			return null;
+		}
+
+		final ReusableFunctionBodies result = new ReusableFunctionBodies(prefix, oldContents.length - suffix,
+				newContents.length - suffix);
+		final boolean isEdited = oldContents.length != newContents.length || prefix < oldContents.length;
+		final String filePath = ast.getFilePath();
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				if (declaration instanceof IASTFunctionDefinition) {
+					IASTFunctionDefinition definition = (IASTFunctionDefinition) declaration;
+					IASTStatement body = definition.getBody();
+					if (body instanceof IASTCompoundStatement) {
+						result.addBody(definition, (IASTCompoundStatement) body, filePath, oldContents);
+					}
+					// Nested declarations belong to the body.
+					return PROCESS_SKIP;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		if (isEdited && result.fEditedBodyOffset < 0)
+			return null;
+		return result;
+	}
+
+	private static boolean contains(char[] chars, int from, int to, char c) {
+		for (int i = from; i < to; i++) {
+			if (chars[i] == c)
+				return true;
+		}
+		return false;
+	}
+
+	private void addBody(IASTFunctionDefinition definition, IASTCompoundStatement body, String filePath,
+			char[] contents) {
+		IASTNodeLocation[] locations = body.getNodeLocations();
+		if (locations.length != 1 || !(locations[0] instanceof IASTFileLocation))
+			return;
+		IASTFileLocation location = (IASTFileLocation) locations[0];
+		if (!filePath.equals(location.getFileName()))
+			return;
+
+		final int offset = location.getNodeOffset();
+		final int endOffset = offset + location.getNodeLength();
+		if (offset < fEditOffset && fOldEditEndOffset < endOffset) {
+			// The edit is within the braces of this body.
+			if (!hasDeducedResult(definition)) {
+				fEditedBodyOffset = offset;
+				fEditedBodyEndOffset = endOffset + fNewEditEndOffset - fOldEditEndOffset;
+			}
+		} else if (endOffset <= fEditOffset || offset >= fOldEditEndOffset) {
+			if (!contains(contents, offset, endOffset, '#')) {
+				fBodies.put(offset, body);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the body of the function affects the types or values computed outside of it.
+	 */
+	public static boolean hasDeducedResult(IASTFunctionDefinition definition) {
+		IASTDeclSpecifier declSpec = definition.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			int type = ((IASTSimpleDeclSpecifier) declSpec).getType();
+			return type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the previous version of the body starting at the given offset of the new version of
+	 * the file, or {@code null} if the body cannot be reused.
+	 */
+	IASTCompoundStatement getBody(int fileOffset) {
+		if (fileOffset < fEditOffset)
+			return fBodies.get(fileOffset);
+		if (fileOffset >= fNewEditEndOffset)
+			return fBodies.get(fileOffset - fNewEditEndOffset + fOldEditEndOffset);
+		return null;
+	}
+
+	/**
+	 * Returns a copy of the given body for the new AST, with its nodes moved to the given sequence
+	 * number, or {@code null} if the body cannot be copied.
+	 */
+	IASTCompoundStatement copy(IASTCompoundStatement body, int sequenceNumber) {
+		final IASTCompoundStatement copy;
+		try {
+			copy = body.copy(CopyStyle.withoutLocations);
+		} catch (UnsupportedOperationException e) {
+			// The body contains an ambiguity that is resolved lazily.
+			return null;
+		}
+		final int delta = sequenceNumber - ((ASTNode) body).getOffset();
+		if (delta != 0) {
+			copy.accept(new ASTGenericVisitor(true) {
+				@Override
+				protected int genericVisit(IASTNode node) {
+					ASTNode astNode = (ASTNode) node;
+					astNode.setOffset(astNode.getOffset() + delta);
+					return PROCESS_CONTINUE;
+				}
+			});
+		}
+		fReusedCount++;
+		return copy;
+	}
+
+	/**
+	 * Returns whether the body starting at the given offset of the new version of the file is
+	 * the one containing the edit.
+	 */
+	boolean isEditedBody(int fileOffset) {
+		return fileOffset == fEditedBodyOffset;
+	}
+
+	/**
+	 * Reports the end offset of the edited body in the new version of the file.
+	 */
+	void editedBodyParsed(int fileEndOffset) {
+		fEditedBodyParsed = fileEndOffset == fEditedBodyEndOffset;
+	}
+
+	/**
+	 * Returns whether the edited body was parsed as a function body of the same extent, such that
+	 * the code following it was parsed in the same context as before. If not, the AST must not be
+	 * used.
+	 */
+	public boolean isConsistent() {
+		return fEditedBodyOffset < 0 || fEditedBodyParsed;
+	}
+
+	/**
+	 * Returns the number of bodies that were reused.
+	 */
+	public int getReusedCount() {
+		return fReusedCount;
+	}
+}
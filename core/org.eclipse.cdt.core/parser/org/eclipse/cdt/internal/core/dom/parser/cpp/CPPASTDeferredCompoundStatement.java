@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTImplicitDestructorName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IScope;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ExecCompoundStatement;
+
+/**
+ * A function body for which the parser has recorded the tokens instead of parsing them, see
+ * {@link GNUCPPSourceParser#setDeferFunctionBodies(boolean)}. The statements are parsed when they
+ * are accessed for the first time, the ambiguities are resolved right away.
+ */
+public class CPPASTDeferredCompoundStatement extends CPPASTCompoundStatement {
+	private volatile GNUCPPSourceParser fParser;
+	private IToken fFirstToken;
+	private char[] fClassName;
+	private boolean fParsing;
+	private IASTStatement[] fStatements = IASTStatement.EMPTY_STATEMENT_ARRAY;
+
+	CPPASTDeferredCompoundStatement(GNUCPPSourceParser parser, IToken firstToken, char[] className) {
+		fParser = parser;
+		fFirstToken = firstToken;
+		fClassName = className;
+	}
+
+	/**
+	 * Returns whether the statements of the body have been parsed.
+	 */
+	public boolean isParsed() {
+		return fParser == null;
+	}
+
+	private void parse() {
+		if (fParser == null)
+			return;
+		synchronized (this) {
+			final GNUCPPSourceParser parser = fParser;
+			// The body is accessed while its ambiguities are resolved.
+			if (parser == null || fParsing)
+				return;
+			final IASTCompoundStatement body = parser.parseDeferredFunctionBody(this, fFirstToken, fClassName);
+			if (body == null)
+				return;
+			fParsing = true;
+			try {
+				final IASTStatement[] statements = body.getStatements();
+				for (IASTStatement statement : statements) {
+					adopt(statement);
+				}
+				fStatements = statements;
+				((CPPASTTranslationUnit) getTranslationUnit()).resolveAmbiguities(this);
+				ASTNode.freeze(this);
+			} finally {
+				fParsing = false;
+				fParser = null;
+				fFirstToken = null;
+				fClassName = null;
+			}
+		}
+	}
+
+	private void adopt(IASTStatement statement) {
+		statement.setParent(this);
+		statement.setPropertyInParent(NESTED_STATEMENT);
+	}
+
+	@Override
+	public CPPASTCompoundStatement copy(CopyStyle style) {
+		CPPASTCompoundStatement copy = new CPPASTCompoundStatement();
+		for (IASTStatement statement : getStatements()) {
+			copy.addStatement(statement.copy(style));
+		}
+		return copy(copy, style);
+	}
+
+	@Override
+	public IASTStatement[] getStatements() {
+		parse();
+		return fStatements;
+	}
+
+	@Override
+	public void addStatement(IASTStatement statement) {
+		assertNotFrozen();
+		if (statement != null) {
+			fStatements = ArrayUtil.append(IASTStatement.class, fStatements, statement);
+			fStatements = ArrayUtil.trim(IASTStatement.class, fStatements);
+			adopt(statement);
+		}
+	}
+
+	@Override
+	public IScope getScope() {
+		parse();
+		return super.getScope();
+	}
+
+	@Override
+	public IASTImplicitDestructorName[] getImplicitDestructorNames() {
+		parse();
+		return super.getImplicitDestructorNames();
+	}
+
+	@Override
+	public boolean accept(ASTVisitor action) {
+		if (action.shouldVisitStatements) {
+			switch (action.visit(this)) {
+			case ASTVisitor.PROCESS_ABORT:
+				return false;
+			case ASTVisitor.PROCESS_SKIP:
+				return true;
+			default:
+				break;
+			}
+		}
+
+		if (!acceptByAttributeSpecifiers(action))
+			return false;
+		for (IASTStatement statement : getStatements()) {
+			if (!statement.accept(action))
+				return false;
+		}
+
+		if (action.shouldVisitImplicitDestructorNames && !acceptByNodes(getImplicitDestructorNames(), action))
+			return false;
+
+		if (action.shouldVisitStatements) {
+			switch (action.leave(this)) {
+			case ASTVisitor.PROCESS_ABORT:
+				return false;
+			case ASTVisitor.PROCESS_SKIP:
+				return true;
+			default:
+				break;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void replace(IASTNode child, IASTNode other) {
+		for (int i = 0; i < fStatements.length; ++i) {
+			if (fStatements[i] == child) {
+				other.setParent(this);
+				other.setPropertyInParent(child.getPropertyInParent());
+				fStatements[i] = (IASTStatement) other;
+				return;
+			}
+		}
+		super.replace(child, other);
+	}
+
+	@Override
+	public ICPPExecution getExecution() {
+		return new ExecCompoundStatement(getStatements());
+	}
+}
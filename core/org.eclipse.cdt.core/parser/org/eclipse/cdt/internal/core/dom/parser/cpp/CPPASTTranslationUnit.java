@@ -43,6 +43,7 @@ import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPInheritance.FinalOverriderMap;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
@@ -65,6 +66,11 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	// template definition, so we wouldn't want to double-cache those. (But we could e.g.
 	// cache instantiations of function types if we found it worthwhile.)
 	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = new HashMap<>();
+	// Results of calls to constexpr functions.
+	private final ConstexprCallCache fConstexprCallCache = new ConstexprCallCache();
+	// Function bodies whose parsing was deferred, and the ones that have been parsed since.
+	private int fDeferredFunctionBodyCount;
+	private int fParsedDeferredFunctionBodyCount;
 
 	public CPPASTTranslationUnit() {
 		fScopeMapper = new CPPScopeMapper(this);
@@ -250,6 +256,39 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		fAmbiguityResolver = null;
 	}
 
+	/**
+	 * Resolves the ambiguities of a function body that was parsed after the translation unit.
+	 */
+	void resolveAmbiguities(CPPASTDeferredCompoundStatement body) {
+		final CPPASTAmbiguityResolver outer = fAmbiguityResolver;
+		fAmbiguityResolver = new CPPASTAmbiguityResolver();
+		try {
+			body.accept(fAmbiguityResolver);
+			body.accept(new ProblemBindingClearer());
+		} finally {
+			fAmbiguityResolver = outer;
+		}
+		fParsedDeferredFunctionBodyCount++;
+	}
+
+	void deferredFunctionBodyCreated() {
+		fDeferredFunctionBodyCount++;
+	}
+
+	/**
+	 * Returns the number of function bodies that were not parsed together with the translation unit.
+	 */
+	public int getDeferredFunctionBodyCount() {
+		return fDeferredFunctionBodyCount;
+	}
+
+	/**
+	 * Returns the number of deferred function bodies that have been parsed on demand.
+	 */
+	public int getParsedDeferredFunctionBodyCount() {
+		return fParsedDeferredFunctionBodyCount;
+	}
+
 	@Override
 	protected IType createType(IASTTypeId typeid) {
 		return CPPVisitor.createType(typeid);
@@ -270,6 +309,10 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return fInstantiationCache;
 	}
 
+	public ConstexprCallCache getConstexprCallCache() {
+		return fConstexprCallCache;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fScopeMapper.recordPartialSpecialization(indexSpec, astSpec);
@@ -790,7 +790,7 @@ public class CPPFunction extends PlatformObject implements ICPPFunction, ICPPInt
 			return null;
 		if (getDefinition() == null) {
 			// Trigger a search for the function definition.
-			if (declarations != null && declarations[0] != null) {
+			if (declarations != null && declarations.length > 0 && declarations[0] != null) {
 				IASTTranslationUnit tu = declarations[0].getTranslationUnit();
 				if (tu != null) {
 					tu.getDefinitionsInAST(this);
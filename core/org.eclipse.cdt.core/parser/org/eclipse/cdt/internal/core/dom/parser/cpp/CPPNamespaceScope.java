@@ -16,6 +16,7 @@
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -65,7 +66,8 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 	private ICPPInternalNamespaceScope[] fInlineNamespaces;
 
 	// The set of names declared in this scope that are currently only visible to argument-dependent lookup.
-	private CharArraySet fVisibleToAdlOnly = new CharArraySet(0);
+	// Created on demand, most scopes don't have such names.
+	private CharArraySet fVisibleToAdlOnly;
 
 	public CPPNamespaceScope(IASTNode physicalNode) {
 		super(physicalNode);
@@ -83,16 +85,19 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 	public ICPPUsingDirective[] getUsingDirectives() {
 		initUsingDirectives();
 		populateCache();
+		if (fUsingDirectives.isEmpty())
+			return ICPPUsingDirective.EMPTY_ARRAY;
 		return fUsingDirectives.toArray(new ICPPUsingDirective[fUsingDirectives.size()]);
 	}
 
 	private void initUsingDirectives() {
 		if (fUsingDirectives == null) {
-			fUsingDirectives = new ArrayList<>(1);
+			// Most scopes, e.g. the ones of blocks, don't have any using directives.
+			fUsingDirectives = Collections.emptyList();
 			// Insert a using directive for every inline namespace found in the index.
 			for (ICPPInternalNamespaceScope inline : getIndexInlineNamespaces()) {
 				if (!(inline instanceof CPPNamespaceScope)) {
-					fUsingDirectives.add(new InlineNamespaceDirective(this, inline));
+					doAddUsingDirective(new InlineNamespaceDirective(this, inline));
 				}
 			}
 		}
@@ -101,6 +106,13 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 	@Override
 	public void addUsingDirective(ICPPUsingDirective directive) {
 		initUsingDirectives();
+		doAddUsingDirective(directive);
+	}
+
+	private void doAddUsingDirective(ICPPUsingDirective directive) {
+		if (fUsingDirectives.isEmpty()) {
+			fUsingDirectives = new ArrayList<>(1);
+		}
 		fUsingDirectives.add(directive);
 	}
 
@@ -166,8 +178,11 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 			return;
 		super.addName(name, adlOnly);
 		if (adlOnly) {
+			if (fVisibleToAdlOnly == null) {
+				fVisibleToAdlOnly = new CharArraySet(1);
+			}
 			fVisibleToAdlOnly.put(name.getLookupKey());
-		} else {
+		} else if (fVisibleToAdlOnly != null) {
 			fVisibleToAdlOnly.remove(name.getLookupKey());
 		}
 	}
@@ -177,7 +192,7 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 		if (lookup.isArgumentDependent()) {
 			return true;
 		}
-		return !fVisibleToAdlOnly.containsKey(lookup.getLookupKey());
+		return fVisibleToAdlOnly == null || !fVisibleToAdlOnly.containsKey(lookup.getLookupKey());
 	}
 
 	public boolean canDenoteNamespaceMember(ICPPASTQualifiedName name) {
@@ -186,6 +186,7 @@ import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguousStatement;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.BranchPoint;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.Variant;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
 
 /**
  * This is our implementation of the IParser interface, serving as a parser for
@@ -222,6 +223,9 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 
 	private Map<String, ContextSensitiveTokenType> fContextSensitiveTokens;
 
+	private boolean fDeferFunctionBodies;
+	private boolean fParsingTranslationUnit;
+
 	public GNUCPPSourceParser(IScanner scanner, ParserMode mode, IParserLogService log,
 			ICPPParserExtensionConfiguration config) {
 		this(scanner, mode, log, config, null);
@@ -254,6 +258,25 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		return (ICPPNodeFactory) super.getNodeFactory();
 	}
 
+	/**
+	 * Instructs the parser to record the tokens of function bodies instead of parsing them. A body
+	 * is parsed when it is accessed for the first time after the translation unit has been parsed.
+	 * The AST keeps a reference to the parser as long as it contains bodies that were not parsed.
+	 */
+	public void setDeferFunctionBodies(boolean defer) {
+		fDeferFunctionBodies = defer;
+	}
+
+	@Override
+	public IASTTranslationUnit parse() {
+		fParsingTranslationUnit = true;
+		try {
+			return super.parse();
+		} finally {
+			fParsingTranslationUnit = false;
+		}
+	}
+
 	private Map<String, ContextSensitiveTokenType> createContextSensitiveTokenMap(
 			ICPPParserExtensionConfiguration config) {
 		Map<String, ContextSensitiveTokenType> result = new HashMap<>();
@@ -3430,7 +3453,11 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		}
 
 		try {
-			IASTStatement body = handleFunctionBody();
+			IASTStatement body = null;
+			if (fDeferFunctionBodies && functionBodyCount == 0 && !hasDeducedResult(declSpec))
+				body = deferFunctionBody();
+			if (body == null)
+				body = handleFunctionBody();
 			fdef.setBody(body);
 			setRange(fdef, firstOffset, calculateEndOffset(body));
 		} catch (BacktrackException bt) {
@@ -5895,6 +5922,108 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		}
 	}
 
+	/**
+	 * Checks whether the body of the function affects the types or values computed outside of it,
+	 * in which case it is needed for resolving the ambiguities of the translation unit.
+	 */
+	private static boolean hasDeducedResult(IASTDeclSpecifier declSpec) {
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			int type = ((IASTSimpleDeclSpecifier) declSpec).getType();
+			return type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto;
+		}
+		return false;
+	}
+
+	/**
+	 * Skips over a function body and returns a placeholder holding a copy of its tokens, or
+	 * {@code null} if the body has to be parsed right away.
+	 */
+	private IASTCompoundStatement deferFunctionBody() throws EndOfFileException {
+		declarationMark = null;
+		if (mode != ParserMode.COMPLETE_PARSE || !isActiveCode() || LT(1) != IToken.tLBRACE)
+			return null;
+
+		final IToken first = mark();
+		IToken last;
+		try {
+			last = skipOverCompoundStatement(false);
+		} catch (BacktrackException | EndOfFileException e) {
+			backup(first);
+			return null;
+		}
+		IToken copy = copyTokens(first, last);
+		if (copy == null) {
+			backup(first);
+			return null;
+		}
+		CPPASTDeferredCompoundStatement body = new CPPASTDeferredCompoundStatement(this, copy, currentClassName);
+		setRange(body, first.getOffset(), last.getEndOffset());
+		((CPPASTTranslationUnit) translationUnit).deferredFunctionBodyCreated();
+		return body;
+	}
+
+	/**
+	 * Copies the tokens from first to last, such that the copy does not hold on to the tokens
+	 * following the body. Returns {@code null} if the tokens cannot be parsed separately.
+	 */
+	private static IToken copyTokens(IToken first, IToken last) {
+		Token result = null;
+		Token prev = null;
+		for (IToken t = first;; t = t.getNext()) {
+			if (!(t instanceof Token))
+				return null;
+			switch (t.getType()) {
+			case IToken.tINACTIVE_CODE_START:
+			case IToken.tINACTIVE_CODE_SEPARATOR:
+			case IToken.tINACTIVE_CODE_END:
+				return null;
+			}
+			Token copy = ((Token) t).clone();
+			if (prev == null) {
+				result = copy;
+			} else {
+				prev.setNext(copy);
+			}
+			prev = copy;
+			if (t == last)
+				break;
+		}
+		prev.setNext(null);
+		return result;
+	}
+
+	/**
+	 * Parses the tokens of a function body deferred by {@link #deferFunctionBody()}, or returns
+	 * {@code null} if the translation unit is still being parsed.
+	 */
+	synchronized IASTCompoundStatement parseDeferredFunctionBody(CPPASTDeferredCompoundStatement placeholder,
+			IToken first, char[] className) {
+		if (fParsingTranslationUnit)
+			return null;
+
+		translationUnit = (ICPPASTTranslationUnit) placeholder.getTranslationUnit();
+		currentClassName = className;
+		declarationMark = null;
+		nextToken = first;
+		try {
+			return functionBody();
+		} catch (BacktrackException bt) {
+			IASTNode n = bt.getNodeBeforeProblem();
+			if (n instanceof IASTCompoundStatement)
+				return (IASTCompoundStatement) n;
+		} catch (EndOfFileException e) {
+			// The tokens of the body are balanced, this cannot happen.
+		} finally {
+			translationUnit = null;
+			currentClassName = null;
+			declarationMark = null;
+			nextToken = null;
+		}
+		return getNodeFactory().newCompoundStatement();
+	}
+
 	protected IASTStatement parseSwitchStatement() throws EndOfFileException, BacktrackException {
 		int startOffset;
 		startOffset = consume().getOffset();
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
+
+/**
+ * Results of calls to constexpr functions evaluated in a translation unit, keyed by the function
+ * and the signatures of the arguments. Without the cache a function called with the same arguments
+ * from several places, or recursively, has its body executed for each call, which also counts
+ * against the step budget of the evaluation
+ * (see {@link ConstexprEvaluationContext#MAX_CONSTEXPR_EVALUATION_STEPS}).
+ * <p>
+ * Only calls that cannot modify the state of the caller are cached, i.e. calls of functions that are
+ * not non-static methods and take no parameters by reference or by pointer. The cache also keeps
+ * statistics about the constexpr evaluations of the translation unit.
+ */
+public final class ConstexprCallCache {
+	static final class Key {
+		final ICPPFunction fFunction;
+		final char[] fArguments;
+		final int fHashCode;
+
+		Key(ICPPFunction function, char[] arguments) {
+			fFunction = function;
+			fArguments = arguments;
+			fHashCode = 31 * function.hashCode() + Arrays.hashCode(arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fFunction.equals(other.fFunction) && Arrays.equals(fArguments, other.fArguments);
+		}
+	}
+
+	private final Map<Key, ICPPEvaluation> fResults = new HashMap<>();
+	private long fHits;
+	private long fMisses;
+	private long fEvaluationCount;
+	private long fEvaluationSteps;
+	private long fBudgetExceededCount;
+
+	/**
+	 * Returns the cache of the translation unit of the current lookup point, or {@code null}.
+	 */
+	static ConstexprCallCache getCurrent() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCallCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the steps performed by a constexpr evaluation that has completed to the statistics of
+	 * the current translation unit.
+	 */
+	static void recordEvaluation(ConstexprEvaluationContext context) {
+		ConstexprCallCache cache = getCurrent();
+		if (cache != null) {
+			cache.fEvaluationCount++;
+			cache.fEvaluationSteps += context.getStepsPerformed();
+			if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+				cache.fBudgetExceededCount++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the key for a call of the given function, or {@code null} if the call cannot be cached.
+	 *
+	 * @param arguments the arguments of the call, starting at index 1
+	 */
+	static Key getKey(ICPPFunction function, ICPPEvaluation[] arguments) {
+		StringBuilder buf = new StringBuilder();
+		for (int i = 1; i < arguments.length; i++) {
+			char[] signature = arguments[i].getSignature();
+			if (signature.length == 1 && signature[0] == '?')
+				return null;
+			buf.append(signature).append(',');
+		}
+		char[] chars = new char[buf.length()];
+		buf.getChars(0, chars.length, chars, 0);
+		return new Key(function, chars);
+	}
+
+	ICPPEvaluation get(Key key) {
+		ICPPEvaluation result = fResults.get(key);
+		if (result != null) {
+			fHits++;
+		} else {
+			fMisses++;
+		}
+		return result;
+	}
+
+	void put(Key key, ICPPEvaluation result) {
+		fResults.put(key, result);
+	}
+
+	public void clear() {
+		fResults.clear();
+	}
+
+	/**
+	 * Returns the number of calls whose result was taken from the cache.
+	 */
+	public long getHits() {
+		return fHits;
+	}
+
+	public long getMisses() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the number of constexpr evaluations performed in the translation unit.
+	 */
+	public long getEvaluationCount() {
+		return fEvaluationCount;
+	}
+
+	/**
+	 * Returns the total number of steps of the constexpr evaluations performed in the translation unit.
+	 */
+	public long getEvaluationSteps() {
+		return fEvaluationSteps;
+	}
+
+	/**
+	 * Returns the number of constexpr evaluations that were aborted because they exceeded the step budget.
+	 */
+	public long getBudgetExceededCount() {
+		return fBudgetExceededCount;
+	}
+}
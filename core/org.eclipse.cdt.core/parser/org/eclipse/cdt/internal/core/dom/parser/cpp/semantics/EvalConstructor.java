@@ -141,7 +141,9 @@ public final class EvalConstructor extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation computed = computeForFunctionCall(new ActivationRecord(), new ConstexprEvaluationContext());
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+		ICPPEvaluation computed = computeForFunctionCall(new ActivationRecord(), context);
+		ConstexprCallCache.recordEvaluation(context);
 		if (computed == this)
 			return IntegralValue.ERROR;
 
@@ -187,7 +187,9 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation eval = evaluateFunctionBody(new ConstexprEvaluationContext());
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+		ICPPEvaluation eval = evaluateFunctionBody(context);
+		ConstexprCallCache.recordEvaluation(context);
 		if (eval == this) {
 			return DependentValue.create(eval);
 		}
@@ -348,6 +350,47 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		ConstexprCallCache cache = null;
+		ConstexprCallCache.Key key = null;
+		if (isCacheable(function)) {
+			cache = ConstexprCallCache.getCurrent();
+			if (cache != null) {
+				key = ConstexprCallCache.getKey(function, fArguments);
+				if (key != null) {
+					ICPPEvaluation result = cache.get(key);
+					if (result != null)
+						return copy(result);
+				}
+			}
+		}
+
+		ICPPEvaluation result = evaluateFunctionBody(function, context);
+		if (key != null && result instanceof EvalFixed && result != EvalFixed.INCOMPLETE) {
+			cache.put(key, copy(result));
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether the result of a call of the given function depends on nothing but the values
+	 * of the arguments, i.e. the function can neither modify the object it is called on nor the
+	 * variables of the caller.
+	 */
+	private boolean isCacheable(ICPPFunction function) {
+		if (function instanceof ICPPMethod && !((ICPPMethod) function).isStatic())
+			return false;
+		for (ICPPParameter parameter : function.getParameters()) {
+			if (isReference(parameter))
+				return false;
+		}
+		return true;
+	}
+
+	private static ICPPEvaluation copy(ICPPEvaluation eval) {
+		return new EvalFixed(eval.getType(), eval.getValueCategory(), eval.getValue().clone());
+	}
+
+	private ICPPEvaluation evaluateFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
@@ -160,8 +160,9 @@ public class EvalTypeId extends CPPDependentEvaluation {
 			} else if (ctor instanceof ICPPConstructor) {
 				EvalConstructor evalCtor = new EvalConstructor(classType, (ICPPConstructor) ctor, fArguments,
 						getTemplateDefinition());
-				ICPPEvaluation computedEvalCtor = evalCtor.computeForFunctionCall(new ActivationRecord(),
-						new ConstexprEvaluationContext());
+				ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+				ICPPEvaluation computedEvalCtor = evalCtor.computeForFunctionCall(new ActivationRecord(), context);
+				ConstexprCallCache.recordEvaluation(context);
 				return computedEvalCtor.getValue();
 			} else {
 				return IntegralValue.ERROR;
@@ -183,7 +183,9 @@ public class EvalUtil {
 				ExecDeclarator declaratorExec = new ExecDeclarator(variable, initializerEval);
 
 				ConstexprEvaluationContext context = new ConstexprEvaluationContext();
-				if (declaratorExec.executeForFunctionCall(record, context) != ExecIncomplete.INSTANCE) {
+				ICPPExecution exec = declaratorExec.executeForFunctionCall(record, context);
+				ConstexprCallCache.recordEvaluation(context);
+				if (exec != ExecIncomplete.INSTANCE) {
 					valueEval = record.getVariable(declaratorExec.getDeclaredBinding());
 				}
 			} else if (initialValue != null) {
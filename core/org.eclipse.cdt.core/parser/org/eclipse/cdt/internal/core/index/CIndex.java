@@ -27,6 +27,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -54,6 +61,7 @@ import org.eclipse.cdt.internal.core.index.composite.cpp.CPPCompositesFactory;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
 public class CIndex implements IIndex {
@@ -63,9 +71,56 @@ public class CIndex implements IIndex {
 	 */
 	private static final boolean SPECIALCASE_SINGLES = true;
 
+	/**
+	 * If this property is set, the fragments of an index are queried concurrently by the methods
+	 * searching for bindings by name, prefix or pattern.
+	 */
+	private static final boolean PARALLEL_FRAGMENT_QUERIES = Boolean
+			.getBoolean("org.eclipse.cdt.core.index.parallelFragmentQueries"); //$NON-NLS-1$
+	/**
+	 * The number of bindings after which the search for content assist proposals skips the
+	 * remaining fragments, or 0 for no limit.
+	 */
+	private static final int CONTENT_ASSIST_LIMIT = Integer
+			.getInteger("org.eclipse.cdt.core.index.contentAssistLimit", 0); //$NON-NLS-1$
+
+	private static ExecutorService sQueryExecutor;
+
+	/**
+	 * A query of a single fragment.
+	 */
+	private interface FragmentQuery {
+		IBinding[] run(IIndexFragment fragment, IndexFilter filter, IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * Monitor for the queries of the fragments, allows to cancel the remaining queries once
+	 * enough bindings have been found. May be used by multiple threads.
+	 */
+	private static class FragmentQueryMonitor extends NullProgressMonitor {
+		private final IProgressMonitor fParent;
+		private volatile boolean fCanceled;
+
+		FragmentQueryMonitor(IProgressMonitor parent) {
+			fParent = parent;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled || (fParent != null && fParent.isCanceled());
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled = canceled;
+		}
+	}
+
 	private final IIndexFragment[] fFragments;
 	private int fReadLock;
 	private ICompositesFactory cppCF, cCF, fCF;
+	private boolean fParallelQueries = PARALLEL_FRAGMENT_QUERIES;
+	private int fContentAssistLimit = CONTENT_ASSIST_LIMIT;
 
 	/**
 	 * Creates an index consisting of one or more fragments.
@@ -108,27 +163,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(patterns, isFullyQualified, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(patterns, isFullyQualified,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findBindings((fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindings(patterns,
+					isFullyQualified, fragmentFilter, fragmentMonitor), filter, 0, monitor);
 		}
 	}
 
@@ -514,6 +550,176 @@ public class CIndex implements IIndex {
 	 * Non-API
 	 */
 
+	/**
+	 * Enables or disables querying the fragments of this index concurrently.
+	 */
+	public void setParallelFragmentQueries(boolean parallel) {
+		fParallelQueries = parallel;
+	}
+
+	/**
+	 * Sets the number of bindings after which the search for content assist proposals skips
+	 * the remaining fragments, 0 disables the limit.
+	 */
+	public void setContentAssistLimit(int limit) {
+		fContentAssistLimit = limit;
+	}
+
+	private IIndexBinding[] findBindings(FragmentQuery query, IndexFilter filter, int limit,
+			IProgressMonitor monitor) {
+		List<IIndexBinding[]> result = new ArrayList<>();
+		ILinkage[] linkages = Linkage.getIndexerLinkages();
+		for (ILinkage linkage : linkages) {
+			if (filter.acceptLinkage(linkage)) {
+				IIndexFragmentBinding[][] fragmentBindings = fParallelQueries && fFragments.length > 1
+						? queryFragmentsInParallel(query, retargetFilter(linkage, filter), limit, monitor)
+						: queryFragments(query, retargetFilter(linkage, filter), limit, monitor);
+				ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
+				result.add(factory.getCompositeBindings(fragmentBindings));
+			}
+		}
+		return flatten(result);
+	}
+
+	private IIndexFragmentBinding[][] queryFragments(FragmentQuery query, IndexFilter filter, int limit,
+			IProgressMonitor monitor) {
+		IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+		int count = 0;
+		for (int i = 0; i < fFragments.length; i++) {
+			if (limit > 0 && count >= limit) {
+				fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+			} else {
+				fragmentBindings[i] = queryFragment(query, fFragments[i], filter, monitor);
+				count += fragmentBindings[i].length;
+			}
+		}
+		return fragmentBindings;
+	}
+
+	/**
+	 * Queries the fragments concurrently. The fragments are read by the worker threads under the read
+	 * lock held by the caller, the method returns or throws only after all workers are done. The
+	 * results are the same as the ones of {@link #queryFragments}, fragments are skipped when the
+	 * preceding fragments provide enough bindings.
+	 */
+	private IIndexFragmentBinding[][] queryFragmentsInParallel(FragmentQuery query, IndexFilter filter, int limit,
+			IProgressMonitor monitor) {
+		final FragmentQueryMonitor queryMonitor = new FragmentQueryMonitor(monitor);
+		List<Future<IIndexFragmentBinding[]>> workers = new ArrayList<>(fFragments.length - 1);
+		for (int i = 1; i < fFragments.length; i++) {
+			final IIndexFragment fragment = fFragments[i];
+			workers.add(getQueryExecutor().submit(() -> queryFragment(query, fragment, filter, queryMonitor)));
+		}
+
+		// The first fragment is queried by the calling thread.
+		IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+		OperationCanceledException canceled = null;
+		try {
+			fragmentBindings[0] = queryFragment(query, fFragments[0], filter, queryMonitor);
+		} catch (OperationCanceledException e) {
+			// The workers have to finish before the cancellation is propagated.
+			canceled = e;
+			queryMonitor.setCanceled(true);
+			fragmentBindings[0] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+		} finally {
+			if (fragmentBindings[0] == null) {
+				// The query failed, the workers are stopped and have to finish before the exception is
+				// propagated, since the caller releases its read lock afterwards.
+				queryMonitor.setCanceled(true);
+				waitFor(workers);
+			}
+		}
+		int count = fragmentBindings[0].length;
+		boolean interrupted = false;
+		for (int i = 1; i < fFragments.length; i++) {
+			final boolean skip = limit > 0 && count >= limit;
+			if (skip) {
+				queryMonitor.setCanceled(true);
+			}
+			IIndexFragmentBinding[] part = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+			while (true) {
+				try {
+					part = workers.get(i - 1).get();
+					break;
+				} catch (InterruptedException e) {
+					// The workers are reading from the index, they have to finish before the caller
+					// can release its read lock.
+					interrupted = true;
+					queryMonitor.setCanceled(true);
+				} catch (ExecutionException e) {
+					if (!(e.getCause() instanceof OperationCanceledException)) {
+						CCorePlugin.log(e.getCause());
+					} else if (canceled == null && monitor != null && monitor.isCanceled()) {
+						// Workers that are stopped by this method are not a cancellation of the query.
+						canceled = (OperationCanceledException) e.getCause();
+						queryMonitor.setCanceled(true);
+					}
+					break;
+				}
+			}
+			fragmentBindings[i] = skip ? IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY : part;
+			count += fragmentBindings[i].length;
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (canceled != null) {
+			throw canceled;
+		}
+		return fragmentBindings;
+	}
+
+	private static void waitFor(List<Future<IIndexFragmentBinding[]>> workers) {
+		boolean interrupted = false;
+		for (Future<IIndexFragmentBinding[]> worker : workers) {
+			while (true) {
+				try {
+					worker.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if (!(e.getCause() instanceof OperationCanceledException)) {
+						CCorePlugin.log(e.getCause());
+					}
+					break;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static IIndexFragmentBinding[] queryFragment(FragmentQuery query, IIndexFragment fragment,
+			IndexFilter filter, IProgressMonitor monitor) {
+		try {
+			IBinding[] part = query.run(fragment, filter, monitor);
+			IIndexFragmentBinding[] result = new IIndexFragmentBinding[part.length];
+			System.arraycopy(part, 0, result, 0, part.length);
+			return result;
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+			return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+		}
+	}
+
+	private static synchronized ExecutorService getQueryExecutor() {
+		if (sQueryExecutor == null) {
+			final AtomicInteger threadNumber = new AtomicInteger();
+			final int threads = Runtime.getRuntime().availableProcessors();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), r -> {
+						Thread thread = new Thread(r, "C/C++ Index Query " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			sQueryExecutor = executor;
+		}
+		return sQueryExecutor;
+	}
+
 	private IIndexBinding[] flatten(List<IIndexBinding[]> bindingArrays) {
 		int size = 0;
 		for (int i = 0; i < bindingArrays.size(); i++) {
@@ -589,27 +795,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForPrefix(prefix, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForPrefix(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findBindings((fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindingsForPrefix(prefix,
+					filescope, fragmentFilter, fragmentMonitor), filter, 0, monitor);
 		}
 	}
 
@@ -619,27 +806,9 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForContentAssist(prefix, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForContentAssist(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findBindings((fragment, fragmentFilter, fragmentMonitor) -> fragment
+					.findBindingsForContentAssist(prefix, filescope, fragmentFilter, fragmentMonitor), filter,
+					fContentAssistLimit, monitor);
 		}
 	}
 
@@ -649,27 +818,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(name, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(name, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findBindings((fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindings(name, filescope,
+					fragmentFilter, fragmentMonitor), filter, 0, monitor);
 		}
 	}
 
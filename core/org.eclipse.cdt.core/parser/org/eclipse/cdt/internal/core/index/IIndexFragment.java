@@ -66,6 +66,11 @@ public interface IIndexFragment {
 	final int FIND_ALL_OCCURRENCES = IIndex.FIND_ALL_OCCURRENCES;
 
 	final int FIND_NON_LOCAL_ONLY = 0x10000;
+	/**
+	 * Constant to restrict a search to the names of base classes in base specifiers. Combined with
+	 * {@link #FIND_REFERENCES}, finds the base specifiers naming a class, i.e. its direct subclasses.
+	 */
+	final int FIND_BASE_SPECIFIERS_ONLY = 0x20000;
 	/**
 	 * Property key for the fragment ID. The fragment ID should uniquely identify the fragments
 	 * usage within a logical index.
@@ -220,7 +225,10 @@ public interface IIndexFragment {
 	 * references, declarations or definitions, or a combination of those.
 	 * @param binding a binding for which names are searched for
 	 * @param flags a combination of {@link #FIND_DECLARATIONS}, {@link #FIND_DEFINITIONS},
-	 *     {@link #FIND_REFERENCES}, {@link #FIND_NON_LOCAL_ONLY}, and {@link #FIND_POTENTIAL_MATCHES}.
+	 *     {@link #FIND_REFERENCES}, {@link #FIND_NON_LOCAL_ONLY}, {@link #FIND_POTENTIAL_MATCHES},
+	 *     and {@link #FIND_BASE_SPECIFIERS_ONLY}. Only the PDOM restricts the references to base
+	 *     specifiers, other fragments ignore {@link #FIND_BASE_SPECIFIERS_ONLY} and return all of
+	 *     them, so callers still have to check {@link IIndexFragmentName#isBaseSpecifier()}.
 	 * @return an array of names
 	 * @throws CoreException
 	 */
@@ -39,6 +39,7 @@ import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
+import org.eclipse.cdt.internal.core.parser.scanner.IndexMacroCache;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.FileVersion;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.InclusionKind;
@@ -61,6 +62,7 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 	private final InternalFileContentProvider fFallBackFactory;
 	private final ASTFilePathResolver fPathResolver;
 	private final AbstractIndexerTask fRelatedIndexerTask;
+	private final IndexMacroCache fIndexMacroCache;
 	private long fFileSizeLimit = 0;
 	private IIndexFile[] fContextToHeaderGap;
 	private final Map<IIndexFileLocation, IFileNomination> fPragmaOnce = new HashMap<>();
@@ -80,6 +82,8 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 		fPathResolver = pathResolver;
 		fRelatedIndexerTask = relatedIndexerTask;
 		fLinkage = linkage;
+		// The indexer parses the translation units one after another with the same provider.
+		fIndexMacroCache = relatedIndexerTask != null ? new IndexMacroCache() : null;
 	}
 
 	public void setContextToHeaderGap(IIndexFile[] ctxToHeader) {
@@ -313,6 +317,11 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 		return null;
 	}
 
+	@Override
+	public IndexMacroCache getIndexMacroCache() {
+		return fIndexMacroCache;
+	}
+
 	public void setHeadersToIndexAllVersions(Set<String> headers) {
 		fHeadersToIndexAllVersions = headers;
 	}
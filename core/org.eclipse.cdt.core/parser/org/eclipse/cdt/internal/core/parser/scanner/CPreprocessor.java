@@ -279,6 +279,8 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	final private CharArrayIntMap fKeywords;
 	final private CharArrayIntMap fPPKeywords;
 	private final IncludeSearchPath fIncludeSearchPath;
+	private final LexerTokenCache fTokenCache = LexerTokenCache.getSharedInstance();
+	private final IndexMacroCache fIndexMacroCache;
 	private String[][] fPreIncludedFiles = null;
 
 	private int fContentAssistLimit = -1;
@@ -356,6 +358,10 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		if (fMacroDictionary.containsKey(CPP_IMPL_THREE_WAY_COMPARISON)) {
 			fLexOptions.fSupportThreeWayComparisonOperator = true;
 		}
+		fIndexMacroCache = fFileContentProvider.getIndexMacroCache();
+		if (fIndexMacroCache != null) {
+			fIndexMacroCache.setLexerOptions(fLexOptions);
+		}
 
 		ILocationCtx ctx = fLocationMap.pushTranslationUnit(fRootContent.getFileLocation(), fRootContent.getSource());
 		Lexer lexer = new Lexer(fRootContent.getSource(), fLexOptions, this, this);
@@ -1440,20 +1446,32 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		return buffer.toString();
 	}
 
-	private void addMacroDefinition(IIndexMacro macro) {
+	/**
+	 * Adds or removes a macro definition from the index, returns the name of the macro.
+	 */
+	private char[] addMacroDefinition(IIndexMacro macro) {
 		try {
 			final char[] expansionImage = macro.getExpansionImage();
 			if (expansionImage == null) {
 				// this is an undef
-				fMacroDictionary.remove(macro.getNameCharArray());
-			} else {
-				PreprocessorMacro result = MacroDefinitionParser.parseMacroDefinition(macro.getNameCharArray(),
+				final char[] name = macro.getNameCharArray();
+				fMacroDictionary.remove(name);
+				return name;
+			}
+			PreprocessorMacro result = fIndexMacroCache != null ? fIndexMacroCache.get(macro) : null;
+			if (result == null) {
+				result = MacroDefinitionParser.parseMacroDefinition(macro.getNameCharArray(),
 						macro.getParameterList(), expansionImage);
-				fLocationMap.registerMacroFromIndex(result, macro.getDefinition(), -1);
-				fMacroDictionary.put(result.getNameCharArray(), result);
+				if (fIndexMacroCache != null) {
+					fIndexMacroCache.put(macro, result);
+				}
 			}
+			fLocationMap.registerMacroFromIndex(result, macro.getDefinition(), -1);
+			fMacroDictionary.put(result.getNameCharArray(), result);
+			return result.getNameCharArray();
 		} catch (Exception e) {
 			fLog.traceLog("Invalid macro definition: '" + macro.getName() + "'"); //$NON-NLS-1$//$NON-NLS-2$
+			return null;
 		}
 	}
 
@@ -1778,8 +1796,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			if (source != null) {
 				ILocationCtx ctx = fLocationMap.pushInclusion(poundOffset, nameOffsets[0], nameOffsets[1],
 						condEndOffset, source, path, headerName, userInclude, isHeuristic, fi.isSource());
-				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext,
-						new Lexer(source, fLexOptions, this, this));
+				Lexer includedLexer = new Lexer(source, fLexOptions, this, this);
+				includedLexer.setTokenCache(fTokenCache);
+				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext, includedLexer);
 				fctx.setFoundOnPath(fi.getFoundOnPath(), includeDirective);
 				detectIncludeGuard(path, source, fctx);
 				fCurrentContext = fctx;
@@ -1824,9 +1843,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	private void processInclusionFromIndex(int offset, InternalFileContent fi, boolean updateContext) {
 		List<IIndexMacro> mdefs = fi.getMacroDefinitions();
 		for (IIndexMacro macro : mdefs) {
-			addMacroDefinition(macro);
+			char[] name = addMacroDefinition(macro);
 			if (updateContext)
-				fCurrentContext.internalModification(macro.getNameCharArray());
+				fCurrentContext.internalModification(name != null ? name : macro.getNameCharArray());
 		}
 		for (FileVersion version : fi.getNonPragmaOnceVersions()) {
 			fFileContentProvider.addLoadedVersions(version.fPath, Integer.MAX_VALUE, version.fSigMacros);
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.Map;
+
+import org.eclipse.cdt.core.index.IIndexMacro;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+
+/**
+ * Snapshot of the macro definitions the preprocessor has read from the index. Translation units
+ * typically start with the same headers, when they are found in the index the preprocessor adds
+ * the macros defined in them to its dictionary. With the cache the macros are parsed once and
+ * shared by the translation units parsed one after another, including the tokens of their
+ * expansions, which are computed on the first expansion of a macro.
+ * <p>
+ * The macros are keyed by the objects of the index, they are reused as long as the indexer
+ * caches the content of the files they are defined in. The cache is not thread-safe, it must be
+ * used by one preprocessor at a time.
+ */
+public final class IndexMacroCache {
+	private static final int MAX_SIZE = 50000;
+
+	private final Map<IIndexMacro, PreprocessorMacro> fMacros = new LRUCache<>(MAX_SIZE);
+	private int fTokenOptionBits = -1;
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * Prepares the cache for a translation unit parsed with the given options. The expansions of
+	 * cached macros depend on the options, the cache is cleared when they change.
+	 */
+	void setLexerOptions(LexerOptions options) {
+		final int bits = options.getTokenOptionBits();
+		if (bits != fTokenOptionBits) {
+			fMacros.clear();
+			fTokenOptionBits = bits;
+		}
+	}
+
+	/**
+	 * Returns the macro for the given definition from the index, or {@code null} if it is not cached.
+	 */
+	PreprocessorMacro get(IIndexMacro macro) {
+		PreprocessorMacro result = fMacros.get(macro);
+		if (result != null) {
+			fHits++;
+		} else {
+			fMisses++;
+		}
+		return result;
+	}
+
+	void put(IIndexMacro macro, PreprocessorMacro result) {
+		fMacros.put(macro, result);
+	}
+
+	public void clear() {
+		fMacros.clear();
+	}
+
+	public long getHits() {
+		return fHits;
+	}
+
+	public long getMisses() {
+		return fMisses;
+	}
+}
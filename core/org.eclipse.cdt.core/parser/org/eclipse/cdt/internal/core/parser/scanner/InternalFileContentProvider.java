@@ -29,6 +29,7 @@ import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.InclusionKind;
@@ -54,6 +55,7 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 	private IIncludeFileResolutionHeuristics fIncludeResolutionHeuristics;
 	private final Map<String, IFileNomination> fPragmaOnce = new HashMap<>();
 	private final Map<String, List<ISignificantMacros>> fLoadedVersions = new HashMap<>();
+	private ReusableFunctionBodies fReusableFunctionBodies;
 
 	/**
 	 * Checks whether the specified inclusion exists.
@@ -168,4 +170,24 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 	public boolean shouldIndexAllHeaderVersions(String headerFileName) {
 		return false;
 	}
+
+	/**
+	 * Returns the function bodies of a previous AST of the file to be parsed that can be reused by
+	 * the parser, or {@code null}.
+	 */
+	public ReusableFunctionBodies getReusableFunctionBodies() {
+		return fReusableFunctionBodies;
+	}
+
+	public void setReusableFunctionBodies(ReusableFunctionBodies bodies) {
+		fReusableFunctionBodies = bodies;
+	}
+
+	/**
+	 * Returns a cache for the macro definitions the preprocessor reads from the index, or
+	 * {@code null} if the provider is not used for translation units parsed one after another.
+	 */
+	public IndexMacroCache getIndexMacroCache() {
+		return null;
+	}
 }
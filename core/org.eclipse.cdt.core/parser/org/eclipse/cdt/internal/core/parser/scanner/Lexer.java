@@ -74,12 +74,38 @@ final public class Lexer implements ITokenSequence {
 				return null;
 			}
 		}
+
+		/**
+		 * Returns a bit set of the options that affect the tokens computed by the lexer.
+		 */
+		int getTokenOptionBits() {
+			int bits = 0;
+			if (fSupportDollarInIdentifiers)
+				bits |= 1;
+			if (fSupportAtSignInIdentifiers)
+				bits |= 2;
+			if (fSupportMinAndMax)
+				bits |= 4;
+			if (fSupportSlashPercentComments)
+				bits |= 8;
+			if (fSupportUTFLiterals)
+				bits |= 16;
+			if (fSupportRawStringLiterals)
+				bits |= 32;
+			if (fSupportUserDefinedLiterals)
+				bits |= 64;
+			if (fSupportDigitSeparators)
+				bits |= 128;
+			if (fSupportThreeWayComparisonOperator)
+				bits |= 256;
+			return bits;
+		}
 	}
 
 	// configuration
 	private final LexerOptions fOptions;
 	private boolean fSupportContentAssist = false;
-	private final ILexerLog fLog;
+	private ILexerLog fLog;
 	private final Object fSource;
 
 	// the input to the lexer
@@ -111,6 +137,28 @@ final public class Lexer implements ITokenSequence {
 	private boolean fMarkInsideIncludeDirective;
 	private Token fMarkToken;
 	private Token fMarkLastToken;
+	private boolean fMarkReplaying;
+	private int fMarkReplayIndex;
+	private int fMarkReplayEvent;
+
+	// Tokens replayed from or recorded into a cache, see setTokenCache().
+	private LexerTokenCache fTokenCache;
+	private LexerTokenCache.Recording fRecording;
+	private LexerTokenCache.Entry fReplay;
+	private boolean fReplaying;
+	private int fReplayIndex;
+	private int fReplayEvent;
+
+	// Tokens that are skipped by nextDirective() and consumeLine() are not allocated, see skippedToken().
+	private boolean fSkipping;
+	private Token[] fSkippedTokens;
+	private int fSkippedTokenIndex;
+
+	// Images of identifiers, shared between the lexers of a thread, see getIdentifierImage().
+	private static final int IMAGE_POOL_SIZE = 4096;
+	private static final ThreadLocal<char[][]> sImagePool = ThreadLocal
+			.withInitial(() -> new char[IMAGE_POOL_SIZE][]);
+	private char[][] fImagePool;
 
 	public Lexer(char[] input, LexerOptions options, ILexerLog log, Object source) {
 		this(new CharArray(input), 0, input.length, options, log, source);
@@ -150,6 +198,7 @@ final public class Lexer implements ITokenSequence {
 	 */
 	public void setContentAssistMode(int offset) {
 		fSupportContentAssist = true;
+		stopUsingTokenCache();
 		if (isValidOffset(offset)) {
 			fLimit = offset;
 		}
@@ -162,6 +211,41 @@ final public class Lexer implements ITokenSequence {
 		return fSupportContentAssist;
 	}
 
+	/**
+	 * Replays the tokens for the input from the given cache, or records them into the cache if they
+	 * are not cached, yet. Must be called before the first token is fetched. The lexer falls back
+	 * to lexing the input where the cached tokens do not apply, i.e. in include directives that
+	 * were inactive while the tokens were recorded, or vice versa.
+	 */
+	public void setTokenCache(LexerTokenCache cache) {
+		if (cache == null || fSupportContentAssist || fStart != 0 || fToken.getType() != tBEFORE_INPUT)
+			return;
+		final int length = fInput.getLength();
+		if (length < LexerTokenCache.MIN_FILE_LENGTH || (fLimit >= 0 && fLimit != length))
+			return;
+
+		final String key = LexerTokenCache.computeKey(fInput, fOptions);
+		LexerTokenCache.Entry entry = cache.get(key);
+		if (entry != null) {
+			fReplay = entry;
+			fReplaying = true;
+			fReplayIndex = fReplayEvent = 0;
+		} else {
+			fTokenCache = cache;
+			fRecording = new LexerTokenCache.Recording(key, fLog);
+			fLog = fRecording;
+		}
+	}
+
+	private void stopUsingTokenCache() {
+		if (fRecording != null) {
+			fLog = fRecording.fDelegate;
+			fRecording = null;
+		}
+		fReplay = null;
+		fReplaying = false;
+	}
+
 	/**
 	 * Call this before consuming the name-token in the include directive. It causes the header-file
 	 * tokens to be created.
@@ -211,29 +295,35 @@ final public class Lexer implements ITokenSequence {
 	public final int consumeLine(int origin) throws OffsetLimitReachedException {
 		Token t = fToken;
 		Token lt = null;
-		while (true) {
-			switch (t.getType()) {
-			case IToken.tCOMPLETION:
-				if (lt != null) {
-					fLastToken = lt;
-				}
-				fToken = t;
-				throw new OffsetLimitReachedException(origin, t);
-			case IToken.tEND_OF_INPUT:
-				if (fSupportContentAssist) {
-					t.setType(IToken.tCOMPLETION);
+		final boolean skipping = fSkipping;
+		fSkipping = canSkipTokens();
+		try {
+			while (true) {
+				switch (t.getType()) {
+				case IToken.tCOMPLETION:
+					if (lt != null) {
+						fLastToken = retainToken(lt);
+					}
+					fToken = t;
 					throw new OffsetLimitReachedException(origin, t);
+				case IToken.tEND_OF_INPUT:
+					if (fSupportContentAssist) {
+						t.setType(IToken.tCOMPLETION);
+						throw new OffsetLimitReachedException(origin, t);
+					}
+					//$FALL-THROUGH$
+				case Lexer.tNEWLINE:
+					fToken = t;
+					if (lt != null) {
+						fLastToken = retainToken(lt);
+					}
+					return getLastEndOffset();
 				}
-				//$FALL-THROUGH$
-			case Lexer.tNEWLINE:
-				fToken = t;
-				if (lt != null) {
-					fLastToken = lt;
-				}
-				return getLastEndOffset();
+				lt = t;
+				t = fetchToken();
 			}
-			lt = t;
-			t = fetchToken();
+		} finally {
+			fSkipping = skipping;
 		}
 	}
 
@@ -245,26 +335,172 @@ final public class Lexer implements ITokenSequence {
 	public Token nextDirective() throws OffsetLimitReachedException {
 		Token t0;
 		Token t1 = fToken;
-		for (;;) {
-			t0 = t1;
-			t1 = fetchToken();
-			final int tt1 = t1.getType();
-			if (tt1 == IToken.tEND_OF_INPUT || tt1 == IToken.tCOMPLETION)
-				break;
-			if (tt1 == IToken.tPOUND) {
-				final int tt0 = t0.getType();
-				if (tt0 == tNEWLINE || tt0 == tBEFORE_INPUT)
+		final boolean skipping = fSkipping;
+		fSkipping = canSkipTokens();
+		try {
+			for (;;) {
+				t0 = t1;
+				t1 = fetchToken();
+				final int tt1 = t1.getType();
+				if (tt1 == IToken.tEND_OF_INPUT || tt1 == IToken.tCOMPLETION)
 					break;
+				if (tt1 == IToken.tPOUND) {
+					final int tt0 = t0.getType();
+					if (tt0 == tNEWLINE || tt0 == tBEFORE_INPUT)
+						break;
+				}
 			}
+		} finally {
+			fSkipping = skipping;
 		}
-		fLastToken = t0;
+		fLastToken = retainToken(t0);
 		return fToken = t1;
 	}
 
 	/**
-	 * Computes the next token.
+	 * Tokens can be skipped without allocating them unless their images are needed for content
+	 * assist or for recording them into the token cache.
+	 */
+	private boolean canSkipTokens() {
+		return !fSupportContentAssist && fRecording == null;
+	}
+
+	/**
+	 * Returns one of two reused tokens for a token that is skipped by {@link #nextDirective()} or
+	 * {@link #consumeLine(int)}, or {@code null} if the token has to be created. Newlines, pounds and
+	 * the end of input are always created, they can become the current token of the lexer.
+	 */
+	private Token skippedToken(int kind, int offset, int endOffset) {
+		switch (kind) {
+		case tNEWLINE:
+		case tBEFORE_INPUT:
+		case IToken.tPOUND:
+		case IToken.tEND_OF_INPUT:
+		case IToken.tCOMPLETION:
+			return null;
+		}
+		if (fSkippedTokens == null) {
+			fSkippedTokens = new Token[] { new Token(kind, fSource, offset, endOffset),
+					new Token(kind, fSource, offset, endOffset) };
+		}
+		final Token t = fSkippedTokens[fSkippedTokenIndex ^= 1];
+		t.setType(kind);
+		t.setOffset(offset, endOffset);
+		return t;
+	}
+
+	/**
+	 * Replaces a reused token by a new one, such that it can be stored in the lexer.
+	 */
+	private Token retainToken(Token t) {
+		if (fSkippedTokens != null && (t == fSkippedTokens[0] || t == fSkippedTokens[1]))
+			return new Token(t.getType(), fSource, t.getOffset(), t.getEndOffset());
+		return t;
+	}
+
+	/**
+	 * Computes the next token, or replays it from the token cache.
 	 */
 	private Token fetchToken() throws OffsetLimitReachedException {
+		if (fReplaying) {
+			Token t = replayToken();
+			if (t != null)
+				return t;
+		}
+		if (fRecording != null) {
+			final LexerTokenCache.Recording recording = fRecording;
+			final boolean insideIncludeDirective = fInsideIncludeDirective;
+			recording.beginToken(fOffset);
+			Token t = lexToken();
+			recording.endToken(t, insideIncludeDirective);
+			if (t.getType() == IToken.tEND_OF_INPUT && fRecording == recording) {
+				fTokenCache.put(recording.fKey, recording.toEntry());
+				stopUsingTokenCache();
+			}
+			return t;
+		}
+		Token t = lexToken();
+		if (fReplay != null && t.getType() == tNEWLINE) {
+			resumeReplay(t.getEndOffset());
+		}
+		return t;
+	}
+
+	/**
+	 * Returns the next token from the token cache, or {@code null} if it has to be computed from
+	 * the input because it depends on whether it is part of an include directive.
+	 */
+	private Token replayToken() {
+		final LexerTokenCache.Entry entry = fReplay;
+		final int i = fReplayIndex;
+		if (i >= entry.fTokenCount) {
+			final int end = entry.getToken(entry.fTokenCount - 1, LexerTokenCache.Entry.TOKEN_END_OFFSET);
+			return new Token(IToken.tEND_OF_INPUT, fSource, end, end);
+		}
+		final int info = entry.getToken(i, LexerTokenCache.Entry.TOKEN_INFO);
+		if (((info & LexerTokenCache.Entry.INFO_INSIDE_INCLUDE) != 0) != fInsideIncludeDirective) {
+			// Continue with the input where the token was computed, until the end of the line.
+			fOffset = fEndOffset = i == 0 ? fStart
+					: entry.getToken(i - 1, LexerTokenCache.Entry.TOKEN_END_OFFSET);
+			nextCharPhase3();
+			fReplaying = false;
+			return null;
+		}
+		for (; fReplayEvent < entry.fEventCount
+				&& entry.getEvent(fReplayEvent, LexerTokenCache.Entry.EVENT_TOKEN) == i; fReplayEvent++) {
+			final int offset = entry.getEvent(fReplayEvent, LexerTokenCache.Entry.EVENT_OFFSET);
+			final int endOffset = entry.getEvent(fReplayEvent, LexerTokenCache.Entry.EVENT_END_OFFSET);
+			switch (entry.getEvent(fReplayEvent, LexerTokenCache.Entry.EVENT_KIND)) {
+			case LexerTokenCache.Entry.EVENT_PROBLEM_KIND:
+				final char[] arg = entry.fProblemArgs != null ? entry.fProblemArgs[fReplayEvent] : null;
+				fLog.handleProblem(entry.getEvent(fReplayEvent, LexerTokenCache.Entry.EVENT_PROBLEM), arg, offset,
+						endOffset);
+				break;
+			case LexerTokenCache.Entry.EVENT_BLOCK_COMMENT:
+				fLog.handleComment(true, offset, endOffset, fInput);
+				break;
+			case LexerTokenCache.Entry.EVENT_LINE_COMMENT:
+				fLog.handleComment(false, offset, endOffset, fInput);
+				break;
+			}
+		}
+		fReplayIndex = i + 1;
+
+		final int kind = entry.getToken(i, LexerTokenCache.Entry.TOKEN_KIND);
+		final int offset = entry.getToken(i, LexerTokenCache.Entry.TOKEN_OFFSET);
+		final int endOffset = entry.getToken(i, LexerTokenCache.Entry.TOKEN_END_OFFSET);
+		if (kind == tNEWLINE) {
+			fInsideIncludeDirective = false;
+		}
+		switch ((info >> LexerTokenCache.Entry.INFO_CLASS_SHIFT) & LexerTokenCache.Entry.INFO_CLASS_MASK) {
+		case LexerTokenCache.Entry.CLASS_IMAGE:
+			return newToken(kind, offset, endOffset, info >>> LexerTokenCache.Entry.INFO_IMAGE_SHIFT);
+		case LexerTokenCache.Entry.CLASS_DIGRAPH:
+			return newDigraphToken(kind, offset, endOffset);
+		default:
+			return newTokenWithoutImage(kind, offset, endOffset);
+		}
+	}
+
+	/**
+	 * Continues with the cached tokens after a newline that was computed from the input.
+	 */
+	private void resumeReplay(int endOffset) {
+		final LexerTokenCache.Entry entry = fReplay;
+		final int i = entry.findToken(endOffset);
+		if (i > 0 && i < entry.fTokenCount
+				&& entry.getToken(i - 1, LexerTokenCache.Entry.TOKEN_KIND) == tNEWLINE
+				&& entry.getToken(i - 1, LexerTokenCache.Entry.TOKEN_END_OFFSET) == endOffset) {
+			fReplaying = true;
+			fReplayIndex = i;
+			fReplayEvent = entry.findEvent(i);
+		}
+	}
+
+	/**
+	 * Computes the next token from the input.
+	 */
+	private Token lexToken() throws OffsetLimitReachedException {
 		while (true) {
 			final int start = fOffset;
 			final int c = fCharPhase3;
@@ -721,19 +957,47 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	private Token newToken(int kind, int offset) {
-		return new Token(kind, fSource, offset, fOffset);
+		return newTokenWithoutImage(kind, offset, fOffset);
+	}
+
+	private Token newTokenWithoutImage(int kind, int offset, int endOffset) {
+		if (fSkipping) {
+			Token t = skippedToken(kind, offset, endOffset);
+			if (t != null)
+				return t;
+		}
+		return new Token(kind, fSource, offset, endOffset);
 	}
 
 	private Token newDigraphToken(int kind, int offset) {
-		return new TokenForDigraph(kind, fSource, offset, fOffset);
+		return newDigraphToken(kind, offset, fOffset);
+	}
+
+	private Token newDigraphToken(int kind, int offset, int endOffset) {
+		if (fSkipping) {
+			Token t = skippedToken(kind, offset, endOffset);
+			if (t != null)
+				return t;
+		}
+		return new TokenForDigraph(kind, fSource, offset, endOffset);
 	}
 
 	private Token newToken(final int kind, final int offset, final int imageLength) {
-		final int endOffset = fOffset;
+		return newToken(kind, offset, fOffset, imageLength);
+	}
+
+	private Token newToken(final int kind, final int offset, final int endOffset, final int imageLength) {
+		if (fSkipping) {
+			Token t = skippedToken(kind, offset, endOffset);
+			if (t != null)
+				return t;
+		}
 		final int sourceLen = endOffset - offset;
 		char[] image;
 		if (sourceLen != imageLength) {
 			image = getCharImage(offset, endOffset, imageLength);
+		} else if (kind == IToken.tIDENTIFIER) {
+			image = getIdentifierImage(offset, imageLength);
 		} else {
 			image = new char[imageLength];
 			fInput.arraycopy(offset, image, 0, imageLength);
@@ -741,6 +1005,36 @@ final public class Lexer implements ITokenSequence {
 		return new TokenWithImage(kind, fSource, offset, endOffset, image);
 	}
 
+	/**
+	 * Returns the image of an identifier without line splices. The same identifiers occur over and
+	 * over again, their images are shared via a pool indexed by the hash code of the image, such
+	 * that most of them do not need to be allocated. Images of tokens must not be modified.
+	 */
+	private char[] getIdentifierImage(final int offset, final int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + fInput.get(i);
+		}
+		char[][] pool = fImagePool;
+		if (pool == null) {
+			fImagePool = pool = sImagePool.get();
+		}
+		final int slot = (hash ^ (hash >>> 16)) & (IMAGE_POOL_SIZE - 1);
+		char[] image = pool[slot];
+		if (image != null && image.length == length) {
+			int i = 0;
+			while (i < length && image[i] == fInput.get(offset + i)) {
+				i++;
+			}
+			if (i == length)
+				return image;
+		}
+		image = new char[length];
+		fInput.arraycopy(offset, image, 0, length);
+		pool[slot] = image;
+		return image;
+	}
+
 	private void handleProblem(int problemID, char[] arg, int offset) {
 		fLog.handleProblem(problemID, arg, offset, fOffset);
 	}
@@ -1476,6 +1770,9 @@ final public class Lexer implements ITokenSequence {
 		fMarkInsideIncludeDirective = fInsideIncludeDirective;
 		fMarkToken = fToken;
 		fMarkLastToken = fLastToken;
+		fMarkReplaying = fReplaying;
+		fMarkReplayIndex = fReplayIndex;
+		fMarkReplayEvent = fReplayEvent;
 	}
 
 	public void restoreState() {
@@ -1485,5 +1782,10 @@ final public class Lexer implements ITokenSequence {
 		fInsideIncludeDirective = fMarkInsideIncludeDirective;
 		fToken = fMarkToken;
 		fLastToken = fMarkLastToken;
+		if (fReplay != null) {
+			fReplaying = fMarkReplaying;
+			fReplayIndex = fMarkReplayIndex;
+			fReplayEvent = fMarkReplayEvent;
+		}
 	}
 }
@@ -0,0 +1,491 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Cache of the tokens the {@link Lexer} computes for the content of a file. Headers are lexed
+ * again for every translation unit that includes them, with the cache the lexer replays the tokens
+ * instead. Entries are keyed by the hash of the content of the file and the lexer options, and
+ * are optionally stored on disk such that they survive a restart.
+ * <p>
+ * The cache stores the output of the lexer, the preprocessor still performs the macro expansion
+ * for every inclusion. Thread-safe.
+ */
+public final class LexerTokenCache {
+	/**
+	 * Enables the shared cache, which is stored in the state location of the plug-in.
+	 */
+	private static final boolean ENABLED = Boolean.getBoolean("org.eclipse.cdt.core.parser.tokenCache"); //$NON-NLS-1$
+	private static final String DIRECTORY_NAME = "tokenCache"; //$NON-NLS-1$
+	private static final String FILE_EXTENSION = ".tok"; //$NON-NLS-1$
+	private static final int FORMAT_VERSION = 1;
+	private static final int MAGIC = 0x43544B43; // CTKC
+
+	// Files shorter than this are not worth caching.
+	static final int MIN_FILE_LENGTH = 512;
+	private static final int DEFAULT_MEMORY_BUDGET = 8 * 1024 * 1024; // ints, i.e. 32MB
+	private static final int MAX_FILES = 8192;
+	private static final int WRITES_PER_PRUNE = 512;
+
+	private static LexerTokenCache sSharedInstance;
+	private static boolean sSharedInstanceCreated;
+
+	/**
+	 * Tokens of a file, 4 ints per token and 5 ints per event reported to the lexer log.
+	 */
+	static final class Entry {
+		static final int TOKEN_KIND = 0;
+		static final int TOKEN_OFFSET = 1;
+		static final int TOKEN_END_OFFSET = 2;
+		static final int TOKEN_INFO = 3;
+		static final int TOKEN_INTS = 4;
+
+		static final int EVENT_TOKEN = 0;
+		static final int EVENT_KIND = 1;
+		static final int EVENT_OFFSET = 2;
+		static final int EVENT_END_OFFSET = 3;
+		static final int EVENT_PROBLEM = 4;
+		static final int EVENT_INTS = 5;
+
+		static final int EVENT_PROBLEM_KIND = 0;
+		static final int EVENT_BLOCK_COMMENT = 1;
+		static final int EVENT_LINE_COMMENT = 2;
+
+		// Token info: image length, class of the token and whether it was lexed in an include directive.
+		static final int INFO_INSIDE_INCLUDE = 1;
+		static final int INFO_CLASS_SHIFT = 1;
+		static final int INFO_CLASS_MASK = 3;
+		static final int CLASS_TOKEN = 0;
+		static final int CLASS_IMAGE = 1;
+		static final int CLASS_DIGRAPH = 2;
+		static final int INFO_IMAGE_SHIFT = 3;
+
+		final int[] fTokens;
+		final int fTokenCount;
+		final int[] fEvents;
+		final int fEventCount;
+		final char[][] fProblemArgs; // Per event, null if there is no argument.
+
+		Entry(int[] tokens, int tokenCount, int[] events, int eventCount, char[][] problemArgs) {
+			fTokens = tokens;
+			fTokenCount = tokenCount;
+			fEvents = events;
+			fEventCount = eventCount;
+			fProblemArgs = problemArgs;
+		}
+
+		int getToken(int index, int field) {
+			return fTokens[index * TOKEN_INTS + field];
+		}
+
+		int getEvent(int index, int field) {
+			return fEvents[index * EVENT_INTS + field];
+		}
+
+		/**
+		 * Returns the index of the first token with an offset greater or equal to the given one.
+		 */
+		int findToken(int offset) {
+			int low = 0;
+			int high = fTokenCount;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (getToken(mid, TOKEN_OFFSET) < offset) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * Returns the index of the first event reported while lexing the given token or a later one.
+		 */
+		int findEvent(int tokenIndex) {
+			int low = 0;
+			int high = fEventCount;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (getEvent(mid, EVENT_TOKEN) < tokenIndex) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		int getSize() {
+			return fTokenCount * TOKEN_INTS + fEventCount * EVENT_INTS;
+		}
+	}
+
+	/**
+	 * Records the tokens of a lexer and the events it reports to its log.
+	 */
+	static final class Recording implements ILexerLog {
+		final String fKey;
+		final ILexerLog fDelegate;
+		private int[] fTokens = new int[1024];
+		private int fTokenCount;
+		private int[] fEvents = new int[64];
+		private int fEventCount;
+		private List<char[]> fProblemArgs;
+		private int fRecordedEndOffset;
+		private boolean fActive;
+
+		Recording(String key, ILexerLog delegate) {
+			fKey = key;
+			fDelegate = delegate;
+		}
+
+		/**
+		 * Called before the lexer computes a token starting at the given offset. Tokens that are
+		 * computed again after the lexer restored a previous state are not recorded again.
+		 */
+		void beginToken(int offset) {
+			fActive = offset >= fRecordedEndOffset;
+		}
+
+		void endToken(Token t, boolean insideInclude) {
+			if (!fActive)
+				return;
+			fActive = false;
+			int info = insideInclude ? Entry.INFO_INSIDE_INCLUDE : 0;
+			if (t instanceof TokenWithImage) {
+				info |= Entry.CLASS_IMAGE << Entry.INFO_CLASS_SHIFT;
+				info |= t.getCharImage().length << Entry.INFO_IMAGE_SHIFT;
+			} else if (t instanceof TokenForDigraph) {
+				info |= Entry.CLASS_DIGRAPH << Entry.INFO_CLASS_SHIFT;
+			}
+			int i = fTokenCount * Entry.TOKEN_INTS;
+			if (i + Entry.TOKEN_INTS > fTokens.length) {
+				fTokens = Arrays.copyOf(fTokens, fTokens.length * 2);
+			}
+			fTokens[i + Entry.TOKEN_KIND] = t.getType();
+			fTokens[i + Entry.TOKEN_OFFSET] = t.getOffset();
+			fTokens[i + Entry.TOKEN_END_OFFSET] = t.getEndOffset();
+			fTokens[i + Entry.TOKEN_INFO] = info;
+			fTokenCount++;
+			fRecordedEndOffset = t.getEndOffset();
+		}
+
+		private void addEvent(int kind, int offset, int endOffset, int problemID, char[] arg) {
+			if (!fActive)
+				return;
+			int i = fEventCount * Entry.EVENT_INTS;
+			if (i + Entry.EVENT_INTS > fEvents.length) {
+				fEvents = Arrays.copyOf(fEvents, fEvents.length * 2);
+			}
+			fEvents[i + Entry.EVENT_TOKEN] = fTokenCount;
+			fEvents[i + Entry.EVENT_KIND] = kind;
+			fEvents[i + Entry.EVENT_OFFSET] = offset;
+			fEvents[i + Entry.EVENT_END_OFFSET] = endOffset;
+			fEvents[i + Entry.EVENT_PROBLEM] = problemID;
+			if (arg != null) {
+				if (fProblemArgs == null)
+					fProblemArgs = new ArrayList<>();
+				while (fProblemArgs.size() < fEventCount)
+					fProblemArgs.add(null);
+				fProblemArgs.add(arg);
+			}
+			fEventCount++;
+		}
+
+		@Override
+		public void handleProblem(int problemID, char[] info, int offset, int endOffset) {
+			addEvent(Entry.EVENT_PROBLEM_KIND, offset, endOffset, problemID, info);
+			fDelegate.handleProblem(problemID, info, offset, endOffset);
+		}
+
+		@Override
+		public void handleComment(boolean isBlockComment, int offset, int endOffset, AbstractCharArray input) {
+			addEvent(isBlockComment ? Entry.EVENT_BLOCK_COMMENT : Entry.EVENT_LINE_COMMENT, offset, endOffset, 0,
+					null);
+			fDelegate.handleComment(isBlockComment, offset, endOffset, input);
+		}
+
+		Entry toEntry() {
+			char[][] args = null;
+			if (fProblemArgs != null) {
+				args = new char[fEventCount][];
+				for (int i = 0; i < fProblemArgs.size(); i++) {
+					args[i] = fProblemArgs.get(i);
+				}
+			}
+			return new Entry(Arrays.copyOf(fTokens, fTokenCount * Entry.TOKEN_INTS), fTokenCount,
+					Arrays.copyOf(fEvents, fEventCount * Entry.EVENT_INTS), fEventCount, args);
+		}
+	}
+
+	private final File fDirectory;
+	private final int fMemoryBudget;
+	private int fMemorySize;
+	private int fWritesSincePrune;
+	// In access order, for evicting the least recently used entries.
+	private final LinkedHashMap<String, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fDiskHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * Returns the cache shared by all preprocessors, or {@code null} if the cache is disabled.
+	 */
+	public static synchronized LexerTokenCache getSharedInstance() {
+		if (!sSharedInstanceCreated) {
+			sSharedInstanceCreated = true;
+			if (ENABLED) {
+				File directory = null;
+				if (Platform.isRunning() && CCorePlugin.getDefault() != null) {
+					directory = CCorePlugin.getDefault().getStateLocation().append(DIRECTORY_NAME).toFile();
+				}
+				sSharedInstance = new LexerTokenCache(directory, DEFAULT_MEMORY_BUDGET);
+			}
+		}
+		return sSharedInstance;
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param directory the directory for storing the entries, or {@code null} for an in-memory cache
+	 * @param memoryBudget the maximum number of ints held in memory
+	 */
+	public LexerTokenCache(File directory, int memoryBudget) {
+		fDirectory = directory;
+		fMemoryBudget = memoryBudget;
+		if (directory != null) {
+			directory.mkdirs();
+		}
+	}
+
+	/**
+	 * Computes the key for the content of a file lexed with the given options.
+	 */
+	static String computeKey(AbstractCharArray input, LexerOptions options) {
+		final int optionBits = options.getTokenOptionBits();
+		return String.format("%016x%08x%03x", input.getContentsHash(), input.getLength(), optionBits); //$NON-NLS-1$
+	}
+
+	Entry get(String key) {
+		synchronized (this) {
+			Entry entry = fEntries.get(key);
+			if (entry != null) {
+				fHits.increment();
+				return entry;
+			}
+		}
+		Entry entry = read(key);
+		if (entry == null) {
+			fMisses.increment();
+			return null;
+		}
+		fDiskHits.increment();
+		synchronized (this) {
+			addToMemory(key, entry);
+		}
+		return entry;
+	}
+
+	void put(String key, Entry entry) {
+		synchronized (this) {
+			addToMemory(key, entry);
+		}
+		write(key, entry);
+	}
+
+	private void addToMemory(String key, Entry entry) {
+		Entry old = fEntries.put(key, entry);
+		if (old != null) {
+			fMemorySize -= old.getSize();
+		}
+		fMemorySize += entry.getSize();
+		for (Iterator<Entry> it = fEntries.values().iterator(); fMemorySize > fMemoryBudget && it.hasNext();) {
+			Entry eldest = it.next();
+			if (eldest != entry) {
+				fMemorySize -= eldest.getSize();
+				it.remove();
+			}
+		}
+	}
+
+	private Entry read(String key) {
+		if (fDirectory == null)
+			return null;
+		File file = new File(fDirectory, key + FILE_EXTENSION);
+		if (!file.isFile())
+			return null;
+		try {
+			final ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION)
+				return null;
+			final int tokenCount = buf.getInt();
+			final int eventCount = buf.getInt();
+			final int argCount = buf.getInt();
+			final IntBuffer ints = buf.asIntBuffer();
+			final int[] tokens = new int[tokenCount * Entry.TOKEN_INTS];
+			ints.get(tokens);
+			final int[] events = new int[eventCount * Entry.EVENT_INTS];
+			ints.get(events);
+			buf.position(buf.position() + (tokens.length + events.length) * Integer.BYTES);
+			char[][] args = null;
+			if (argCount > 0) {
+				args = new char[eventCount][];
+				for (int i = 0; i < argCount; i++) {
+					final int event = buf.getInt();
+					final char[] arg = new char[buf.getInt()];
+					buf.asCharBuffer().get(arg);
+					buf.position(buf.position() + arg.length * Character.BYTES);
+					args[event] = arg;
+				}
+			}
+			return new Entry(tokens, tokenCount, events, eventCount, args);
+		} catch (IOException | RuntimeException e) {
+			// A damaged entry, it is replaced when the file is lexed again.
+			file.delete();
+			return null;
+		}
+	}
+
+	private void write(String key, Entry entry) {
+		if (fDirectory == null)
+			return;
+		int argCount = 0;
+		int argChars = 0;
+		if (entry.fProblemArgs != null) {
+			for (char[] arg : entry.fProblemArgs) {
+				if (arg != null) {
+					argCount++;
+					argChars += arg.length;
+				}
+			}
+		}
+		final ByteBuffer buf = ByteBuffer
+				.allocate((5 + entry.getSize() + 2 * argCount) * Integer.BYTES + argChars * Character.BYTES);
+		buf.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(entry.fTokenCount).putInt(entry.fEventCount)
+				.putInt(argCount);
+		buf.asIntBuffer().put(entry.fTokens, 0, entry.fTokenCount * Entry.TOKEN_INTS).put(entry.fEvents, 0,
+				entry.fEventCount * Entry.EVENT_INTS);
+		buf.position(buf.position() + entry.getSize() * Integer.BYTES);
+		if (entry.fProblemArgs != null) {
+			for (int i = 0; i < entry.fProblemArgs.length; i++) {
+				final char[] arg = entry.fProblemArgs[i];
+				if (arg != null) {
+					buf.putInt(i).putInt(arg.length);
+					buf.asCharBuffer().put(arg);
+					buf.position(buf.position() + arg.length * Character.BYTES);
+				}
+			}
+		}
+		try {
+			File tmp = File.createTempFile(key, null, fDirectory);
+			Files.write(tmp.toPath(), buf.array());
+			Files.move(tmp.toPath(), new File(fDirectory, key + FILE_EXTENSION).toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// The entry is kept in memory, only.
+			return;
+		}
+		boolean prune;
+		synchronized (this) {
+			prune = ++fWritesSincePrune >= WRITES_PER_PRUNE;
+			if (prune)
+				fWritesSincePrune = 0;
+		}
+		if (prune) {
+			prune();
+		}
+	}
+
+	/**
+	 * Deletes the oldest files, if there are too many of them.
+	 */
+	private void prune() {
+		File[] files = fDirectory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+		if (files == null || files.length <= MAX_FILES)
+			return;
+		final long[] lastModified = new long[files.length];
+		Integer[] order = new Integer[files.length];
+		for (int i = 0; i < files.length; i++) {
+			lastModified[i] = files[i].lastModified();
+			order[i] = i;
+		}
+		Arrays.sort(order, (i1, i2) -> Long.compare(lastModified[i1], lastModified[i2]));
+		for (int i = 0; i < files.length - MAX_FILES; i++) {
+			files[order[i]].delete();
+		}
+	}
+
+	/**
+	 * Removes all entries from memory and disk.
+	 */
+	public void clear() {
+		synchronized (this) {
+			fEntries.clear();
+			fMemorySize = 0;
+		}
+		if (fDirectory != null) {
+			File[] files = fDirectory.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of lookups served from memory.
+	 */
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups served from disk.
+	 */
+	public long getDiskHits() {
+		return fDiskHits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that did not find an entry.
+	 */
+	public long getMisses() {
+		return fMisses.sum();
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		return "LexerTokenCache: " + getHits() + " hits, " + getDiskHits() + " disk hits, " + getMisses()
+				+ " misses";
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.ArrayList;
+
+import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
+import org.eclipse.cdt.core.parser.util.IntArray;
+
+/**
+ * A flattened index of the location contexts of a translation unit. The sequence numbers are
+ * partitioned into segments, each of which is either text of a file or of another container, or
+ * the entire expansion of a macro. The segments are sorted by their first sequence number, such
+ * that the context of a sequence number is found by a single binary search, rather than a search
+ * at each level of the tree of contexts.
+ * <p>
+ * A range within a single segment is handled by the context of the segment in the same way as by
+ * the tree of contexts. Ranges spanning multiple segments need to be mapped by the tree.
+ * The index is immutable, it is created after the preprocessor has completed the translation unit.
+ */
+final class LocationIndex {
+	/** The first sequence number of each segment. */
+	private final int[] fStart;
+	/**
+	 * The offset in the source of the container corresponding to the first sequence number of
+	 * each segment, not used for macro expansions.
+	 */
+	private final int[] fOffset;
+	private final LocationCtx[] fContext;
+	private final int fEnd;
+
+	private LocationIndex(int[] start, int[] offset, LocationCtx[] context, int end) {
+		fStart = start;
+		fOffset = offset;
+		fContext = context;
+		fEnd = end;
+	}
+
+	static LocationIndex create(LocationCtxContainer root) {
+		Builder builder = new Builder();
+		builder.add(root);
+		return new LocationIndex(builder.fStart.toArray(), builder.fOffset.toArray(),
+				builder.fContexts.toArray(new LocationCtx[builder.fContexts.size()]),
+				root.fSequenceNumber + root.getSequenceLength());
+	}
+
+	private static final class Builder {
+		final IntArray fStart = new IntArray();
+		final IntArray fOffset = new IntArray();
+		final ArrayList<LocationCtx> fContexts = new ArrayList<>();
+
+		void add(LocationCtx ctx) {
+			final int end = ctx.fSequenceNumber + ctx.getSequenceLength();
+			if (!(ctx instanceof LocationCtxContainer)) {
+				addSegment(ctx.fSequenceNumber, end, 0, ctx);
+				return;
+			}
+			int sequenceNumber = ctx.fSequenceNumber;
+			int offset = 0;
+			for (LocationCtx child : ctx.getChildren()) {
+				addSegment(sequenceNumber, child.fSequenceNumber, offset, ctx);
+				add(child);
+				sequenceNumber = child.fSequenceNumber + child.getSequenceLength();
+				offset = child.fEndOffsetInParent;
+			}
+			addSegment(sequenceNumber, end, offset, ctx);
+		}
+
+		private void addSegment(int sequenceNumber, int end, int offset, LocationCtx ctx) {
+			if (sequenceNumber < end) {
+				fStart.add(sequenceNumber);
+				fOffset.add(offset);
+				fContexts.add(ctx);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the segment containing the given range, or -1 if the range is not
+	 * contained in a single segment.
+	 */
+	private int findSegment(int sequenceNumber, int length) {
+		final int testEnd = length > 1 ? sequenceNumber + length - 1 : sequenceNumber;
+		if (sequenceNumber < 0 || testEnd >= fEnd)
+			return -1;
+		int lower = 0;
+		int upper = fStart.length;
+		while (upper > lower) {
+			int middle = (upper + lower) >>> 1;
+			if (fStart[middle] <= sequenceNumber) {
+				lower = middle + 1;
+			} else {
+				upper = middle;
+			}
+		}
+		final int idx = lower - 1;
+		if (idx < 0 || (lower < fStart.length && fStart[lower] <= testEnd))
+			return -1;
+		return idx;
+	}
+
+	/**
+	 * Returns the minimal context containing the given range, or {@code null} if the range spans
+	 * multiple segments.
+	 */
+	LocationCtx findSurroundingContext(int sequenceNumber, int length) {
+		final int idx = findSegment(sequenceNumber, length);
+		return idx < 0 ? null : fContext[idx];
+	}
+
+	/**
+	 * Adds the locations of the given non-empty range to the list, provided that the range is
+	 * contained in the text of a single file or in a single macro expansion.
+	 *
+	 * @return whether the locations were added
+	 */
+	boolean collectLocations(int sequenceNumber, int length, ArrayList<IASTNodeLocation> locations) {
+		final int idx = findSegment(sequenceNumber, length);
+		if (idx < 0)
+			return false;
+		final LocationCtx ctx = fContext[idx];
+		if (ctx instanceof LocationCtxFile) {
+			locations.add(createFileLocation(idx, sequenceNumber, length));
+			return true;
+		}
+		if (ctx instanceof LocationCtxMacroExpansion) {
+			ctx.collectLocations(sequenceNumber, length, locations);
+			return true;
+		}
+		return false;
+	}
+
+	private ASTFileLocation createFileLocation(int idx, int sequenceNumber, int length) {
+		return new ASTFileLocation((LocationCtxFile) fContext[idx], fOffset[idx] + sequenceNumber - fStart[idx],
+				length);
+	}
+
+	/**
+	 * Returns the minimal file location containing the given range, or {@code null} if the range
+	 * spans multiple segments.
+	 */
+	ASTFileLocation findMappedFileLocation(int sequenceNumber, int length) {
+		final int idx = findSegment(sequenceNumber, length);
+		if (idx < 0)
+			return null;
+		final LocationCtx ctx = fContext[idx];
+		if (ctx instanceof LocationCtxFile)
+			return createFileLocation(idx, sequenceNumber, length);
+		// Macro expansions are mapped to the location of their invocation.
+		return ctx.findMappedFileLocation(sequenceNumber, length);
+	}
+}
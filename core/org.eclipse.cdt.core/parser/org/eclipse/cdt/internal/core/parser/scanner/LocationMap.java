@@ -72,6 +72,9 @@ public class LocationMap implements ILocationResolver {
 	private List<ISkippedIndexedFilesListener> fSkippedFilesListeners = new ArrayList<>();
 	// Keyed by file location.
 	private Map<String, LocationCtxFile> fFileContexts;
+	// Created on first use after the end of the translation unit was reached.
+	private LocationIndex fLocationIndex;
+	private boolean fEndOfTranslationUnit;
 
 	public LocationMap(LexerOptions lexOptions) {
 		fLexerOptions = lexOptions;
@@ -482,15 +485,38 @@ public class LocationMap implements ILocationResolver {
 		return fCurrentContext.getSequenceNumberForOffset(offset, offset < fLastChildInsertionOffset);
 	}
 
+	/**
+	 * Returns the flattened index of the location contexts, or {@code null} while the translation
+	 * unit is being preprocessed.
+	 */
+	private LocationIndex getLocationIndex() {
+		LocationIndex index = fLocationIndex;
+		if (index == null && fEndOfTranslationUnit) {
+			// The index is immutable, creating it concurrently is harmless.
+			fLocationIndex = index = LocationIndex.create(fRootContext);
+		}
+		return index;
+	}
+
+	private LocationCtx findSurroundingContext(int sequenceNumber, int length) {
+		LocationIndex index = getLocationIndex();
+		if (index != null) {
+			LocationCtx ctx = index.findSurroundingContext(sequenceNumber, length);
+			if (ctx != null)
+				return ctx;
+		}
+		return fRootContext.findSurroundingContext(sequenceNumber, length);
+	}
+
 	@Override
 	public String getContainingFilePath(int sequenceNumber) {
-		LocationCtx ctx = fRootContext.findSurroundingContext(sequenceNumber, 1);
+		LocationCtx ctx = findSurroundingContext(sequenceNumber, 1);
 		return ctx.getFilePath();
 	}
 
 	@Override
 	public boolean isPartOfSourceFile(int sequenceNumber) {
-		LocationCtx ctx = fRootContext.findSurroundingContext(sequenceNumber, 1);
+		LocationCtx ctx = findSurroundingContext(sequenceNumber, 1);
 		if (ctx == fRootContext && fTranslationUnit != null)
 			return !fTranslationUnit.isHeaderUnit();
 
@@ -499,6 +525,12 @@ public class LocationMap implements ILocationResolver {
 
 	@Override
 	public ASTFileLocation getMappedFileLocation(int sequenceNumber, int length) {
+		LocationIndex index = getLocationIndex();
+		if (index != null) {
+			ASTFileLocation result = index.findMappedFileLocation(sequenceNumber, length);
+			if (result != null)
+				return result;
+		}
 		return fRootContext.findMappedFileLocation(sequenceNumber, length);
 	}
 
@@ -555,10 +587,19 @@ public class LocationMap implements ILocationResolver {
 		return getMappedFileLocation(sequenceNumber, length);
 	}
 
+	private void collectLocations(int sequenceNumber, int length, ArrayList<IASTNodeLocation> result) {
+		if (length > 0) {
+			LocationIndex index = getLocationIndex();
+			if (index != null && index.collectLocations(sequenceNumber, length, result))
+				return;
+		}
+		fRootContext.collectLocations(sequenceNumber, length, result);
+	}
+
 	@Override
 	public IASTNodeLocation[] getLocations(int sequenceNumber, int length) {
 		ArrayList<IASTNodeLocation> result = new ArrayList<>();
-		fRootContext.collectLocations(sequenceNumber, length, result);
+		collectLocations(sequenceNumber, length, result);
 		return result.toArray(new IASTNodeLocation[result.size()]);
 	}
 
@@ -570,7 +611,7 @@ public class LocationMap implements ILocationResolver {
 	@Override
 	public IASTImageLocation getImageLocation(int sequenceNumber, int length) {
 		ArrayList<IASTNodeLocation> result = new ArrayList<>();
-		fRootContext.collectLocations(sequenceNumber, length, result);
+		collectLocations(sequenceNumber, length, result);
 		if (result.size() != 1) {
 			return null;
 		}
@@ -881,6 +922,7 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void endTranslationUnit(int endOffset, CharArrayObjectMap<char[]> sigMacros) {
+		fEndOfTranslationUnit = true;
 		if (fTranslationUnit != null) {
 			int offset = getSequenceNumberForOffset(endOffset);
 			((ASTNode) fTranslationUnit).setLength(offset);
@@ -33,6 +33,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,6 +69,8 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
@@ -81,6 +88,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -97,6 +105,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private static final int MAX_ERRORS = 500;
+	/** Number of sources handed to each parser thread per batch when parsing concurrently. */
+	private static final int SOURCES_PER_PARSER_THREAD = 2;
 
 	// Order of constants is important. Stronger update types have to precede the weaker ones.
 	private static enum UpdateKind {
@@ -251,6 +261,28 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A source file parsed by one of the parser threads, waiting to be written to the index.
+	 */
+	private static class ParsedSource {
+		final IIndexFileLocation fLocation;
+		final Object fTu;
+		final AbstractLanguage fLanguage;
+		final IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		Throwable fError;
+		boolean fCanceled;
+		long fParsingTime;
+
+		ParsedSource(IIndexFileLocation ifl, Object tu, AbstractLanguage language, IScannerInfo scannerInfo) {
+			fLocation = ifl;
+			fTu = tu;
+			fLanguage = language;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
 	public static class IndexFileContent {
 		private Object[] fPreprocessingDirectives;
 		private ICPPUsingDirective[] fDirectives;
@@ -339,6 +371,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError = 5;
+	private int fParserThreadCount = 1;
+	private ExecutorService fParserExecutor;
+	private InternalFileContentProvider[] fParserCodeReaderFactories;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
 	 * The files from the urgent tasks are indexed before all not yet processed files.
@@ -398,6 +433,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for parsing source files. With more than one thread the
+	 * required sources are parsed concurrently and written to the index one after another.
+	 */
+	public final void setParserThreadCount(int count) {
+		fParserThreadCount = Math.max(1, count);
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -544,6 +587,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 			if (getSkipReferences() == SKIP_ALL_REFERENCES) {
 				fASTOptions |= ILanguage.OPTION_SKIP_FUNCTION_BODIES;
+			} else {
+				// Bodies in files that are not updated are not needed.
+				fASTOptions |= ILanguage.OPTION_PARSE_FUNCTION_BODIES_ON_DEMAND;
 			}
 
 			fIndex.resetCacheCounters();
@@ -628,6 +674,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				fIndex.releaseReadLock();
 			}
 		} finally {
+			if (fParserExecutor != null) {
+				fParserExecutor.shutdown();
+				fParserExecutor = null;
+			}
 			synchronized (this) {
 				fTaskCompleted = true;
 			}
@@ -897,17 +947,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserThreadCount > 1) {
+				if (!parseSourcesConcurrently(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -1129,16 +1184,197 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 
 		if (!resultCacheCleared) {
-			// If the result cache has not been cleared, clear it under a write lock to reduce
-			// interference with index readers.
-			fIndex.acquireWriteLock(progress.split(1));
+			clearResultCache(progress.split(1));
+		}
+		return null;
+	}
+
+	/**
+	 * Parses the required sources among the given files using the parser threads. The sources are
+	 * parsed in batches, while the index is not modified, and the resulting ASTs are written to
+	 * the index in the order of the files, on the thread running this task.
+	 *
+	 * @return {@code false} if parsing was interrupted because urgent tasks have to be processed.
+	 */
+	private boolean parseSourcesConcurrently(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		final int batchSize = fParserThreadCount * SOURCES_PER_PARSER_THREAD;
+		List<ParsedSource> batch = new ArrayList<>(batchSize);
+		for (Iterator<IIndexFileLocation> it = files.iterator(); it.hasNext();) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				final Object tu = locTask.fTu;
+				batch.add(new ParsedSource(ifl, tu, getLanguage(tu, linkageID), getScannerInfo(linkageID, tu)));
+				if (batch.size() == batchSize) {
+					if (!parseBatch(linkageID, map, batch, progress))
+						return false;
+					batch.clear();
+				}
+			}
+		}
+		return batch.isEmpty() || parseBatch(linkageID, map, batch, progress);
+	}
+
+	private boolean parseBatch(final int linkageID, LinkageTask map, List<ParsedSource> batch, SubMonitor progress)
+			throws CoreException, InterruptedException {
+		if (hasUrgentTasks())
+			return false;
+
+		final ParsedSource[] sources = batch.toArray(new ParsedSource[batch.size()]);
+		final AtomicInteger next = new AtomicInteger();
+		final int threadCount = Math.min(fParserThreadCount, sources.length);
+		List<Future<?>> workers = new ArrayList<>(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			final int thread = i;
+			workers.add(getParserExecutor().submit(() -> {
+				int index;
+				while ((index = next.getAndIncrement()) < sources.length) {
+					parseSource(thread, linkageID, sources[index]);
+				}
+			}));
+		}
+		waitForParserThreads(workers);
+
+		// Write the results in the order of the files.
+		for (ParsedSource source : sources) {
+			LocationTask locTask = map.find(source.fLocation);
+			if (locTask != null && locTask.isCompleted()) {
+				// The file has been stored in the index as part of another translation unit.
+				progress.split(1);
+				continue;
+			}
+			writeParsedSource(linkageID, source, progress.split(1));
+		}
+		return true;
+	}
+
+	private void waitForParserThreads(List<Future<?>> workers) throws CoreException, InterruptedException {
+		InterruptedException interrupted = null;
+		for (Future<?> worker : workers) {
+			while (true) {
+				try {
+					worker.get();
+					break;
+				} catch (InterruptedException e) {
+					// The parser threads are reading from the index, they have to finish before
+					// the caller can release its read lock.
+					interrupted = e;
+					fCancelState.setCanceled(true);
+				} catch (ExecutionException e) {
+					throw new CoreException(createStatus(e.getMessage(), e.getCause()));
+				}
+			}
+		}
+		if (interrupted != null)
+			throw interrupted;
+	}
+
+	private ExecutorService getParserExecutor() {
+		if (fParserExecutor == null) {
+			final AtomicInteger threadNumber = new AtomicInteger();
+			fParserExecutor = Executors.newFixedThreadPool(fParserThreadCount, r -> {
+				Thread thread = new Thread(r, "C/C++ Indexer Parser " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			fParserCodeReaderFactories = new InternalFileContentProvider[fParserThreadCount];
+			fStatistics.fParserThreadCount = fParserThreadCount;
+			fStatistics.fParsedFilesPerThread = new int[fParserThreadCount];
+			fStatistics.fParsingTimePerThread = new int[fParserThreadCount];
+		}
+		return fParserExecutor;
+	}
+
+	/**
+	 * Parses a source file on one of the parser threads. Must not modify the index or the state
+	 * of this task other than via the synchronized caches.
+	 */
+	private void parseSource(int thread, int linkageID, ParsedSource source) {
+		long start = System.currentTimeMillis();
+		try {
+			if (fShowActivity) {
+				trace("Indexer: parsing " + getLabel(source.fLocation).toOSString()); //$NON-NLS-1$
+			}
+			InternalFileContentProvider fileContentProvider = fParserCodeReaderFactories[thread];
+			if (fileContentProvider == null) {
+				fileContentProvider = createFileContentProvider(linkageID);
+				fParserCodeReaderFactories[thread] = fileContentProvider;
+			} else if (fIsFastIndexer) {
+				final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fileContentProvider;
+				ibfcp.setContextToHeaderGap(null);
+				ibfcp.setLinkage(linkageID);
+			}
+			source.fCodeReader = fResolver.getCodeReader(source.fTu);
+			source.fAST = createAST(source.fLanguage, source.fCodeReader, source.fScannerInfo, fileContentProvider,
+					fASTOptions, new NullProgressMonitor());
+		} catch (OperationCanceledException e) {
+			source.fCanceled = true;
+		} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+			source.fError = e;
+		}
+		source.fParsingTime = System.currentTimeMillis() - start;
+		// Each parser thread updates its own slot, the results are visible after the batch completes.
+		fStatistics.fParsedFilesPerThread[thread]++;
+		fStatistics.fParsingTimePerThread[thread] += source.fParsingTime;
+	}
+
+	private void writeParsedSource(int linkageID, ParsedSource source, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(source.fLocation);
+		Throwable th = source.fError;
+		fStatistics.fParsingTime += source.fParsingTime;
+		if (th == null && !source.fCanceled) {
+			progress.subTask(
+					getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
 			try {
-				fIndex.clearResultCache();
-			} finally {
-				fIndex.releaseWriteLock();
+				if (source.fAST == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					writeToIndex(linkageID, source.fAST, source.fCodeReader, null, progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+				if (fShowActivity) {
+					trace("Indexer: processed " + path.toOSString() + " [" + source.fParsingTime + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+			} catch (OperationCanceledException e) {
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError e) {
+				th = e;
+			} catch (OutOfMemoryError e) {
+				th = e;
 			}
 		}
-		return null;
+		if (th instanceof RuntimeException && th.getCause() instanceof DependsOnOutdatedFileException) {
+			th = null;
+		}
+		if (th instanceof OutOfMemoryError && --fSwallowOutOfMemoryError < 0) {
+			throw (OutOfMemoryError) th;
+		}
+		if (th != null) {
+			swallowError(path, th);
+		}
+		// Release the AST as soon as possible, the remaining sources of the batch are still referenced.
+		source.fAST = null;
+		source.fCodeReader = null;
+
+		if (!resultCacheCleared) {
+			clearResultCache(progress.split(1));
+		}
+	}
+
+	private void clearResultCache(IProgressMonitor monitor) throws InterruptedException, CoreException {
+		// If the result cache has not been cleared, clear it under a write lock to reduce
+		// interference with index readers.
+		fIndex.acquireWriteLock(monitor);
+		try {
+			fIndex.clearResultCache();
+		} finally {
+			fIndex.releaseWriteLock();
+		}
 	}
 
 	private AbstractLanguage getLanguage(Object tu, int linkageID) {
@@ -1210,6 +1446,21 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
 			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
+		if (fCodeReaderFactory == null) {
+			fCodeReaderFactory = createFileContentProvider(language.getLinkageID());
+		} else if (fIsFastIndexer) {
+			((IndexBasedFileContentProvider) fCodeReaderFactory).setLinkage(language.getLinkageID());
+		}
+		if (fIsFastIndexer) {
+			((IndexBasedFileContentProvider) fCodeReaderFactory).setContextToHeaderGap(ctx2header);
+		}
+		return createAST(language, codeReader, scanInfo, fCodeReaderFactory, options, monitor);
+	}
+
+	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
+			IScannerInfo scanInfo, InternalFileContentProvider fileContentProvider, int options,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,28 +1471,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
-		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
-			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
-		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
-			ibfcp.setContextToHeaderGap(ctx2header);
-			ibfcp.setLinkage(language.getLinkageID());
-		}
-
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fileContentProvider, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1479,20 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private InternalFileContentProvider createFileContentProvider(int linkageID) {
+		InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver, linkageID,
+					fileContentProvider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			fileContentProvider = ibfcp;
+		}
+		fileContentProvider.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return fileContentProvider;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
@@ -1313,6 +1557,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				if (storageLinkageID != ILinkage.NO_LINKAGE_ID)
 					addSymbols(data, storageLinkageID, ctx, progress.split(1));
 			}
+			if (ast instanceof CPPASTTranslationUnit) {
+				ConstexprCallCache constexprCalls = ((CPPASTTranslationUnit) ast).getConstexprCallCache();
+				fStatistics.fConstexprEvaluationCount += constexprCalls.getEvaluationCount();
+				fStatistics.fConstexprEvaluationSteps += constexprCalls.getEvaluationSteps();
+				fStatistics.fConstexprBudgetExceededCount += constexprCalls.getBudgetExceededCount();
+				fStatistics.fConstexprCallCacheHits += constexprCalls.getHits();
+				fStatistics.fDeferredFunctionBodyCount += ((CPPASTTranslationUnit) ast).getDeferredFunctionBodyCount();
+				fStatistics.fParsedDeferredFunctionBodyCount += ((CPPASTTranslationUnit) ast)
+						.getParsedDeferredFunctionBodyCount();
+			}
 		} catch (CoreException | RuntimeException | Error e) {
 			// Avoid parsing files again, that caused an exception to be thrown.
 			withdrawRequests(linkageID, fileKeys);
@@ -1444,12 +1698,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					throw new DependsOnOutdatedFileException(request.fTu, task.fIndexFile);
 			}
 		}
-		IndexFileContent fc = fIndexContentCache.get(file);
-		if (fc == null) {
-			fc = new IndexFileContent(file);
-			fIndexContentCache.put(file, fc);
+		// The cache is shared by the parser threads.
+		synchronized (fIndexContentCache) {
+			IndexFileContent fc = fIndexContentCache.get(file);
+			if (fc == null) {
+				fc = new IndexFileContent(file);
+				fIndexContentCache.put(file, fc);
+			}
+			return fc;
 		}
-		return fc;
 	}
 
 	IIndexFragmentFile selectIndexFile(int linkageID, IIndexFileLocation ifl, ISignificantMacros sigMacros)
@@ -1499,6 +1756,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	public IIndexFragmentFile[] getAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
+		// The cache is shared by the parser threads.
+		synchronized (fIndexFilesCache) {
+			return getAvailableIndexFilesInternal(linkageID, ifl);
+		}
+	}
+
+	private IIndexFragmentFile[] getAvailableIndexFilesInternal(int linkageID, IIndexFileLocation ifl)
+			throws CoreException {
 		IIndexFragmentFile[] files = fIndexFilesCache.get(ifl);
 		if (files == null) {
 			IIndexFragmentFile[] fragFiles = fIndex.getWritableFiles(linkageID, ifl);
@@ -26,4 +26,13 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+	public int fConstexprEvaluationCount = 0;
+	public long fConstexprEvaluationSteps = 0;
+	public int fConstexprBudgetExceededCount = 0;
+	public int fConstexprCallCacheHits = 0;
+	public int fDeferredFunctionBodyCount = 0;
+	public int fParsedDeferredFunctionBodyCount = 0;
+	public int fParserThreadCount = 1;
+	public int[] fParsedFilesPerThread = {};
+	public int[] fParsingTimePerThread = {};
 }
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of the time spent waiting for or holding a lock of the index. Durations are
+ * counted in buckets of powers of two microseconds, bucket {@code i} counts the durations
+ * below {@link #getBucketLimit(int)}. Thread-safe.
+ */
+public final class LockTimeHistogram {
+	public static final int BUCKET_COUNT = 32;
+
+	private final AtomicLongArray fBuckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder fTotalNanos = new LongAdder();
+
+	/**
+	 * Records a duration.
+	 */
+	public void record(long nanos) {
+		fBuckets.incrementAndGet(getBucket(nanos));
+		fTotalNanos.add(nanos);
+	}
+
+	static int getBucket(long nanos) {
+		final long micros = nanos / 1000;
+		if (micros <= 0)
+			return 0;
+		return Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+	}
+
+	/**
+	 * Returns the upper limit of the durations counted in the given bucket in nanoseconds,
+	 * the last bucket is unbounded.
+	 */
+	public static long getBucketLimit(int bucket) {
+		return bucket < BUCKET_COUNT - 1 ? 1000L << bucket : Long.MAX_VALUE;
+	}
+
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			count += fBuckets.get(i);
+		}
+		return count;
+	}
+
+	public long getCount(int bucket) {
+		return fBuckets.get(bucket);
+	}
+
+	public long getTotalNanos() {
+		return fTotalNanos.sum();
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of the recorded durations in nanoseconds,
+	 * or 0 if nothing has been recorded.
+	 */
+	public long getPercentile(double percentile) {
+		final long count = getCount();
+		if (count == 0)
+			return 0;
+		final long rank = (long) Math.ceil(count * percentile / 100);
+		long sum = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			sum += fBuckets.get(i);
+			if (sum >= rank)
+				return getBucketLimit(i);
+		}
+		return getBucketLimit(BUCKET_COUNT - 1);
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			fBuckets.set(i, 0);
+		}
+		fTotalNanos.reset();
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		final long count = getCount();
+		StringBuilder buf = new StringBuilder();
+		buf.append(count).append(" times");
+		if (count > 0) {
+			buf.append(", ").append(getTotalNanos() / 1000000).append(" ms total");
+			buf.append(", 50% < ").append(format(getPercentile(50)));
+			buf.append(", 99% < ").append(format(getPercentile(99)));
+			buf.append(" [");
+			String sep = "";
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				final long n = fBuckets.get(i);
+				if (n != 0) {
+					buf.append(sep).append('<').append(format(getBucketLimit(i))).append(": ").append(n);
+					sep = ", ";
+				}
+			}
+			buf.append(']');
+		}
+		return buf.toString();
+	}
+
+	@SuppressWarnings("nls")
+	private static String format(long nanos) {
+		if (nanos == Long.MAX_VALUE)
+			return "inf";
+		if (nanos < 1000000)
+			return nanos / 1000 + "us";
+		if (nanos < 1000000000)
+			return nanos / 1000000 + "ms";
+		return nanos / 1000000000 + "s";
+	}
+}
@@ -81,6 +81,8 @@ import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMStringTable;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMTrigramIndex;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.CompoundRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.FindBinding;
@@ -90,8 +92,10 @@ import org.eclipse.cdt.internal.core.pdom.dom.IRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.MacroContainerCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.MacroContainerPatternCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMEnclosedNamesIndex;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMInclude;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMInheritanceIndex;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroContainer;
@@ -114,7 +118,6 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private static final int CANCELLATION_CHECK_INTERVAL = 500;
 	private static final int BLOCKED_WRITE_LOCK_OUTPUT_INTERVAL = 30000;
 	private static final int LONG_WRITE_LOCK_REPORT_THRESHOLD = 1000;
-	private static final int LONG_READ_LOCK_WAIT_REPORT_THRESHOLD = 1000;
 	static boolean sDEBUG_LOCKS; // Initialized in the PDOMManager, because IBM needs PDOM independent of runtime plugin.
 
 	/**
@@ -311,10 +314,15 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *  221.0 - Blocks aligned to 16 bytes, raising the maximum database size from 32GB to 64GB
+	 *  222.0 - Names of bindings are interned in a string table
+	 *  223.0 - Trigram index of the names in the string table
+	 *  224.0 - Index of the names enclosed by definitions
+	 *  225.0 - Index of the base specifiers by their base class
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(225, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(225, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(225, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -351,7 +359,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 	public static final int INDEX_OF_FILES_WITH_UNRESOLVED_INCLUDES = Database.DATA_AREA + 12;
 	public static final int PROPERTIES = Database.DATA_AREA + 16;
 	public static final int TAG_INDEX = Database.DATA_AREA + 20;
-	public static final int END = Database.DATA_AREA + 24;
+	public static final int STRING_TABLE = Database.DATA_AREA + 24;
+	public static final int TRIGRAM_INDEX = Database.DATA_AREA + 28;
+	public static final int ENCLOSED_NAMES_INDEX = Database.DATA_AREA + 32;
+	public static final int INHERITANCE_INDEX = Database.DATA_AREA + 36;
+	public static final int END = Database.DATA_AREA + 40;
 	static {
 		assert END <= Database.CHUNK_SIZE;
 	}
@@ -413,6 +425,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	protected Database db;
 	private BTree fileIndex;
 	private PDOMTagIndex tagIndex;
+	private PDOMStringTable stringTable;
+	private PDOMEnclosedNamesIndex enclosedNamesIndex;
+	private PDOMInheritanceIndex inheritanceIndex;
 	private BTree indexOfDefectiveFiles;
 	private BTree indexOfFiledWithUnresolvedIncludes;
 	private final Map<Integer, PDOMLinkage> fLinkageIDCache = new HashMap<>();
@@ -552,6 +567,36 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return tagIndex;
 	}
 
+	/**
+	 * Returns the table of interned strings, used for the names of bindings.
+	 */
+	public PDOMStringTable getStringTable() {
+		if (stringTable == null) {
+			stringTable = new PDOMStringTable(db, STRING_TABLE, new PDOMTrigramIndex(db, TRIGRAM_INDEX));
+		}
+		return stringTable;
+	}
+
+	/**
+	 * Returns the index of the names enclosed by definitions.
+	 */
+	public PDOMEnclosedNamesIndex getEnclosedNamesIndex() {
+		if (enclosedNamesIndex == null) {
+			enclosedNamesIndex = new PDOMEnclosedNamesIndex(db, ENCLOSED_NAMES_INDEX);
+		}
+		return enclosedNamesIndex;
+	}
+
+	/**
+	 * Returns the index of the base specifiers by their base class.
+	 */
+	public PDOMInheritanceIndex getInheritanceIndex() {
+		if (inheritanceIndex == null) {
+			inheritanceIndex = new PDOMInheritanceIndex(db, INHERITANCE_INDEX);
+		}
+		return inheritanceIndex;
+	}
+
 	/**
 	 * Returns the index of files that were read with I/O errors.
 	 */
@@ -818,6 +863,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 			}
 		}
 
+		// Use the trigram index to find the names that may match the last segment of the pattern.
+		int[] trigrams = PDOMTrigramIndex.getRequiredTrigrams(patterns[patterns.length - 1]);
+		if (trigrams != null) {
+			return findBindingsForTrigrams(trigrams, patterns, isFullyQualified, filter, monitor);
+		}
+
 		BindingFinder finder = new BindingFinder(patterns, isFullyQualified, filter, monitor);
 		for (PDOMLinkage linkage : getLinkageList()) {
 			if (filter.acceptLinkage(linkage)) {
@@ -833,6 +884,54 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return finder.getBindings();
 	}
 
+	private IIndexFragmentBinding[] findBindingsForTrigrams(int[] trigrams, Pattern[] patterns,
+			boolean isFullyQualified, IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		final Pattern lastPattern = patterns[patterns.length - 1];
+		final boolean filescope = isFullyQualified && patterns.length == 1;
+		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
+		for (long nameRecord : getStringTable().getTrigramIndex().findCandidates(trigrams)) {
+			if (monitor.isCanceled())
+				return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+
+			char[] name = db.getString(nameRecord).getChars();
+			if (!lastPattern.matcher(new String(name)).matches())
+				continue;
+
+			for (IIndexFragmentBinding cand : findBindings(name, filescope, true, filter, monitor)) {
+				if (patterns.length == 1 || matches(cand, patterns, isFullyQualified)) {
+					result.add(cand);
+				}
+			}
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
+	private boolean matches(IIndexFragmentBinding cand, Pattern[] patterns, boolean isFullyQualified)
+			throws CoreException {
+		for (int i = patterns.length; --i >= 0; cand = cand.getOwner()) {
+			if (cand == null)
+				return false;
+
+			char[] name = cand.getNameCharArray();
+			if (!patterns[i].matcher(new String(name)).matches()) {
+				if (cand instanceof IEnumeration) {
+					if (cand instanceof ICPPEnumeration && ((ICPPEnumeration) cand).isScoped())
+						return false;
+					// Unscoped enumerations are not part of the qualified name.
+					i++;
+				} else if (cand instanceof ICPPNamespace && name.length == 0) {
+					// Anonymous namespaces are not part of the qualified name.
+					i++;
+				} else {
+					return false;
+				}
+			}
+		}
+		// Toplevel anonymous namespaces are not part of the qualified name either.
+		return !isFullyQualified || cand == null
+				|| (cand instanceof ICPPNamespace && cand.getNameCharArray().length == 0);
+	}
+
 	private Boolean getCaseSensitive(Pattern[] patterns) {
 		Boolean caseSensitive = null;
 		for (Pattern p : patterns) {
@@ -1009,9 +1108,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
 
+	// Lock statistics
+	private final LockTimeHistogram fReadLockWaitTimes = new LockTimeHistogram();
+	private final LockTimeHistogram fWriteLockWaitTimes = new LockTimeHistogram();
+	private final LockTimeHistogram fWriteLockHoldTimes = new LockTimeHistogram();
+
 	@Override
 	public void acquireReadLock() throws InterruptedException {
-		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
+		final long start = System.nanoTime();
 		synchronized (mutex) {
 			++waitingReaders;
 			try {
@@ -1024,13 +1128,10 @@ public class PDOM extends PlatformObject implements IPDOM {
 			db.setLocked(true);
 
 			if (sDEBUG_LOCKS) {
-				t = (System.nanoTime() - t) / 1000000;
-				if (t >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
-					System.out.println("Acquired index read lock after " + t + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
-				}
 				incReadLock(fLockDebugging);
 			}
 		}
+		fReadLockWaitTimes.record(System.nanoTime() - start);
 	}
 
 	@Override
@@ -1089,6 +1190,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 			}
 
 			// Let the readers go first
+			final long waitStart = System.nanoTime();
 			long start = sDEBUG_LOCKS ? System.currentTimeMillis() : 0;
 			int count = 0;
 			while (lockCount > giveupReadLocks || waitingReaders > 0) {
@@ -1105,8 +1207,8 @@ public class PDOM extends PlatformObject implements IPDOM {
 				}
 			}
 			lockCount = -1;
-			if (sDEBUG_LOCKS)
-				timeWriteLockAcquired = System.currentTimeMillis();
+			timeWriteLockAcquired = System.nanoTime();
+			fWriteLockWaitTimes.record(timeWriteLockAcquired - waitStart);
 			db.setExclusiveLock();
 		}
 		if (monitor != null)
@@ -1117,7 +1219,6 @@ public class PDOM extends PlatformObject implements IPDOM {
 		releaseWriteLock(0, true);
 	}
 
-	@SuppressWarnings("nls")
 	public void releaseWriteLock(int establishReadLocks, boolean flush) {
 		// When all locks are released we can clear the result cache.
 		if (establishReadLocks == 0) {
@@ -1135,13 +1236,10 @@ public class PDOM extends PlatformObject implements IPDOM {
 		fEvent = new ChangeEvent();
 		synchronized (mutex) {
 			if (sDEBUG_LOCKS) {
-				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
-				if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
-					System.out.println("Index write lock held for " + timeHeld + " ms");
-				}
 				decWriteLock(establishReadLocks);
 			}
 
+			fWriteLockHoldTimes.record(System.nanoTime() - timeWriteLockAcquired);
 			if (lockCount < 0)
 				lockCount = establishReadLocks;
 			mutex.notifyAll();
@@ -1150,6 +1248,27 @@ public class PDOM extends PlatformObject implements IPDOM {
 		fireChange(event);
 	}
 
+	/**
+	 * Returns the times readers waited for the read lock.
+	 */
+	public LockTimeHistogram getReadLockWaitTimes() {
+		return fReadLockWaitTimes;
+	}
+
+	/**
+	 * Returns the times writers waited for the write lock.
+	 */
+	public LockTimeHistogram getWriteLockWaitTimes() {
+		return fWriteLockWaitTimes;
+	}
+
+	/**
+	 * Returns the times the write lock was held.
+	 */
+	public LockTimeHistogram getWriteLockHoldTimes() {
+		return fWriteLockHoldTimes;
+	}
+
 	@Override
 	public boolean hasWaitingReaders() {
 		synchronized (mutex) {
@@ -1257,6 +1376,15 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private void findNamesForMyBinding(PDOMBinding pdomBinding, int options, ArrayList<IIndexFragmentName> names)
 			throws CoreException {
 		PDOMName name;
+		if ((options & FIND_BASE_SPECIFIERS_ONLY) != 0) {
+			for (long record : getInheritanceIndex().getBaseSpecifiers(pdomBinding.getRecord())) {
+				name = new PDOMName(pdomBinding.getLinkage(), record);
+				if (isCommitted(name) && !name.isPotentialMatch() && hasRole(name, options)) {
+					names.add(name);
+				}
+			}
+			return;
+		}
 		if ((options & FIND_DECLARATIONS) != 0) {
 			for (name = pdomBinding.getFirstDeclaration(); name != null; name = name.getNextInBinding()) {
 				if (isCommitted(name) && !name.isPotentialMatch()) {
@@ -1286,6 +1414,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 		}
 	}
 
+	private static boolean hasRole(PDOMName name, int options) {
+		if (name.isDefinition())
+			return (options & FIND_DEFINITIONS) != 0;
+		if (name.isDeclaration())
+			return (options & FIND_DECLARATIONS) != 0;
+		return (options & FIND_REFERENCES) != 0;
+	}
+
 	private void findNamesForMyBinding(PDOMMacroContainer container, int options, ArrayList<IIndexFragmentName> names)
 			throws CoreException {
 		if ((options & FIND_DEFINITIONS) != 0) {
@@ -1514,6 +1650,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private void clearCaches() {
 		fileIndex = null;
 		tagIndex = null;
+		stringTable = null;
+		enclosedNamesIndex = null;
+		inheritanceIndex = null;
 		indexOfDefectiveFiles = null;
 		indexOfFiledWithUnresolvedIncludes = null;
 		fLinkageIDCache.clear();
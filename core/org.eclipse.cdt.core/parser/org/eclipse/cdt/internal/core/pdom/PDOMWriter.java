@@ -28,7 +28,9 @@ import java.util.Set;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
@@ -541,6 +543,18 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 				}
 			}
 
+			@Override
+			public int visit(IASTDeclaration decl) {
+				// Names in the bodies of functions defined in files that are not updated are not
+				// needed. Skipping them saves parsing the bodies deferred by the parser.
+				if (decl instanceof IASTFunctionDefinition) {
+					IASTFileLocation declLoc = decl.getFileLocation();
+					if (declLoc != null && !symbolMap.containsKey(declLoc.getContextInclusionStatement()))
+						return PROCESS_SKIP;
+				}
+				return super.visit(decl);
+			}
+
 			private void checkForCancellation() {
 				if (cancelationCheckThrottler <= 0) {
 					if (fCancelState.isCanceled())
@@ -203,6 +203,123 @@ public class BTree {
 		}
 	}
 
+	/**
+	 * Inserts the given records into the B-tree. The records are sorted first, such that
+	 * consecutive insertions share their path from the root. An empty B-tree is built bottom-up
+	 * instead, which writes each node once and allocates the nodes in key order.
+	 * <p>
+	 * As with {@link #insert(long)}, a record is not inserted when the B-tree already contains
+	 * a matching record, or when it matches another one of the given records.
+	 *
+	 * @param records the records to insert, the array is reordered
+	 * @param length the number of records at the beginning of the array to insert
+	 */
+	public void insertAll(long[] records, int length) throws CoreException {
+		if (length == 0)
+			return;
+
+		sort(records, length);
+		if (getRoot() == 0) {
+			int count = 1;
+			for (int i = 1; i < length; i++) {
+				if (cmp.compare(records[count - 1], records[i]) != 0) {
+					records[count++] = records[i];
+				}
+			}
+			buildBottomUp(records, count);
+		} else {
+			for (int i = 0; i < length; i++) {
+				insert(records[i]);
+			}
+		}
+	}
+
+	/**
+	 * Stable merge sort using the comparator of this B-tree.
+	 */
+	private void sort(long[] records, int length) throws CoreException {
+		long[] src = records;
+		long[] dst = new long[length];
+		for (int width = 1; width < length; width *= 2) {
+			for (int lo = 0; lo < length; lo += 2 * width) {
+				final int mid = Math.min(lo + width, length);
+				final int hi = Math.min(lo + 2 * width, length);
+				int i = lo, j = mid, k = lo;
+				while (i < mid && j < hi) {
+					dst[k++] = cmp.compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+				}
+				while (i < mid) {
+					dst[k++] = src[i++];
+				}
+				while (j < hi) {
+					dst[k++] = src[j++];
+				}
+			}
+			long[] tmp = src;
+			src = dst;
+			dst = tmp;
+		}
+		if (src != records) {
+			System.arraycopy(src, 0, records, 0, length);
+		}
+	}
+
+	/**
+	 * Creates the nodes for the sorted records one level at a time, starting with the leaves.
+	 * Between two adjacent nodes of a level one record is left out, it becomes the separator in
+	 * the parent level.
+	 */
+	private void buildBottomUp(long[] keys, int count) throws CoreException {
+		long[] children = null;
+		while (true) {
+			final int nodes = getNodeCount(count);
+			final long[] parents = new long[nodes];
+			final long[] separators = new long[nodes - 1];
+			final int keysInNodes = count - (nodes - 1);
+			int k = 0;
+			int c = 0;
+			for (int n = 0; n < nodes; n++) {
+				final int keyCount = keysInNodes / nodes + (n < keysInNodes % nodes ? 1 : 0);
+				final long node = allocateNode();
+				final Chunk chunk = db.getChunk(node);
+				for (int i = 0; i < keyCount; i++) {
+					if (children != null) {
+						putChild(chunk, node, i, children[c++]);
+					}
+					putRecord(chunk, node, i, keys[k++]);
+				}
+				if (children != null) {
+					putChild(chunk, node, keyCount, children[c++]);
+				}
+				parents[n] = node;
+				if (n < nodes - 1) {
+					separators[n] = keys[k++];
+				}
+			}
+			if (nodes == 1) {
+				db.putRecPtr(rootPointer, parents[0]);
+				return;
+			}
+			keys = separators;
+			count = separators.length;
+			children = parents;
+		}
+	}
+
+	/**
+	 * Returns the number of nodes needed for a level with the given number of records. The
+	 * nodes are left with a free slot where possible, a full node is split by the next insert
+	 * that passes it.
+	 */
+	private int getNodeCount(int count) {
+		// Nodes with up to MAX_RECORDS - 1 records, unless that violates the minimum.
+		int nodes = (count + MAX_RECORDS) / MAX_RECORDS;
+		if (nodes > 1 && (count - nodes + 1) / nodes < MIN_RECORDS) {
+			nodes = (count + MAX_RECORDS + 1) / (MAX_RECORDS + 1);
+		}
+		return nodes;
+	}
+
 	private void firstInsert(long record) throws CoreException {
 		// Create the node and save it as root.
 		long root = allocateNode();
@@ -33,7 +33,10 @@ final class Chunk {
 	boolean fCacheHitFlag;
 	boolean fDirty;
 	boolean fLocked; // locked chunks must not be released from cache.
-	int fCacheIndex = -1;
+	int fCacheQueue = ChunkCache.NOT_CACHED;
+	int fCacheLoadCount;
+	Chunk fCachePrev;
+	Chunk fCacheNext;
 
 	Chunk(Database db, int sequenceNumber) {
 		fDatabase = db;
@@ -13,12 +13,91 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of chunks shared by one or more databases. The replacement policy is a variant of 2Q:
+ * chunks enter a FIFO probation queue. References to a chunk shortly after it was loaded are
+ * correlated (e.g. reading the fields of a record) and are not counted. A chunk that is
+ * referenced again after that, or that is loaded again while it is remembered in the ghost
+ * queue of recently evicted chunks, is considered to be part of the working set and moves to
+ * the protected queue, which is managed with the CLOCK algorithm. A scan over the database
+ * therefore only cycles through the probation queue and does not evict the working set.
+ * <p>
+ * The monitor of the cache protects the queues and the chunk tables of the databases using it.
+ * Hits on chunks that are held by a database are recorded without the monitor, see
+ * {@link #touch(Chunk)}.
+ */
 public final class ChunkCache {
+	static final int NOT_CACHED = -1;
+	static final int PROBATION = 0;
+	static final int PROTECTED = 1;
+
+	// Share of the capacity used for the probation queue, and the number of chunks
+	// remembered by the ghost queue, as recommended for 2Q.
+	private static final int PROBATION_SHARE_PERCENT = 25;
+	private static final int GHOST_SHARE_PERCENT = 50;
+	// References to a chunk on probation are correlated, while less than this share of the
+	// probation queue has been loaded after it.
+	private static final int CORRELATION_SHARE_PERCENT = 25;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	/** Doubly linked list of chunks, linked via the chunk fields. */
+	private static final class Queue {
+		final int fId;
+		Chunk fHead;
+		Chunk fTail;
+		int fSize;
+
+		Queue(int id) {
+			fId = id;
+		}
+
+		void addLast(Chunk chunk) {
+			chunk.fCacheQueue = fId;
+			chunk.fCachePrev = fTail;
+			chunk.fCacheNext = null;
+			if (fTail == null) {
+				fHead = chunk;
+			} else {
+				fTail.fCacheNext = chunk;
+			}
+			fTail = chunk;
+			fSize++;
+		}
+
+		void remove(Chunk chunk) {
+			if (chunk.fCachePrev == null) {
+				fHead = chunk.fCacheNext;
+			} else {
+				chunk.fCachePrev.fCacheNext = chunk.fCacheNext;
+			}
+			if (chunk.fCacheNext == null) {
+				fTail = chunk.fCachePrev;
+			} else {
+				chunk.fCacheNext.fCachePrev = chunk.fCachePrev;
+			}
+			chunk.fCachePrev = chunk.fCacheNext = null;
+			chunk.fCacheQueue = NOT_CACHED;
+			fSize--;
+		}
+	}
+
+	private final Queue fProbation = new Queue(PROBATION);
+	private final Queue fProtected = new Queue(PROTECTED);
+	private final LinkedHashSet<Long> fGhosts = new LinkedHashSet<>();
+	private int fCapacity;
+	private int fProbationCapacity;
+	private int fGhostCapacity;
+	private int fCorrelationWindow;
+	private int fLoadCount; // Chunks added to probation, wraps around.
+
+	private final LongAdder fHits = new LongAdder();
+	private long fMisses;
+	private long fEvictions;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,74 +108,105 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		setCapacity(computeLength(maxSize));
 	}
 
 	public synchronized void add(Chunk chunk, boolean locked) {
 		if (locked) {
 			chunk.fLocked = true;
 		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
+		if (chunk.fCacheQueue != NOT_CACHED) {
+			touch(chunk);
 			return;
 		}
-		if (fTableIsFull) {
+		if (fProbation.fSize + fProtected.fSize >= fCapacity) {
 			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
+		}
+		if (fGhosts.remove(ghostKey(chunk))) {
+			// The chunk was loaded again shortly after it was evicted from probation.
+			chunk.fCacheHitFlag = true;
+			fProtected.addLast(chunk);
 		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
+			chunk.fCacheHitFlag = false;
+			chunk.fCacheLoadCount = ++fLoadCount;
+			fProbation.addLast(chunk);
+		}
+	}
 
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
+	/**
+	 * Marks a chunk as referenced. May be called without holding the monitor of the cache,
+	 * the flag is a hint for the replacement policy, only.
+	 */
+	void touch(Chunk chunk) {
+		if (chunk.fCacheQueue != PROBATION || fLoadCount - chunk.fCacheLoadCount > fCorrelationWindow) {
+			chunk.fCacheHitFlag = true;
 		}
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Evicts a chunk from the cache and releases it from the chunk table of its database.
 	 */
 	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
+		Chunk chunk = null;
+		while (fProbation.fSize > fProbationCapacity || fProtected.fSize == 0) {
+			chunk = fProbation.fHead;
+			fProbation.remove(chunk);
+			if (!chunk.fCacheHitFlag) {
+				fGhosts.add(ghostKey(chunk));
+				trimGhosts();
+				break;
+			}
+			// Referenced while on probation, keep it.
+			fProtected.addLast(chunk);
+			chunk = null;
+		}
+		if (chunk == null) {
+			chunk = findProtectedVictim();
+			fProtected.remove(chunk);
+		}
+		fEvictions++;
+		chunk.fDatabase.releaseChunk(chunk);
+	}
+
+	/**
+	 * Use the CLOCK algorithm to determine which chunk to evict from the protected queue.
+	 * i.e., if the chunk at the head of the queue has been recently referenced (i.e. the
+	 * reference flag is set), unset the reference flag and move it to the end of the queue.
+	 * Otherwise, it is the victim.
+	 */
+	private Chunk findProtectedVictim() {
 		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
+			Chunk chunk = fProtected.fHead;
+			if (!chunk.fCacheHitFlag) {
+				return chunk;
 			}
+			chunk.fCacheHitFlag = false;
+			fProtected.remove(chunk);
+			fProtected.addLast(chunk);
 		}
 	}
 
+	private void trimGhosts() {
+		Iterator<Long> it = fGhosts.iterator();
+		for (int n = fGhosts.size() - fGhostCapacity; n > 0; n--) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	private static Long ghostKey(Chunk chunk) {
+		// Collisions between databases are harmless, they just promote a chunk early.
+		return ((long) System.identityHashCode(chunk.fDatabase) << 32) | chunk.fSequenceNumber;
+	}
+
 	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
+		switch (chunk.fCacheQueue) {
+		case PROBATION:
+			fProbation.remove(chunk);
+			break;
+		case PROTECTED:
+			fProtected.remove(chunk);
+			break;
 		}
 	}
 
@@ -104,39 +214,72 @@ public final class ChunkCache {
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
 	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+		return (long) fCapacity * Database.CHUNK_SIZE;
 	}
 
 	/**
-	 * Clears the page table and changes it to hold chunks with
-	 * maximum total memory of <code>maxSize</code>.
+	 * Changes the cache to hold chunks with maximum total memory of <code>maxSize</code>,
+	 * evicting chunks if necessary.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
 	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+		setCapacity(computeLength(maxSize));
+		while (fProbation.fSize + fProtected.fSize > fCapacity) {
+			evictChunk();
 		}
+		trimGhosts();
+	}
+
+	private void setCapacity(int capacity) {
+		fCapacity = capacity;
+		fProbationCapacity = Math.max(1, (int) ((long) capacity * PROBATION_SHARE_PERCENT / 100));
+		fGhostCapacity = Math.max(1, (int) ((long) capacity * GHOST_SHARE_PERCENT / 100));
+		fCorrelationWindow = (int) ((long) fProbationCapacity * CORRELATION_SHARE_PERCENT / 100);
 	}
 
 	private int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
 	}
+
+	/**
+	 * Records a hit on a chunk, may be called without holding the monitor of the cache.
+	 */
+	void countHit() {
+		fHits.increment();
+	}
+
+	/**
+	 * Records a chunk that had to be read from disk, the caller holds the monitor of the cache.
+	 */
+	void countMiss() {
+		fMisses++;
+	}
+
+	/**
+	 * Returns the number of chunk accesses of all databases using this cache that were served
+	 * from memory.
+	 */
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of chunks that had to be read from disk by all databases using this cache.
+	 */
+	public synchronized long getMisses() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the number of chunks that have been evicted from this cache.
+	 */
+	public synchronized long getEvictions() {
+		return fEvictions;
+	}
+
+	public synchronized void resetCounters() {
+		fHits.reset();
+		fMisses = fEvictions = 0;
+	}
 }
@@ -22,6 +22,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
@@ -33,6 +35,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -58,10 +61,10 @@ import org.eclipse.osgi.util.NLS;
  * 0                | version number
  * INT_SIZE         | pointer to head of linked list of blocks of size MIN_BLOCK_DELTAS*BLOCK_SIZE_DELTA
  * ..               | ...
- * INT_SIZE * m (1) | pointer to head of linked list of blocks of size (m + MIN_BLOCK_DELTAS) * BLOCK_SIZE_DELTA
+ * INT_SIZE * m (1) | pointer to head of linked list of blocks of size (m + MIN_BLOCK_DELTAS - 1) * BLOCK_SIZE_DELTA
  * DATA_AREA        | undefined (PDOM stores its own house-keeping data in this area)
  *
- * (1) where 2 <= m <= CHUNK_SIZE / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 1
+ * (1) where 1 <= m <= CHUNK_SIZE / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 1
  *
  * ===== block structure
  *
@@ -78,9 +81,11 @@ public class Database {
 	public static final int CHUNK_SIZE = 1024 * 4;
 	public static final int OFFSET_IN_CHUNK_MASK = CHUNK_SIZE - 1;
 	public static final int BLOCK_HEADER_SIZE = 2;
-	public static final int BLOCK_SIZE_DELTA_BITS = 3;
+	// Blocks are aligned to BLOCK_SIZE_DELTA, record pointers are stored without the alignment bits
+	// such that 4 byte pointers can address up to MAX_DB_SIZE.
+	public static final int BLOCK_SIZE_DELTA_BITS = 4;
 	public static final int BLOCK_SIZE_DELTA = 1 << BLOCK_SIZE_DELTA_BITS;
-	public static final int MIN_BLOCK_DELTAS = 2; // a block must at least be 2 + 2*4 bytes to link the free blocks.
+	public static final int MIN_BLOCK_DELTAS = 1; // a block must at least be 2 + 2*4 bytes to link the free blocks.
 	public static final int MAX_BLOCK_DELTAS = CHUNK_SIZE / BLOCK_SIZE_DELTA;
 	public static final int MAX_MALLOC_SIZE = MAX_BLOCK_DELTAS * BLOCK_SIZE_DELTA - BLOCK_HEADER_SIZE;
 	public static final int PTR_SIZE = 4; // size of a pointer in the database in bytes
@@ -99,9 +104,21 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * Chunks are read via memory mapped segments of the file rather than via the file channel.
+	 * Off by default, because a mapped file cannot be truncated or deleted on some platforms
+	 * until the mapping is garbage collected.
+	 */
+	private static final boolean USE_MEMORY_MAPPING = Boolean
+			.getBoolean("org.eclipse.cdt.core.parser.pdom.mmap"); //$NON-NLS-1$
+
+	// Access to the elements of fChunks by readers that don't hold the monitor of the cache.
+	private static final VarHandle CHUNK_ARRAY = MethodHandles.arrayElementVarHandle(Chunk[].class);
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
+	private final MappedFileSegments fMappedSegments;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -115,8 +132,9 @@ public class Database {
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
+	private final LongAdder cacheHits = new LongAdder();
 	private long cacheMisses;
+	private long cacheEvictions;
 
 	/** Soft reference wrapper to keep track of the record for disposed strings. */
 	private static class SoftStringRef extends SoftReference<IString> {
@@ -145,10 +163,25 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, USE_MEMORY_MAPPING);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param useMemoryMapping whether chunks are read from memory mapped segments of the file
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean useMemoryMapping)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			fMappedSegments = useMemoryMapping ? new MappedFileSegments() : null;
 			openFile();
 
 			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
@@ -177,6 +210,8 @@ public class Database {
 		int retries = 0;
 		do {
 			try {
+				if (fMappedSegments != null && fMappedSegments.read(fFile.getChannel(), buf, position))
+					return;
 				fFile.getChannel().read(buf, position);
 				return;
 			} catch (ClosedChannelException e) {
@@ -247,6 +282,8 @@ public class Database {
 		// Chunks have been removed from the cache, so we may just reset the array of chunks.
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		if (fMappedSegments != null)
+			fMappedSegments.clear();
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
@@ -296,21 +333,38 @@ public class Database {
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
 
+		assert fLocked;
+		final int index = (int) long_index;
+		if (!fExclusiveLock) {
+			// Readers don't modify chunks, a chunk that is evicted concurrently can still be used.
+			final Chunk[] chunks = fChunks;
+			if (index < chunks.length) {
+				Chunk chunk = (Chunk) CHUNK_ARRAY.getAcquire(chunks, index);
+				if (chunk != null) {
+					cacheHits.increment();
+					fCache.countHit();
+					fCache.touch(chunk);
+					return chunk;
+				}
+			}
+		}
+
 		synchronized (fCache) {
-			assert fLocked;
-			final int index = (int) long_index;
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
 			Chunk chunk = fChunks[index];
 			if (chunk == null) {
 				cacheMisses++;
+				fCache.countMiss();
 				chunk = new Chunk(this, index);
 				chunk.read();
-				// Put the chunk in fChunks after it was read successfully.
-				fChunks[index] = chunk;
+				// Put the chunk in fChunks after it was read successfully, publish it to readers
+				// that don't synchronize on the cache.
+				CHUNK_ARRAY.setRelease(fChunks, index, chunk);
 			} else {
-				cacheHits++;
+				cacheHits.increment();
+				fCache.countHit();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
@@ -674,6 +728,8 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		if (fMappedSegments != null)
+			fMappedSegments.clear();
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -682,6 +738,13 @@ public class Database {
 		clearStringCache();
 	}
 
+	/**
+	 * Returns whether chunks are read from memory mapped segments of the file.
+	 */
+	public boolean isMemoryMapped() {
+		return fMappedSegments != null && !fMappedSegments.isDisabled();
+	}
+
 	/**
 	 * This method is public for testing purposes only.
 	 */
@@ -693,6 +756,7 @@ public class Database {
 	 * Called from any thread via the cache, protected by {@link #fCache}.
 	 */
 	void releaseChunk(final Chunk chunk) {
+		cacheEvictions++;
 		if (!chunk.fLocked) {
 			fChunks[chunk.fSequenceNumber] = null;
 		}
@@ -727,7 +791,7 @@ public class Database {
 					for (int i = 1; i < fChunksUsed; i++) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
-							if (chunk.fCacheIndex < 0) {
+							if (chunk.fCacheQueue == ChunkCache.NOT_CACHED) {
 								// Locked chunk that has been removed from cache.
 								if (chunk.fDirty) {
 									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
@@ -811,7 +875,7 @@ public class Database {
 				synchronized (fCache) {
 					for (Chunk chunk : dirtyChunks) {
 						chunk.fLocked = false;
-						if (chunk.fCacheIndex < 0) {
+						if (chunk.fCacheQueue == ChunkCache.NOT_CACHED) {
 							fChunks[chunk.fSequenceNumber] = null;
 						}
 					}
@@ -841,15 +905,29 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		synchronized (fCache) {
+			cacheMisses = cacheEvictions = 0;
+		}
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		synchronized (fCache) {
+			return cacheMisses;
+		}
+	}
+
+	/**
+	 * Returns the number of chunks of this database that have been evicted from the cache.
+	 */
+	public long getCacheEvictions() {
+		synchronized (fCache) {
+			return cacheEvictions;
+		}
 	}
 
 	public long getSizeBytes() {
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Read access to the database file via read-only memory mapped segments. Reading a chunk
+ * becomes a copy out of the page cache instead of a system call. Writes keep going through
+ * the file channel, the mappings observe them.
+ * <p>
+ * The mappings cover the file as it is at the time a segment is mapped, a segment is
+ * re-mapped when the file has grown beyond it. Not thread-safe, the database serializes
+ * the reads.
+ */
+final class MappedFileSegments {
+	// Must be a multiple of the chunk size, such that a chunk never spans two segments.
+	static final int SEGMENT_SIZE = Database.CHUNK_SIZE * 1024 * 16; // 64MB
+
+	private MappedByteBuffer[] fSegments = new MappedByteBuffer[0];
+	private boolean fDisabled;
+
+	/**
+	 * Copies the content at the given position into the buffer.
+	 *
+	 * @return {@code false} if the content is not covered by the file or cannot be mapped, in
+	 *     which case the caller has to read it from the channel.
+	 */
+	boolean read(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		if (fDisabled)
+			return false;
+
+		final int length = buf.remaining();
+		final long segmentIndex = position / SEGMENT_SIZE;
+		final int offset = (int) (position % SEGMENT_SIZE);
+		if (segmentIndex >= Integer.MAX_VALUE || offset + length > SEGMENT_SIZE)
+			return false;
+
+		MappedByteBuffer segment = getSegment(channel, (int) segmentIndex, offset + length);
+		if (segment == null)
+			return false;
+
+		buf.put(buf.position(), segment, offset, length);
+		buf.position(buf.position() + length);
+		return true;
+	}
+
+	private MappedByteBuffer getSegment(FileChannel channel, int index, int requiredSize) throws IOException {
+		if (index >= fSegments.length) {
+			MappedByteBuffer[] segments = new MappedByteBuffer[index + 1];
+			System.arraycopy(fSegments, 0, segments, 0, fSegments.length);
+			fSegments = segments;
+		}
+		MappedByteBuffer segment = fSegments[index];
+		if (segment == null || segment.capacity() < requiredSize) {
+			final long start = (long) index * SEGMENT_SIZE;
+			final long size = Math.min(SEGMENT_SIZE, channel.size() - start);
+			if (size < requiredSize)
+				return null;
+			try {
+				segment = channel.map(MapMode.READ_ONLY, start, size);
+			} catch (ClosedChannelException e) {
+				// The channel was closed, e.g. by interrupting a thread, the database handles that.
+				throw e;
+			} catch (IOException | UnsupportedOperationException e) {
+				// For example out of address space or a file system that does not support mapping,
+				// fall back to reading from the channel.
+				clear();
+				fDisabled = true;
+				return null;
+			}
+			fSegments[index] = segment;
+		}
+		return segment;
+	}
+
+	/**
+	 * Returns whether mapping failed, such that the content is always read from the channel.
+	 */
+	boolean isDisabled() {
+		return fDisabled;
+	}
+
+	/**
+	 * Drops the mappings, must be called when the file is truncated or closed.
+	 */
+	void clear() {
+		fSegments = new MappedByteBuffer[0];
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A table of interned strings stored in the Database. Interning the same characters twice
+ * returns the same string record, such that equal strings can be compared via their records.
+ * Each string carries a reference count, it is freed when the last reference is released.
+ * <p>
+ * The entries of the table are kept in a BTree ordered by the hash code of the string and
+ * the string itself. A small in-memory cache avoids the lookup for frequently used strings.
+ * Optionally the table maintains a {@link PDOMTrigramIndex} of its strings.
+ * The table must be modified while holding the write lock of the database, only.
+ */
+public class PDOMStringTable {
+	private static final int HASH = 0;
+	private static final int REFCOUNT = 4;
+	private static final int STRING = 8;
+	private static final int RECORD_SIZE = STRING + Database.PTR_SIZE;
+
+	private static final int CACHE_SIZE = 1024;
+
+	private final Database db;
+	private final BTree btree;
+	private final PDOMTrigramIndex trigramIndex;
+
+	// Maps strings to the records of their entries, in access order.
+	private final Map<String, Long> fCache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	public PDOMStringTable(Database db, long ptr) {
+		this(db, ptr, null);
+	}
+
+	public PDOMStringTable(Database db, long ptr, PDOMTrigramIndex trigramIndex) {
+		this.db = db;
+		this.trigramIndex = trigramIndex;
+		this.btree = new BTree(db, ptr, (record1, record2) -> {
+			int cmp = Integer.compare(db.getInt(record1 + HASH), db.getInt(record2 + HASH));
+			if (cmp == 0) {
+				cmp = getString(record1).compare(getString(record2), true);
+			}
+			return cmp;
+		});
+	}
+
+	private IString getString(long entry) throws CoreException {
+		return db.getString(db.getRecPtr(entry + STRING));
+	}
+
+	/**
+	 * Returns the record of a string with the given characters, creating it if necessary, and
+	 * increments its reference count.
+	 */
+	public long intern(char[] chars) throws CoreException {
+		final String key = new String(chars);
+		long entry = findEntry(key, chars);
+		if (entry == 0) {
+			long stringRecord = db.newString(chars).getRecord();
+			entry = db.malloc(RECORD_SIZE);
+			db.putInt(entry + HASH, CharArrayUtils.hash(chars));
+			db.putInt(entry + REFCOUNT, 1);
+			db.putRecPtr(entry + STRING, stringRecord);
+			btree.insert(entry);
+			if (trigramIndex != null) {
+				trigramIndex.add(stringRecord, chars);
+			}
+			fCache.put(key, entry);
+			return stringRecord;
+		}
+		db.putInt(entry + REFCOUNT, db.getInt(entry + REFCOUNT) + 1);
+		return db.getRecPtr(entry + STRING);
+	}
+
+	/**
+	 * Releases a reference to the given string record, the string is freed when the last
+	 * reference is released. A string that has not been interned is freed immediately.
+	 */
+	public void release(long stringRecord) throws CoreException {
+		if (stringRecord == 0)
+			return;
+
+		final char[] chars = db.getString(stringRecord).getChars();
+		final String key = new String(chars);
+		long entry = findEntry(key, chars);
+		if (entry == 0 || db.getRecPtr(entry + STRING) != stringRecord) {
+			// Not interned, e.g. created by a previous version of the database.
+			db.free(stringRecord);
+			return;
+		}
+		int refCount = db.getInt(entry + REFCOUNT) - 1;
+		if (refCount > 0) {
+			db.putInt(entry + REFCOUNT, refCount);
+			return;
+		}
+		fCache.remove(key);
+		btree.delete(entry);
+		if (trigramIndex != null) {
+			trigramIndex.remove(stringRecord, chars);
+		}
+		db.free(entry);
+		db.free(stringRecord);
+	}
+
+	/**
+	 * Returns the reference count of the given string record, or 0 if it is not interned.
+	 */
+	public int getReferenceCount(long stringRecord) throws CoreException {
+		final char[] chars = db.getString(stringRecord).getChars();
+		long entry = findEntry(new String(chars), chars);
+		if (entry == 0 || db.getRecPtr(entry + STRING) != stringRecord)
+			return 0;
+		return db.getInt(entry + REFCOUNT);
+	}
+
+	private long findEntry(String key, char[] chars) throws CoreException {
+		Long cached = fCache.get(key);
+		if (cached != null)
+			return cached.longValue();
+
+		final int hash = CharArrayUtils.hash(chars);
+		final long[] result = new long[1];
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				int cmp = Integer.compare(db.getInt(record + HASH), hash);
+				if (cmp == 0) {
+					cmp = getString(record).compare(chars, true);
+				}
+				return cmp;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		if (result[0] != 0) {
+			fCache.put(key, result[0]);
+		}
+		return result[0];
+	}
+
+	/**
+	 * Returns the index of the trigrams of the strings, or {@code null}.
+	 */
+	public PDOMTrigramIndex getTrigramIndex() {
+		return trigramIndex;
+	}
+
+	public void clearCaches() {
+		fCache.clear();
+	}
+}
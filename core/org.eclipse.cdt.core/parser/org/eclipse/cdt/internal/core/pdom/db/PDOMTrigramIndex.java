@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * An index of the trigrams contained in the strings of a {@link PDOMStringTable}. It allows to
+ * find the names that may match a regular expression without looking at all of the names.
+ * <p>
+ * The trigrams are computed from the case folded characters of the names, each entry of the
+ * index is a pair of a trigram and a string record, kept in a BTree ordered by the trigram and
+ * the record. Names shorter than three characters are not indexed. Trigrams of characters outside
+ * of the range of 10 bits share entries, the candidates returned by the index therefore need to
+ * be checked against the pattern.
+ */
+public class PDOMTrigramIndex {
+	private static final int TRIGRAM = 0;
+	private static final int STRING = 4;
+	private static final int RECORD_SIZE = STRING + Database.PTR_SIZE;
+
+	private final Database db;
+	private final BTree btree;
+
+	public PDOMTrigramIndex(Database db, long ptr) {
+		this.db = db;
+		this.btree = new BTree(db, ptr, (record1, record2) -> {
+			int cmp = Integer.compare(db.getInt(record1 + TRIGRAM), db.getInt(record2 + TRIGRAM));
+			if (cmp == 0) {
+				cmp = Long.compare(db.getRecPtr(record1 + STRING), db.getRecPtr(record2 + STRING));
+			}
+			return cmp;
+		});
+	}
+
+	/**
+	 * Adds the trigrams of the given string to the index.
+	 */
+	public void add(long stringRecord, char[] chars) throws CoreException {
+		for (int trigram : getTrigrams(chars)) {
+			long entry = db.malloc(RECORD_SIZE);
+			db.putInt(entry + TRIGRAM, trigram);
+			db.putRecPtr(entry + STRING, stringRecord);
+			btree.insert(entry);
+		}
+	}
+
+	/**
+	 * Removes the trigrams of the given string from the index.
+	 */
+	public void remove(long stringRecord, char[] chars) throws CoreException {
+		for (int trigram : getTrigrams(chars)) {
+			long entry = findEntry(trigram, stringRecord);
+			if (entry != 0) {
+				btree.delete(entry);
+				db.free(entry);
+			}
+		}
+	}
+
+	private long findEntry(final int trigram, final long stringRecord) throws CoreException {
+		final long[] result = new long[1];
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				int cmp = Integer.compare(db.getInt(record + TRIGRAM), trigram);
+				if (cmp == 0) {
+					cmp = Long.compare(db.getRecPtr(record + STRING), stringRecord);
+				}
+				return cmp;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the sorted records of the strings that contain all of the given trigrams.
+	 */
+	public long[] findCandidates(int[] trigrams) throws CoreException {
+		long[] result = null;
+		for (int trigram : trigrams) {
+			long[] records = findStrings(trigram);
+			result = result == null ? records : intersect(result, records);
+			if (result.length == 0)
+				break;
+		}
+		return result == null ? new long[0] : result;
+	}
+
+	private long[] findStrings(final int trigram) throws CoreException {
+		final long[][] result = { new long[16] };
+		final int[] count = { 0 };
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return Integer.compare(db.getInt(record + TRIGRAM), trigram);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				if (count[0] == result[0].length) {
+					result[0] = Arrays.copyOf(result[0], count[0] * 2);
+				}
+				result[0][count[0]++] = db.getRecPtr(record + STRING);
+				return true;
+			}
+		});
+		// The entries are ordered by the string records.
+		return Arrays.copyOf(result[0], count[0]);
+	}
+
+	private static long[] intersect(long[] a, long[] b) {
+		long[] result = new long[Math.min(a.length, b.length)];
+		int i = 0, j = 0, k = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[k++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, k);
+	}
+
+	/**
+	 * Returns the distinct trigrams of the given characters.
+	 */
+	public static int[] getTrigrams(char[] chars) {
+		if (chars.length < 3)
+			return new int[0];
+
+		int[] result = new int[chars.length - 2];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = trigram(chars[i], chars[i + 1], chars[i + 2]);
+		}
+		Arrays.sort(result);
+		int k = 0;
+		for (int i = 0; i < result.length; i++) {
+			if (k == 0 || result[k - 1] != result[i]) {
+				result[k++] = result[i];
+			}
+		}
+		return Arrays.copyOf(result, k);
+	}
+
+	private static int trigram(char c0, char c1, char c2) {
+		return (fold(c0) & 0x3ff) << 20 | (fold(c1) & 0x3ff) << 10 | (fold(c2) & 0x3ff);
+	}
+
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Returns trigrams that are contained in every name matching the given pattern, or
+	 * {@code null} if no such trigrams can be determined.
+	 */
+	public static int[] getRequiredTrigrams(Pattern pattern) {
+		if ((pattern.flags() & ~(Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)) != 0)
+			return null;
+
+		// Collects the runs of identifier characters that are not subject to a quantifier.
+		final String regex = pattern.pattern();
+		final int length = regex.length();
+		List<String> literals = new ArrayList<>();
+		StringBuilder run = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			final char c = regex.charAt(i);
+			if (Character.isLetterOrDigit(c) || c == '_') {
+				final char next = i + 1 < length ? regex.charAt(i + 1) : 0;
+				if (next == '?' || next == '*' || next == '{') {
+					endRun(run, literals);
+				} else {
+					run.append(c);
+					if (next == '+') {
+						endRun(run, literals);
+					}
+				}
+				continue;
+			}
+			endRun(run, literals);
+			switch (c) {
+			case '|':
+			case '(':
+			case ')':
+				return null;
+			case '\\':
+				if (i + 1 < length) {
+					final char escaped = regex.charAt(++i);
+					// Other escapes, e.g. quotations and hexadecimal characters, are not supported.
+					if (Character.isLetterOrDigit(escaped) && "dDwWsSbB".indexOf(escaped) < 0) { //$NON-NLS-1$
+						return null;
+					}
+				}
+				break;
+			case '[':
+				if (i + 1 < length && regex.charAt(i + 1) == '^')
+					i++;
+				if (i + 1 < length && regex.charAt(i + 1) == ']')
+					i++;
+				for (i++; i < length && regex.charAt(i) != ']'; i++) {
+					final char cc = regex.charAt(i);
+					if (cc == '[') {
+						return null;
+					}
+					if (cc == '\\') {
+						i++;
+					}
+				}
+				break;
+			case '{':
+				while (i < length && regex.charAt(i) != '}') {
+					i++;
+				}
+				break;
+			}
+		}
+		endRun(run, literals);
+		if (literals.isEmpty())
+			return null;
+
+		int[] result = new int[0];
+		for (String literal : literals) {
+			int[] trigrams = getTrigrams(literal.toCharArray());
+			int length0 = result.length;
+			result = Arrays.copyOf(result, length0 + trigrams.length);
+			System.arraycopy(trigrams, 0, result, length0, trigrams.length);
+		}
+		return result;
+	}
+
+	private static void endRun(StringBuilder run, List<String> literals) {
+		if (run.length() >= 3) {
+			literals.add(run.toString());
+		}
+		run.setLength(0);
+	}
+}
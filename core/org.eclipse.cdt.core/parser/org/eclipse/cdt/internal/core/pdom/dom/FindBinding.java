@@ -40,9 +40,15 @@ public class FindBinding {
 
 		@Override
 		public int compare(long record1, long record2) throws CoreException {
-			IString nm1 = PDOMNamedNode.getDBName(database, record1);
-			IString nm2 = PDOMNamedNode.getDBName(database, record2);
-			int cmp = nm1.compareCompatibleWithIgnoreCase(nm2);
+			int cmp = 0;
+			// Interned names are equal if their records are equal.
+			long namerec1 = PDOMNamedNode.getDBNameRecord(database, record1);
+			long namerec2 = PDOMNamedNode.getDBNameRecord(database, record2);
+			if (namerec1 != namerec2) {
+				IString nm1 = database.getString(namerec1);
+				IString nm2 = database.getString(namerec2);
+				cmp = nm1.compareCompatibleWithIgnoreCase(nm2);
+			}
 			if (cmp == 0) {
 				long t1 = PDOMBinding.getLocalToFileRec(database, record1);
 				long t2 = PDOMBinding.getLocalToFileRec(database, record2);
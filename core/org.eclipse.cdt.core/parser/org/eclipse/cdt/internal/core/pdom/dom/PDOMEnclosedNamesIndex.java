@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * An index of the names enclosed by the definitions of the files, i.e. of the callees of the
+ * functions. The names of a file are added in the order of the traversal of the AST, such that
+ * the names enclosed by a definition directly follow it in the list of names of the file.
+ * For each definition enclosing other names the index stores the last name of the file that is
+ * enclosed by the definition, directly or via a nested definition. The names enclosed by
+ * a definition are thus found by walking the list of names of the file from the definition to
+ * that name, rather than to the end of the file.
+ * <p>
+ * The entries are kept in a BTree ordered by the record of the definition. They are created when
+ * the names of a file are added and removed when the file is cleared.
+ */
+public class PDOMEnclosedNamesIndex {
+	private static final int DEFINITION = 0;
+	private static final int LAST_ENCLOSED = DEFINITION + Database.PTR_SIZE;
+	private static final int RECORD_SIZE = LAST_ENCLOSED + Database.PTR_SIZE;
+
+	private final Database db;
+	private final BTree btree;
+
+	public PDOMEnclosedNamesIndex(Database db, long ptr) {
+		this.db = db;
+		this.btree = new BTree(db, ptr, (record1, record2) -> Long.compare(db.getRecPtr(record1 + DEFINITION),
+				db.getRecPtr(record2 + DEFINITION)));
+	}
+
+	/**
+	 * Records the last name enclosed by the given definition.
+	 */
+	public void add(long definitionRecord, long lastEnclosedRecord) throws CoreException {
+		long entry = db.malloc(RECORD_SIZE);
+		db.putRecPtr(entry + DEFINITION, definitionRecord);
+		db.putRecPtr(entry + LAST_ENCLOSED, lastEnclosedRecord);
+		long existing = btree.insert(entry);
+		if (existing != entry) {
+			db.putRecPtr(existing + LAST_ENCLOSED, lastEnclosedRecord);
+			db.free(entry);
+		}
+	}
+
+	/**
+	 * Removes the entry of the given definition, if there is one.
+	 */
+	public void remove(long definitionRecord) throws CoreException {
+		long entry = findEntry(definitionRecord);
+		if (entry != 0) {
+			btree.delete(entry);
+			db.free(entry);
+		}
+	}
+
+	/**
+	 * Returns the record of the last name enclosed by the given definition, or 0 if the definition
+	 * does not enclose any names.
+	 */
+	public long getLastEnclosed(long definitionRecord) throws CoreException {
+		long entry = findEntry(definitionRecord);
+		return entry != 0 ? db.getRecPtr(entry + LAST_ENCLOSED) : 0;
+	}
+
+	private long findEntry(final long definitionRecord) throws CoreException {
+		final long[] result = new long[1];
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return Long.compare(db.getRecPtr(record + DEFINITION), definitionRecord);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+}
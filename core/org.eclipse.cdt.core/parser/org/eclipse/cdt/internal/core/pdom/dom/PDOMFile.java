@@ -20,8 +20,11 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMNode;
@@ -479,6 +482,10 @@ public class PDOMFile implements IIndexFragmentFile {
 		assert getFirstMacroReference() == null;
 		final PDOMLinkage linkage = getLinkage();
 		HashMap<IASTName, PDOMName> nameCache = new HashMap<>();
+		// The enclosing definition and the last enclosed name of the definitions, by their record.
+		HashMap<Long, Long> callers = new HashMap<>();
+		HashMap<Long, Long> lastEnclosed = new HashMap<>();
+		PDOMInheritanceIndex inheritanceIndex = getPDOM().getInheritanceIndex();
 		PDOMName lastName = null;
 		PDOMMacroReferenceName lastMacroName = null;
 		for (IASTName[] name : names) {
@@ -497,6 +504,16 @@ public class PDOMFile implements IIndexFragmentFile {
 						lastName.setNextInFile(pdomName);
 					}
 					lastName = pdomName;
+					if (pdomName.isBaseSpecifier()) {
+						inheritanceIndex.add(pdomName.getBindingRecord(), pdomName.getRecord());
+					}
+					if (caller != null) {
+						final Long record = pdomName.getRecord();
+						callers.put(record, caller.getRecord());
+						for (Long def = caller.getRecord(); def != null; def = callers.get(def)) {
+							lastEnclosed.put(def, record);
+						}
+					}
 				} else if (fname instanceof PDOMMacroReferenceName) {
 					PDOMMacroReferenceName macroName = (PDOMMacroReferenceName) fname;
 					if (lastMacroName == null) {
@@ -508,6 +525,10 @@ public class PDOMFile implements IIndexFragmentFile {
 				}
 			}
 		}
+		PDOMEnclosedNamesIndex enclosedNamesIndex = getPDOM().getEnclosedNamesIndex();
+		for (Map.Entry<Long, Long> entry : lastEnclosed.entrySet()) {
+			enclosedNamesIndex.add(entry.getKey(), entry.getValue());
+		}
 	}
 
 	private IIndexFragmentName createPDOMName(PDOMLinkage linkage, IASTName name, PDOMName caller)
@@ -595,10 +616,19 @@ public class PDOMFile implements IIndexFragmentFile {
 
 		// Delete all the names in this file
 		ArrayList<PDOMName> names = new ArrayList<>();
+		Set<Long> definitions = new HashSet<>();
+		PDOMInheritanceIndex inheritanceIndex = getPDOM().getInheritanceIndex();
 		PDOMName name = getFirstName();
 		while (name != null) {
 			names.add(name);
 			linkage.onDeleteName(name);
+			if (name.isBaseSpecifier()) {
+				inheritanceIndex.remove(name.getBindingRecord(), name.getRecord());
+			}
+			long caller = name.getEnclosingDefinitionRecord();
+			if (caller != 0) {
+				definitions.add(caller);
+			}
 			name = name.getNextInFile();
 		}
 		for (Iterator<PDOMName> iterator = names.iterator(); iterator.hasNext();) {
@@ -606,6 +636,10 @@ public class PDOMFile implements IIndexFragmentFile {
 			name.delete();
 		}
 		setFirstName(null);
+		PDOMEnclosedNamesIndex enclosedNamesIndex = getPDOM().getEnclosedNamesIndex();
+		for (Long definition : definitions) {
+			enclosedNamesIndex.remove(definition);
+		}
 
 		// Delete all macro references
 		ArrayList<PDOMMacroReferenceName> mrefs = new ArrayList<>();
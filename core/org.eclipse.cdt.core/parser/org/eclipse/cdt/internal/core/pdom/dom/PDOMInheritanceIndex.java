@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * The reverse index of the inheritance relation, mapping base classes to the base specifiers that
+ * name them. The enclosing definition of a base specifier is the definition of the derived class,
+ * such that the classes derived from a base are found without walking all the references to it.
+ * <p>
+ * The entries are kept in a BTree ordered by the record of the base class and then by the record
+ * of the base specifier. They are created when the names of a file are added and removed when the
+ * file is cleared.
+ */
+public class PDOMInheritanceIndex {
+	private static final int BASE = 0;
+	private static final int BASE_SPECIFIER = BASE + Database.PTR_SIZE;
+	private static final int RECORD_SIZE = BASE_SPECIFIER + Database.PTR_SIZE;
+
+	private final Database db;
+	private final BTree btree;
+
+	public PDOMInheritanceIndex(Database db, long ptr) {
+		this.db = db;
+		this.btree = new BTree(db, ptr, (record1, record2) -> {
+			int cmp = Long.compare(db.getRecPtr(record1 + BASE), db.getRecPtr(record2 + BASE));
+			if (cmp == 0) {
+				cmp = Long.compare(db.getRecPtr(record1 + BASE_SPECIFIER), db.getRecPtr(record2 + BASE_SPECIFIER));
+			}
+			return cmp;
+		});
+	}
+
+	/**
+	 * Records a base specifier naming the given base class.
+	 */
+	public void add(long baseRecord, long baseSpecifierRecord) throws CoreException {
+		long entry = db.malloc(RECORD_SIZE);
+		db.putRecPtr(entry + BASE, baseRecord);
+		db.putRecPtr(entry + BASE_SPECIFIER, baseSpecifierRecord);
+		if (btree.insert(entry) != entry) {
+			db.free(entry);
+		}
+	}
+
+	/**
+	 * Removes the entry of the given base specifier, if there is one.
+	 */
+	public void remove(final long baseRecord, final long baseSpecifierRecord) throws CoreException {
+		final long[] result = new long[1];
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				int cmp = Long.compare(db.getRecPtr(record + BASE), baseRecord);
+				if (cmp == 0) {
+					cmp = Long.compare(db.getRecPtr(record + BASE_SPECIFIER), baseSpecifierRecord);
+				}
+				return cmp;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		if (result[0] != 0) {
+			btree.delete(result[0]);
+			db.free(result[0]);
+		}
+	}
+
+	/**
+	 * Returns the records of the base specifiers naming the given base class.
+	 */
+	public List<Long> getBaseSpecifiers(final long baseRecord) throws CoreException {
+		final List<Long> result = new ArrayList<>();
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return Long.compare(db.getRecPtr(record + BASE), baseRecord);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result.add(db.getRecPtr(record + BASE_SPECIFIER));
+				return true;
+			}
+		});
+		return result;
+	}
+}
@@ -151,6 +151,10 @@ public final class PDOMName implements IIndexFragmentName {
 		return linkage.getBinding(bindingrec);
 	}
 
+	long getBindingRecord() throws CoreException {
+		return getRecField(BINDING_REC_OFFSET);
+	}
+
 	public void setBinding(PDOMBinding binding) throws CoreException {
 		long bindingrec = binding != null ? binding.getRecord() : 0;
 		setRecField(BINDING_REC_OFFSET, bindingrec);
@@ -425,12 +429,18 @@ public final class PDOMName implements IIndexFragmentName {
 
 	@Override
 	public IIndexName[] getEnclosedNames() throws CoreException {
+		// The enclosed names follow the definition in the file, up to the last one in the index.
+		long lastEnclosed = getPDOM().getEnclosedNamesIndex().getLastEnclosed(record);
+		if (lastEnclosed == 0)
+			return IIndexName.EMPTY_ARRAY;
 		ArrayList<PDOMName> result = new ArrayList<>();
 		PDOMName name = getNextInFile();
 		while (name != null) {
 			if (name.getEnclosingDefinitionRecord() == record) {
 				result.add(name);
 			}
+			if (name.getRecord() == lastEnclosed)
+				break;
 			name = name.getNextInFile();
 		}
 		return result.toArray(new PDOMName[result.size()]);
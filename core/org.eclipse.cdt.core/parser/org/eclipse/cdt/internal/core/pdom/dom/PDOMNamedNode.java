@@ -23,6 +23,7 @@ import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMStringTable;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -51,7 +52,7 @@ public abstract class PDOMNamedNode extends PDOMNode {
 
 		fName = name;
 		final Database db = linkage.getDB();
-		db.putRecPtr(record + NAME, name != null ? db.newString(name).getRecord() : 0);
+		db.putRecPtr(record + NAME, name != null ? linkage.getPDOM().getStringTable().intern(name) : 0);
 	}
 
 	/**
@@ -75,6 +76,14 @@ public abstract class PDOMNamedNode extends PDOMNode {
 		return db.getString(namerec);
 	}
 
+	/**
+	 * Returns the record of the name of the node. Names are interned, nodes with equal names
+	 * share the same record unless the names have been stored by a linkage.
+	 */
+	public static long getDBNameRecord(Database db, long record) throws CoreException {
+		return db.getRecPtr(record + NAME);
+	}
+
 	public char[] getNameCharArray() throws CoreException {
 		if (fName != null)
 			return fName;
@@ -99,20 +108,26 @@ public abstract class PDOMNamedNode extends PDOMNode {
 
 		IString name = getDBName();
 		if (!name.equals(nameCharArray)) {
-			name.delete();
-			final Database db = getDB();
-			db.putRecPtr(record + NAME, db.newString(nameCharArray).getRecord());
+			final PDOMStringTable stringTable = getPDOM().getStringTable();
+			stringTable.release(name.getRecord());
+			getDB().putRecPtr(record + NAME, stringTable.intern(nameCharArray));
 		}
 		fName = nameCharArray;
 	}
 
-	@Override
-	public void delete(PDOMLinkage linkage) throws CoreException {
-		final Database db = getDB();
-		final long namerec = db.getRecPtr(record + NAME);
+	/**
+	 * Releases the name of this node, it is freed unless it is shared with other nodes.
+	 */
+	protected void deleteName() throws CoreException {
+		final long namerec = getDB().getRecPtr(record + NAME);
 		if (namerec != 0) {
-			db.free(namerec);
+			getPDOM().getStringTable().release(namerec);
 		}
+	}
+
+	@Override
+	public void delete(PDOMLinkage linkage) throws CoreException {
+		deleteName();
 		super.delete(linkage);
 	}
 
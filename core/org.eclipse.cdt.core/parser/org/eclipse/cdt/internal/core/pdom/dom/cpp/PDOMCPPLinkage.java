@@ -168,6 +168,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeOfDependentExp
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeOfUnknownMember;
 import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexCPPBindingConstants;
+import org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil;
 import org.eclipse.cdt.internal.core.index.composite.CompositeIndexBinding;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
@@ -201,6 +202,7 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 
 	// Only used when writing to database, which is single-threaded
 	private final LinkedList<Runnable> postProcesses = new LinkedList<>();
+	private final PDOMSharedInstanceCache fSharedInstanceCache = new PDOMSharedInstanceCache();
 
 	public PDOMCPPLinkage(PDOM pdom, long record) {
 		super(pdom, record);
@@ -225,6 +227,14 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 		return RECORD_SIZE;
 	}
 
+	/**
+	 * Returns the cache of the template instances stored in this linkage, it is shared by all
+	 * users of the linkage.
+	 */
+	public PDOMSharedInstanceCache getSharedInstanceCache() {
+		return fSharedInstanceCache;
+	}
+
 	@Override
 	public int getNodeType() {
 		return IIndexBindingConstants.LINKAGE;
@@ -973,6 +983,12 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 			} else if (special instanceof ICPPAliasTemplateInstance && orig instanceof ICPPAliasTemplate) {
 				result = new PDOMCPPAliasTemplateInstance(this, parent, orig, (ICPPAliasTemplateInstance) special);
 			}
+			if (result != null) {
+				// Make the new instance available to the translation units parsed later on.
+				String args = IndexCPPSignatureUtil
+						.getTemplateArgString(((ICPPTemplateInstance) special).getTemplateArguments(), true);
+				fSharedInstanceCache.put(orig.getRecord(), args, result.getRecord());
+			}
 		} else if (special instanceof ICPPField) {
 			result = new PDOMCPPFieldSpecialization(this, parent, (ICPPField) special, orig);
 		} else if (special instanceof ICPPFunctionTemplate) {
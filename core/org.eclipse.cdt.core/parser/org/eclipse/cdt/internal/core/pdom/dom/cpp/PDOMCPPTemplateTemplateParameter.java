@@ -238,7 +238,7 @@ public class PDOMCPPTemplateTemplateParameter extends PDOMCPPBinding implements
 
 	@Override
 	public void forceDelete(PDOMLinkage linkage) throws CoreException {
-		getDBName().delete();
+		deleteName();
 		linkage.storeType(record + DEFAULT_TYPE, null);
 
 		final Database db = getDB();
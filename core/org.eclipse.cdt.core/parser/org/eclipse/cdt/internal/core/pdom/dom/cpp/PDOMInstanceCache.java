@@ -39,21 +39,20 @@ public class PDOMInstanceCache {
 			return (PDOMInstanceCache) cache;
 		}
 
-		PDOMInstanceCache newCache = new PDOMInstanceCache();
-		try {
-			newCache.populate(binding);
-		} catch (CoreException e) {
-			CCorePlugin.log(e);
-		}
-
+		// The instances stored in the index are collected on demand, a lookup of an instance may
+		// be served by the shared cache of the linkage.
+		PDOMInstanceCache newCache = new PDOMInstanceCache(binding);
 		newCache = (PDOMInstanceCache) pdom.putCachedResult(key, newCache, false);
 		return newCache;
 	}
 
+	private final PDOMBinding fTemplate;
 	private final HashMap<String, ICPPTemplateInstance> fMap;
 	private ICPPDeferredClassInstance fDeferredInstance;
+	private boolean fPopulated;
 
-	public PDOMInstanceCache() {
+	private PDOMInstanceCache(PDOMBinding template) {
+		fTemplate = template;
 		fMap = new HashMap<>();
 	}
 
@@ -61,6 +60,9 @@ public class PDOMInstanceCache {
 		try {
 			String key = IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
 			fMap.put(key, instance);
+			if (instance instanceof PDOMBinding) {
+				getSharedCache().put(fTemplate.getRecord(), key, ((PDOMBinding) instance).getRecord());
+			}
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -70,6 +72,20 @@ public class PDOMInstanceCache {
 	synchronized public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
 		try {
 			String key = IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
+			ICPPTemplateInstance result = fMap.get(key);
+			if (result != null || fPopulated)
+				return result;
+
+			long record = getSharedCache().get(fTemplate.getRecord(), key);
+			if (record != 0) {
+				PDOMNode node = PDOMNode.load(fTemplate.getPDOM(), record);
+				if (node instanceof ICPPTemplateInstance) {
+					result = (ICPPTemplateInstance) node;
+					fMap.put(key, result);
+					return result;
+				}
+			}
+			populate();
 			return fMap.get(key);
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
@@ -78,6 +94,21 @@ public class PDOMInstanceCache {
 		return null;
 	}
 
+	private PDOMSharedInstanceCache getSharedCache() {
+		return ((PDOMCPPLinkage) fTemplate.getLinkage()).getSharedInstanceCache();
+	}
+
+	private void populate() {
+		if (!fPopulated) {
+			fPopulated = true;
+			try {
+				populate(fTemplate);
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			}
+		}
+	}
+
 	private void populate(PDOMBinding binding) throws CoreException {
 		PDOMNode parent = binding.getParentNode();
 		if (parent == null) {
@@ -90,14 +121,20 @@ public class PDOMInstanceCache {
 			if (node instanceof ICPPTemplateInstance) {
 				ICPPTemplateInstance inst = (ICPPTemplateInstance) node;
 				if (binding.equals(inst.getTemplateDefinition())) {
-					ICPPTemplateArgument[] args = inst.getTemplateArguments();
-					addInstance(args, inst);
+					try {
+						String key = IndexCPPSignatureUtil.getTemplateArgString(inst.getTemplateArguments(), true);
+						// Instances added by the current AST take precedence.
+						fMap.putIfAbsent(key, inst);
+						getSharedCache().put(binding.getRecord(), key, node.getRecord());
+					} catch (DOMException e) {
+					}
 				}
 			}
 		}
 	}
 
 	synchronized public ICPPTemplateInstance[] getAllInstances() {
+		populate();
 		return fMap.values().toArray(new ICPPTemplateInstance[fMap.size()]);
 	}
 
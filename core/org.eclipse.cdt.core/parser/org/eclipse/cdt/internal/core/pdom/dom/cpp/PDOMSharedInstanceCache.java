@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom.cpp;
+
+import java.util.Map;
+
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
+
+/**
+ * Records of the template instances stored in the index, keyed by the record of the template
+ * and the signature of the template arguments.
+ * <p>
+ * Unlike the {@link PDOMInstanceCache}, which is discarded together with the result cache of
+ * the PDOM whenever a lock is released, this cache is kept for the lifetime of the linkage. It is
+ * thereby shared by the translation units of an indexer run and by the ASTs of the editors. Only
+ * records are kept: bindings are never removed from the PDOM, so the records stay valid until the
+ * PDOM is cleared, which discards the linkage. The cache is thread-safe.
+ */
+public class PDOMSharedInstanceCache {
+	private static final int MAX_SIZE = 20000;
+
+	private final Map<String, Long> fRecords = new LRUCache<>(MAX_SIZE);
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * Returns the cache of the given linkage, or {@code null} if it is not a C++ linkage.
+	 */
+	public static PDOMSharedInstanceCache getCache(PDOMLinkage linkage) {
+		return linkage instanceof PDOMCPPLinkage ? ((PDOMCPPLinkage) linkage).getSharedInstanceCache() : null;
+	}
+
+	private static String getKey(long templateRecord, String argumentSignature) {
+		return Long.toString(templateRecord) + ':' + argumentSignature;
+	}
+
+	/**
+	 * Returns the record of the instance of the given template for the given arguments, or 0
+	 * if it is not cached.
+	 */
+	public synchronized long get(long templateRecord, String argumentSignature) {
+		Long record = fRecords.get(getKey(templateRecord, argumentSignature));
+		if (record == null) {
+			fMisses++;
+			return 0;
+		}
+		fHits++;
+		return record.longValue();
+	}
+
+	public synchronized void put(long templateRecord, String argumentSignature, long instanceRecord) {
+		fRecords.put(getKey(templateRecord, argumentSignature), instanceRecord);
+	}
+
+	public synchronized void clear() {
+		fRecords.clear();
+	}
+
+	/**
+	 * Returns the number of instances that were found in the cache, i.e. for which the instances of
+	 * the template did not have to be searched in the PDOM.
+	 */
+	public synchronized long getHits() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of lookups that were not served by the cache, each of them searches the
+	 * instances of a template in the PDOM.
+	 */
+	public synchronized long getMisses() {
+		return fMisses;
+	}
+}
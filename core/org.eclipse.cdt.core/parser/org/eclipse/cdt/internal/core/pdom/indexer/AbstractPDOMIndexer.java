@@ -37,6 +37,8 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 				String.valueOf(IndexerPreferences.DEFAULT_FILE_SIZE_LIMIT_MB));
 		fProperties.put(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB,
 				String.valueOf(IndexerPreferences.DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB));
+		fProperties.put(IndexerPreferences.KEY_PARSER_THREADS,
+				String.valueOf(IndexerPreferences.DEFAULT_PARSER_THREADS));
 		fProperties.put(IndexerPreferences.KEY_SKIP_ALL_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_IMPLICIT_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_TYPE_REFERENCES, String.valueOf(false));
@@ -66,7 +68,8 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 			String key = (String) entry.getKey();
 			String val = (String) entry.getValue();
 
-			if (val != null) { // relevant property
+			// The number of parser threads does not affect the content of the index.
+			if (val != null && !IndexerPreferences.KEY_PARSER_THREADS.equals(key)) { // relevant property
 				String v2 = (String) props.get(key);
 				if (v2 != null && !val.equals(v2)) {
 					return true;
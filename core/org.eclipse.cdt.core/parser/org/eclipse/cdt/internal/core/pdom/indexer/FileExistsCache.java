@@ -15,9 +15,13 @@
 package org.eclipse.cdt.internal.core.pdom.indexer;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
@@ -32,26 +36,58 @@ import org.eclipse.core.runtime.CoreException;
  * A cache for checking whether a file exists. The cache shall be used for a limited amount of time,
  * only (e.g. one indexer task). It uses as much memory as it needs. To protect against OutOfMemory
  * situations, a soft reference is used.
+ * <p>
+ * The listings of local directories are in addition shared by all instances, such that subsequent
+ * indexer tasks, also of other projects, don't need to list the directories of the include search
+ * path again. A shared listing is validated by the modification time of the directory once per
+ * instance, which takes a single access to the file system rather than listing the directory.
  * @since 5.0
  */
 public final class FileExistsCache {
-	private static final Content EMPTY_STRING_ARRAY = new Content(new String[0]);
+	private static final String[] NO_NAMES = {};
 	private static boolean BYPASS_CACHE = Boolean.getBoolean("CDT_INDEXER_BYPASS_FILE_EXISTS_CACHE"); //$NON-NLS-1$
+	/**
+	 * A listing is shared only if it was taken this many milliseconds after the last modification
+	 * of the directory, such that a later modification cannot go unnoticed due to the resolution of
+	 * the modification time.
+	 */
+	private static final long MODIFICATION_TIME_RESOLUTION = 2000;
 
 	private static class Content {
-		public Content(String[] names) {
+		public Content(String[] names, boolean caseInsensitive, long lastModified, long listedAt) {
 			fNames = names;
 			fIsFile = new BitSet(names.length * 2);
+			fCaseInsensitive = caseInsensitive;
+			fLastModified = lastModified;
+			fListedAt = listedAt;
 		}
 
-		public String[] fNames;
-		public BitSet fIsFile;
+		public final String[] fNames;
+		/**
+		 * Not shared, whether a name denotes a file may change without modifying the directory,
+		 * e.g. for a symbolic link.
+		 */
+		public final BitSet fIsFile;
+		public final boolean fCaseInsensitive;
+		public final long fLastModified;
+		public final long fListedAt;
+
+		public boolean isValid(boolean caseInsensitive, long lastModified) {
+			return fCaseInsensitive == caseInsensitive && fLastModified == lastModified
+					&& fListedAt - fLastModified >= MODIFICATION_TIME_RESOLUTION;
+		}
 	}
 
+	private static final Object SHARED_LISTINGS_LOCK = new Object();
+	private static Reference<Map<String, Content>> sSharedListings = new SoftReference<>(new HashMap<>());
+
 	private Reference<Map<String, Content>> fCache;
 	// Cache for recent results of isFile calls (bug 471103).
 	private final Map<String, Boolean> fCacheIsFile = new HashMap<>();
 	private final boolean fCaseInSensitive;
+	private int fQueryCount;
+	private int fFileSystemAccessCount;
+	private int fSharedListingCount;
 
 	public FileExistsCache(boolean caseInsensitive) {
 		fCaseInSensitive = caseInsensitive;
@@ -60,7 +96,8 @@ public final class FileExistsCache {
 		fCache = new SoftReference<>(cache);
 	}
 
-	public boolean isFile(String path) {
+	public synchronized boolean isFile(String path) {
+		fQueryCount++;
 		// Fast return when path was already queried. The method is potentially called multiple times with
 		// the same path on each return statement the returned value is stored in the cache (bug 471103).
 		Boolean cachedResult = fCacheIsFile.get(path);
@@ -85,6 +122,7 @@ public final class FileExistsCache {
 				URI uri = UNCPathConverter.getInstance().toURI(path);
 				fileStore = EFS.getStore(uri);
 				if (BYPASS_CACHE) {
+					fFileSystemAccessCount++;
 					return fileStore != null && !fileStore.fetchInfo().isDirectory();
 				}
 				parentStore = fileStore.getParent();
@@ -99,6 +137,7 @@ public final class FileExistsCache {
 		} else {
 			file = new File(path);
 			if (BYPASS_CACHE) {
+				fFileSystemAccessCount++;
 				return file.isFile();
 			}
 
@@ -113,22 +152,17 @@ public final class FileExistsCache {
 
 		Content avail = getExistsCache().get(parent);
 		if (avail == null) {
-			String[] files = null;
-			try {
-				files = parentStore == null ? new File(parent).list() : parentStore.childNames(EFS.NONE, null);
-			} catch (CoreException e) {
-				// Ignore
-			}
-			if (files == null || files.length == 0) {
-				avail = EMPTY_STRING_ARRAY;
+			if (parentStore == null) {
+				avail = getSharedListing(parent);
 			} else {
-				if (fCaseInSensitive) {
-					for (int i = 0; i < files.length; i++) {
-						files[i] = files[i].toUpperCase();
-					}
+				String[] files = null;
+				try {
+					fFileSystemAccessCount++;
+					files = parentStore.childNames(EFS.NONE, null);
+				} catch (CoreException e) {
+					// Ignore
 				}
-				Arrays.sort(files);
-				avail = new Content(files);
+				avail = createContent(files, 0, 0);
 			}
 			getExistsCache().put(parent, avail);
 		}
@@ -143,6 +177,7 @@ public final class FileExistsCache {
 		if (isFileBitset.get(idx + 1))
 			return false;
 
+		fFileSystemAccessCount++;
 		if ((file != null && file.isFile()) || (fileStore != null && !fileStore.fetchInfo().isDirectory())) {
 			isFileBitset.set(idx);
 			return true;
@@ -151,6 +186,54 @@ public final class FileExistsCache {
 		return false;
 	}
 
+	/**
+	 * Returns the listing of the given local directory, reusing the shared listing if the directory
+	 * was not modified since it was taken.
+	 */
+	private Content getSharedListing(String parent) {
+		final File dir = new File(parent);
+		final long lastModified;
+		try {
+			fFileSystemAccessCount++;
+			BasicFileAttributes attributes = Files.readAttributes(dir.toPath(), BasicFileAttributes.class);
+			if (!attributes.isDirectory())
+				return createContent(null, 0, 0);
+			lastModified = attributes.lastModifiedTime().toMillis();
+		} catch (IOException | InvalidPathException e) {
+			// The directory does not exist.
+			return createContent(null, 0, 0);
+		}
+		Content avail;
+		synchronized (SHARED_LISTINGS_LOCK) {
+			avail = getSharedListings().get(parent);
+		}
+		if (avail != null && avail.isValid(fCaseInSensitive, lastModified)) {
+			fSharedListingCount++;
+			return new Content(avail.fNames, fCaseInSensitive, lastModified, avail.fListedAt);
+		}
+		final long listedAt = System.currentTimeMillis();
+		fFileSystemAccessCount++;
+		avail = createContent(dir.list(), lastModified, listedAt);
+		synchronized (SHARED_LISTINGS_LOCK) {
+			getSharedListings().put(parent, avail);
+		}
+		return avail;
+	}
+
+	private Content createContent(String[] files, long lastModified, long listedAt) {
+		if (files == null || files.length == 0) {
+			files = NO_NAMES;
+		} else {
+			if (fCaseInSensitive) {
+				for (int i = 0; i < files.length; i++) {
+					files[i] = files[i].toUpperCase();
+				}
+			}
+			Arrays.sort(files);
+		}
+		return new Content(files, fCaseInSensitive, lastModified, listedAt);
+	}
+
 	private Map<String, Content> getExistsCache() {
 		Map<String, Content> cache = fCache.get();
 		if (cache == null) {
@@ -160,4 +243,45 @@ public final class FileExistsCache {
 		}
 		return cache;
 	}
+
+	private static Map<String, Content> getSharedListings() {
+		Map<String, Content> listings = sSharedListings.get();
+		if (listings == null) {
+			listings = new HashMap<>();
+			sSharedListings = new SoftReference<>(listings);
+		}
+		return listings;
+	}
+
+	/**
+	 * Returns the number of calls of {@link #isFile(String)}.
+	 */
+	public synchronized int getQueryCount() {
+		return fQueryCount;
+	}
+
+	/**
+	 * Returns the number of times the file system was accessed for answering the calls of
+	 * {@link #isFile(String)}, i.e. for listing a directory, for checking its modification time or
+	 * for checking whether a name denotes a file.
+	 */
+	public synchronized int getFileSystemAccessCount() {
+		return fFileSystemAccessCount;
+	}
+
+	/**
+	 * Returns the number of directory listings that were taken from the listings shared by all
+	 * instances.
+	 */
+	public synchronized int getSharedListingCount() {
+		return fSharedListingCount;
+	}
+
+	/**
+	 * Returns the number of calls of {@link #isFile(String)} minus the number of file system
+	 * accesses needed to answer them.
+	 */
+	public synchronized int getFileSystemAccessesAvoided() {
+		return Math.max(0, fQueryCount - fFileSystemAccessCount);
+	}
 }
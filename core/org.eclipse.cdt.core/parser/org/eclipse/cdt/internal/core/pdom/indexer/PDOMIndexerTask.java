@@ -28,6 +28,7 @@ import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.CCorePreferenceConstants;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMIndexer;
 import org.eclipse.cdt.core.dom.IPDOMIndexerTask;
 import org.eclipse.cdt.core.index.IIndexManager;
@@ -35,12 +36,15 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMSharedInstanceCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -71,6 +75,8 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setParserThreadCount(
+				getIntProperty(IndexerPreferences.KEY_PARSER_THREADS, IndexerPreferences.DEFAULT_PARSER_THREADS));
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -300,6 +306,40 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			if (fStatistics.fTooManyTokensCount > 0)
 				System.out.println(indent + " Tokens: " //$NON-NLS-1$
 						+ fStatistics.fTooManyTokensCount + " TUs with too many tokens."); //$NON-NLS-1$
+			if (fStatistics.fConstexprEvaluationCount > 0)
+				System.out.println(indent + " Constexpr: " //$NON-NLS-1$
+						+ fStatistics.fConstexprEvaluationCount + " evaluations in " //$NON-NLS-1$
+						+ fStatistics.fConstexprEvaluationSteps + " steps, " //$NON-NLS-1$
+						+ fStatistics.fConstexprBudgetExceededCount + " exceeded the step budget, " //$NON-NLS-1$
+						+ fStatistics.fConstexprCallCacheHits + " calls reused."); //$NON-NLS-1$
+			if (fStatistics.fDeferredFunctionBodyCount > 0)
+				System.out.println(indent + " Function bodies: " //$NON-NLS-1$
+						+ fStatistics.fDeferredFunctionBodyCount + " deferred, " //$NON-NLS-1$
+						+ (fStatistics.fDeferredFunctionBodyCount - fStatistics.fParsedDeferredFunctionBodyCount)
+						+ " not parsed."); //$NON-NLS-1$
+			if (fResolver instanceof ProjectIndexerInputAdapter) {
+				FileExistsCache existsCache = ((ProjectIndexerInputAdapter) fResolver).getFileExistsCache();
+				if (existsCache != null && existsCache.getQueryCount() > 0)
+					System.out.println(indent + " Include files: " //$NON-NLS-1$
+							+ existsCache.getQueryCount() + " lookups, " //$NON-NLS-1$
+							+ existsCache.getFileSystemAccessCount() + " file system accesses, " //$NON-NLS-1$
+							+ existsCache.getFileSystemAccessesAvoided() + " avoided, " //$NON-NLS-1$
+							+ existsCache.getSharedListingCount() + " directory listings reused."); //$NON-NLS-1$
+			}
+			if (fStatistics.fParserThreadCount > 1) {
+				StringBuilder threads = new StringBuilder();
+				for (int i = 0; i < fStatistics.fParsedFilesPerThread.length; i++) {
+					final int files = fStatistics.fParsedFilesPerThread[i];
+					final int time = fStatistics.fParsingTimePerThread[i];
+					if (i > 0)
+						threads.append(", "); //$NON-NLS-1$
+					threads.append(files).append(" sources in ").append(time).append(" ms"); //$NON-NLS-1$ //$NON-NLS-2$
+					if (time > 0)
+						threads.append(" (").append(files * 1000L / time).append("/s)"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				System.out.println(indent + " Parser threads: " //$NON-NLS-1$
+						+ fStatistics.fParserThreadCount + " [" + threads + "]."); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 
 			NumberFormat nfPercent = NumberFormat.getPercentInstance();
 			nfPercent.setMaximumFractionDigits(2);
@@ -318,6 +358,25 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+hits + " hits, " //$NON-NLS-1$
 					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
 
+			IWritableIndexFragment fragment = index.getWritableFragment();
+			if (fragment instanceof PDOM) {
+				PDOM pdom = (PDOM) fragment;
+				System.out.println(indent + " Locks: read wait " + pdom.getReadLockWaitTimes() + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+				System.out.println(indent + "   write wait " + pdom.getWriteLockWaitTimes() + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+				System.out.println(indent + "   write held " + pdom.getWriteLockHoldTimes() + "."); //$NON-NLS-1$ //$NON-NLS-2$
+				try {
+					PDOMSharedInstanceCache instances = PDOMSharedInstanceCache
+							.getCache(pdom.getLinkage(ILinkage.CPP_LINKAGE_ID));
+					if (instances != null) {
+						System.out.println(indent + " Template instances: " //$NON-NLS-1$
+								+ instances.getHits() + " found in the shared cache, " //$NON-NLS-1$
+								+ instances.getMisses() + " searches of the instances of a template."); //$NON-NLS-1$
+					}
+				} catch (CoreException e) {
+					CCorePlugin.log(e);
+				}
+			}
+
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
 				NumberFormat twoDigits = NumberFormat.getNumberInstance();
@@ -335,6 +335,26 @@ public class BasicSearchTest extends SearchTestBase {
 		assertOccurrences(query, 3);
 	}
 
+	// void foo() {}
+
+	//	#include "header.h"
+	// void bar() {
+	//   foo();
+	// }
+	public void testMatchesInManyFiles() throws Exception {
+		final int fileCount = 20;
+		for (int i = 0; i < fileCount; i++) {
+			String content = "#include \"header.h\"\nvoid bar" + i + "() {\n  foo();\n  foo(); foo();\n}\n";
+			TestSourceReader.createFile(fCProject.getProject(), new Path("references" + i + ".cpp"), content);
+		}
+		waitForIndexer(fCProject);
+
+		CSearchResult result = getSearchResult(makeProjectQuery("foo"));
+		assertEquals(2 + 3 * fileCount, result.getMatchCount());
+		// The matches of each file are grouped by line.
+		assertEquals(2 + 2 * fileCount, result.getElements().length);
+	}
+
 	//	template<typename T> class CT {};
 	//	template<typename T> class CT<T*> {};
 	//	template<typename T> void f(T) {};
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.ui.tests.text;
+
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.ui.editor.CEditor;
+import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager;
+import org.eclipse.cdt.internal.ui.text.ICReconcilingListener;
+import org.eclipse.cdt.ui.CUIPlugin;
+import org.eclipse.cdt.ui.PreferenceConstants;
+import org.eclipse.cdt.ui.testplugin.Accessor;
+import org.eclipse.cdt.ui.testplugin.EditorTestHelper;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.swt.widgets.Display;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Measures the latency of semantic highlighting in a large file, from the start of the reconcile
+ * of the semantic highlighting with a new AST until the highlighted positions are updated in the
+ * editor. Edits within a function body are compared to edits at file scope.
+ */
+public class SemanticHighlightingSpeedTest extends TestCase {
+	private static final int CLASSES = 300;
+	private static final int ITERATIONS = 5;
+
+	public static Test suite() {
+		return new TestSuite(SemanticHighlightingSpeedTest.class);
+	}
+
+	/**
+	 * Wraps the semantic highlighting reconciler to record the time of its invocation and of the
+	 * update of the presentation, which is queued by the reconciler before the timer below.
+	 */
+	private static class TimingListener implements ICReconcilingListener {
+		private final ICReconcilingListener fDelegate;
+		private final Display fDisplay;
+		volatile long fReconcileStart;
+		volatile long fReconcileEnd;
+		volatile long fPaint;
+
+		TimingListener(ICReconcilingListener delegate, Display display) {
+			fDelegate = delegate;
+			fDisplay = display;
+		}
+
+		void reset() {
+			fReconcileStart = 0;
+			fReconcileEnd = 0;
+			fPaint = 0;
+		}
+
+		@Override
+		public void aboutToBeReconciled() {
+			fDelegate.aboutToBeReconciled();
+		}
+
+		@Override
+		public void reconciled(IASTTranslationUnit ast, boolean force, IProgressMonitor progressMonitor) {
+			long start = System.nanoTime();
+			fDelegate.reconciled(ast, force, progressMonitor);
+			fReconcileStart = start;
+			fReconcileEnd = System.nanoTime();
+			fDisplay.asyncExec(() -> fPaint = System.nanoTime());
+		}
+	}
+
+	private ICProject fCProject;
+	private CEditor fEditor;
+	private SourceViewer fSourceViewer;
+	private ICReconcilingListener fReconciler;
+	private TimingListener fTimingListener;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CUIPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_ENABLED,
+				true);
+		fCProject = CProjectHelper.createCCProject("SHSpeedTest", "bin", IPDOMManager.ID_FAST_INDEXER);
+		IFile file = TestSourceReader.createFile(fCProject.getProject(), new Path("test.cpp"), createCode());
+		BaseTestCase.waitForIndexer(fCProject);
+		fEditor = (CEditor) EditorTestHelper.openInEditor(file, true);
+		fSourceViewer = EditorTestHelper.getSourceViewer(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+		EditorTestHelper.joinBackgroundActivities();
+
+		SemanticHighlightingManager manager = (SemanticHighlightingManager) new Accessor(fEditor, CEditor.class)
+				.get("fSemanticManager");
+		fReconciler = (ICReconcilingListener) new Accessor(manager, manager.getClass()).get("fReconciler");
+		fTimingListener = new TimingListener(fReconciler, fSourceViewer.getTextWidget().getDisplay());
+		fEditor.removeReconcileListener(fReconciler);
+		fEditor.addReconcileListener(fTimingListener);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fEditor != null) {
+			fEditor.removeReconcileListener(fTimingListener);
+			fEditor.addReconcileListener(fReconciler);
+			EditorTestHelper.revertEditor(fEditor, true);
+			EditorTestHelper.closeEditor(fEditor);
+		}
+		if (fCProject != null)
+			CProjectHelper.delete(fCProject);
+		CUIPlugin.getDefault().getPreferenceStore()
+				.setToDefault(PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_ENABLED);
+		super.tearDown();
+	}
+
+	private static String createCode() {
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < CLASSES; i++) {
+			buf.append("struct C" + i + " {\n");
+			buf.append("  int field;\n");
+			buf.append("  static int count;\n");
+			buf.append("  int method(int p) const { return field + p + count; }\n");
+			buf.append("};\n");
+			buf.append("enum E" + i + " { e" + i + "_a, e" + i + "_b };\n");
+			buf.append("int f" + i + "(C" + i + "& c, E" + i + " e) {\n");
+			buf.append("  int local = c.method(e == e" + i + "_a ? 1 : 2);\n");
+			if (i == CLASSES / 2) {
+				buf.append("  // edit\n");
+			}
+			buf.append("  for (int j = 0; j < local; j++) {\n");
+			buf.append("    c.field += j * C" + i + "::count;\n");
+			buf.append("  }\n");
+			buf.append("  return local;\n");
+			buf.append("}\n");
+			if (i == CLASSES / 2) {
+				buf.append("// global edit\n");
+			}
+		}
+		return buf.toString();
+	}
+
+	public void testEditInFunctionBody() throws Exception {
+		runTest("  // edit\n", "  c.field++;\n", "Edit in function body");
+	}
+
+	public void testEditAtFileScope() throws Exception {
+		runTest("// global edit\n", "int global;\n", "Edit at file scope");
+	}
+
+	/**
+	 * Alternately inserts and removes the given text after the marker and reports the average
+	 * reconcile-to-paint latency.
+	 */
+	private void runTest(String marker, String text, String label) throws Exception {
+		IDocument document = fSourceViewer.getDocument();
+		final int offset = document.get().indexOf(marker) + marker.length();
+		long reconcileTime = 0;
+		long latency = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			fTimingListener.reset();
+			if (i % 2 == 0) {
+				document.replace(offset, 0, text);
+			} else {
+				document.replace(offset, text.length(), "");
+			}
+			waitForPaint();
+			if (i > 0) {
+				reconcileTime += fTimingListener.fReconcileEnd - fTimingListener.fReconcileStart;
+				latency += fTimingListener.fPaint - fTimingListener.fReconcileStart;
+			}
+		}
+		System.out.println(label + ": reconcile " + (reconcileTime / (ITERATIONS - 1) / 1000) + " microsecs, "
+				+ "reconcile-to-paint " + (latency / (ITERATIONS - 1) / 1000) + " microsecs");
+	}
+
+	private void waitForPaint() {
+		long endTime = System.currentTimeMillis() + 10000;
+		while (fTimingListener.fPaint == 0) {
+			assertTrue("Timed out waiting for semantic highlighting", System.currentTimeMillis() < endTime);
+			EditorTestHelper.runEventQueue(10);
+		}
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 10));
+	}
+}
@@ -815,4 +815,34 @@ public class SemanticHighlightingTest extends TestCase {
 	public void testOverloadedOperatorStar_539535() throws Exception {
 		makeAssertions();
 	}
+
+	//	int globalVariable;                              //$globalVariable
+	//	void f(int p) {                                  //$functionDeclaration,parameterVariable
+	//		p++;                                         //$parameterVariable
+	//	}
+	//	void g() {                                       //$functionDeclaration
+	//		f(globalVariable);                           //$function,globalVariable
+	//	}
+	public void testEditsInFunctionBodies() throws Exception {
+		setup(true, new HashSet<String>());
+		try {
+			// The edits are confined to a single function body, only that body is reconciled.
+			IDocument document = fSourceViewer.getDocument();
+			document.replace(document.get().indexOf("p++;"), 0,
+					"int local = p;                               //$localVariableDeclaration,parameterVariable\n\t");
+			assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+			EditorTestHelper.runEventQueue(100);
+			document.replace(document.get().indexOf("f(globalVariable);"), 0,
+					"globalVariable++;                            //$globalVariable\n\t");
+			assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+			EditorTestHelper.runEventQueue(100);
+
+			fEditor.doSave(new NullProgressMonitor());
+			fAST = TestSourceReader.createIndexBasedAST(fIndex, fCProject,
+					ResourceTestHelper.findFile("/SHTest/SHTest.cpp"));
+			doMakeAssertions();
+		} finally {
+			teardown();
+		}
+	}
 }
@@ -16,7 +16,9 @@ package org.eclipse.cdt.internal.ui.callhierarchy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
@@ -25,6 +27,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPSpecialization;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICProject;
@@ -59,6 +62,7 @@ public class CHQueries {
 		}
 		boolean done = false;
 		int linkageID = node.getLinkageID();
+		CallerElements callers = new CallerElements(index, callee.getCProject());
 		if (linkageID == -1) {
 			final ITranslationUnit tu = ((ISourceReference) callee).getTranslationUnit();
 			if (tu == null)
@@ -67,13 +71,13 @@ public class CHQueries {
 			final String ct = tu.getContentTypeId();
 			if (ct.equals(CCorePlugin.CONTENT_TYPE_CXXHEADER) || ct.equals(CCorePlugin.CONTENT_TYPE_CHEADER)) {
 				// Bug 260262: in a header file we need to consider C and C++.
-				findCalledBy(callee, ILinkage.C_LINKAGE_ID, index, result);
-				findCalledBy(callee, ILinkage.CPP_LINKAGE_ID, index, result);
+				findCalledBy(callee, ILinkage.C_LINKAGE_ID, index, callers, result);
+				findCalledBy(callee, ILinkage.CPP_LINKAGE_ID, index, callers, result);
 				done = true;
 			}
 		}
 		if (!done) {
-			findCalledBy(callee, linkageID, index, result);
+			findCalledBy(callee, linkageID, index, callers, result);
 		}
 		for (ICallHierarchyProvider provider : CHProviderManager.INSTANCE.getCallHierarchyProviders()) {
 			provider.findCalledBy(callee, linkageID, index, result);
@@ -92,38 +96,37 @@ public class CHQueries {
 		return false;
 	}
 
-	private static void findCalledBy(ICElement callee, int linkageID, IIndex index, CalledByResult result)
-			throws CoreException {
-		final ICProject project = callee.getCProject();
+	private static void findCalledBy(ICElement callee, int linkageID, IIndex index, CallerElements callers,
+			CalledByResult result) throws CoreException {
 		IIndexBinding calleeBinding = IndexUI.elementToBinding(index, callee, linkageID);
 		if (calleeBinding != null) {
-			findCalledBy1(index, calleeBinding, true, project, result);
+			findCalledBy1(index, calleeBinding, true, callers, result);
 			if (calleeBinding instanceof ICPPMethod) {
 				IBinding[] overriddenBindings = ClassTypeHelper.findOverridden((ICPPMethod) calleeBinding);
 				for (IBinding overriddenBinding : overriddenBindings) {
-					findCalledBy1(index, overriddenBinding, false, project, result);
+					findCalledBy1(index, overriddenBinding, false, callers, result);
 				}
 			}
 		}
 	}
 
-	private static void findCalledBy1(IIndex index, IBinding callee, boolean includeOrdinaryCalls, ICProject project,
-			CalledByResult result) throws CoreException {
-		findCalledBy2(index, callee, includeOrdinaryCalls, project, result);
+	private static void findCalledBy1(IIndex index, IBinding callee, boolean includeOrdinaryCalls,
+			CallerElements callers, CalledByResult result) throws CoreException {
+		findCalledBy2(index, callee, includeOrdinaryCalls, callers, result);
 		List<? extends IBinding> specializations = IndexUI.findSpecializations(index, callee);
 		for (IBinding spec : specializations) {
-			findCalledBy2(index, spec, includeOrdinaryCalls, project, result);
+			findCalledBy2(index, spec, includeOrdinaryCalls, callers, result);
 		}
 	}
 
-	private static void findCalledBy2(IIndex index, IBinding callee, boolean includeOrdinaryCalls, ICProject project,
-			CalledByResult result) throws CoreException {
+	private static void findCalledBy2(IIndex index, IBinding callee, boolean includeOrdinaryCalls,
+			CallerElements callers, CalledByResult result) throws CoreException {
 		IIndexName[] names = index.findNames(callee, IIndex.FIND_REFERENCES | IIndex.SEARCH_ACROSS_LANGUAGE_BOUNDARIES);
 		for (IIndexName rname : names) {
 			if (includeOrdinaryCalls || rname.couldBePolymorphicMethodCall()) {
 				IIndexName caller = rname.getEnclosingDefinition();
 				if (caller != null) {
-					ICElement elem = IndexUI.getCElementForName(project, index, caller);
+					ICElement elem = callers.getElement(caller);
 					if (elem != null) {
 						result.add(elem, rname);
 					}
@@ -132,6 +135,39 @@ public class CHQueries {
 		}
 	}
 
+	/**
+	 * The elements of the callers found by a query. A function calling the callee several times,
+	 * and the callers defined in the same file, are converted to elements only once.
+	 */
+	private static class CallerElements {
+		private final IIndex fIndex;
+		private final ICProject fProject;
+		private final Map<IIndexName, ICElement> fElements = new HashMap<>();
+		private final Map<IIndexFileLocation, ITranslationUnit> fTranslationUnits = new HashMap<>();
+
+		CallerElements(IIndex index, ICProject project) {
+			fIndex = index;
+			fProject = project;
+		}
+
+		ICElement getElement(IIndexName caller) throws CoreException {
+			ICElement element = fElements.get(caller);
+			if (element == null && !fElements.containsKey(caller)) {
+				IIndexFileLocation location = caller.getFile().getLocation();
+				ITranslationUnit tu = fTranslationUnits.get(location);
+				if (tu == null && !fTranslationUnits.containsKey(location)) {
+					tu = IndexUI.getTranslationUnit(fProject, caller);
+					fTranslationUnits.put(location, tu);
+				}
+				if (tu != null) {
+					element = IndexUI.getCElementForName(tu, fIndex, caller);
+				}
+				fElements.put(caller, element);
+			}
+			return element;
+		}
+	}
+
 	/**
 	 * Searches for all calls that are made within a given range.
 	 */
@@ -142,16 +178,27 @@ public class CHQueries {
 		IIndexName callerName = IndexUI.elementToName(index, caller);
 		if (callerName != null) {
 			IIndexName[] refs = callerName.getEnclosedNames();
+			// A function is typically called several times by the same caller.
+			Map<IBinding, ICElement[]> overriders = new HashMap<>();
+			Map<IBinding, ICElement[]> representatives = new HashMap<>();
 			for (IIndexName name : refs) {
 				IBinding binding = index.findBinding(name);
 				if (CallHierarchyUI.isRelevantForCallHierarchy(binding)) {
 					while (true) {
 						ICElement[] defs = null;
 						if (binding instanceof ICPPMethod && name.couldBePolymorphicMethodCall()) {
-							defs = findOverriders(index, (ICPPMethod) binding);
+							defs = overriders.get(binding);
+							if (defs == null && !overriders.containsKey(binding)) {
+								defs = findOverriders(index, (ICPPMethod) binding);
+								overriders.put(binding, defs);
+							}
 						}
 						if (defs == null) {
-							defs = IndexUI.findRepresentative(index, binding);
+							defs = representatives.get(binding);
+							if (defs == null) {
+								defs = IndexUI.findRepresentative(index, binding);
+								representatives.put(binding, defs);
+							}
 						}
 						if (defs != null && defs.length > 0) {
 							result.add(defs, name);
@@ -224,6 +224,31 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * The range of the document modified since the positions were last reconciled, together with
+	 * the function bodies of the document at that time.
+	 */
+	public static final class ModifiedRange {
+		/** The start offset of the modified range */
+		public final int fOffset;
+		/** The end offset of the modified range in the current document */
+		public final int fEndOffset;
+		/** The end offset of the modified range in the document the positions were reconciled with */
+		public final int fOldEndOffset;
+		/**
+		 * The start and end offsets of the function bodies that can be reconciled on their own,
+		 * in the document the positions were reconciled with
+		 */
+		public final int[] fFunctionBodies;
+
+		ModifiedRange(int offset, int endOffset, int oldEndOffset, int[] functionBodies) {
+			fOffset = offset;
+			fEndOffset = endOffset;
+			fOldEndOffset = oldEndOffset;
+			fFunctionBodies = functionBodies;
+		}
+	}
+
 	/** Position updater */
 	private IPositionUpdater fPositionUpdater = new HighlightingPositionUpdater(getPositionCategory());
 
@@ -240,6 +265,19 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	/** <code>true</code> iff the current reconcile is canceled. */
 	private boolean fIsCanceled = false;
 
+	/** Number of modifications of the document, guarded by the position lock */
+	private int fModificationCount;
+	/**
+	 * The function bodies of the document the positions were last reconciled with, or
+	 * <code>null</code> if the positions were not reconciled with a known state of the document
+	 */
+	private int[] fReconciledFunctionBodies;
+	/** The range modified since the positions were last reconciled, <code>fModifiedEnd &lt; 0</code> if none */
+	private int fModifiedOffset;
+	private int fModifiedEnd = -1;
+	/** The change of the length of the document since the positions were last reconciled */
+	private int fModifiedDelta;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -270,6 +308,57 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * Adds the current positions starting within the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param offset The start offset of the range
+	 * @param length The length of the range
+	 * @param list The list
+	 */
+	public void addPositions(int offset, int length, List<? super HighlightedPosition> list) {
+		synchronized (fPositionLock) {
+			int i = computeIndexAtOffset(fPositions, offset);
+			int n = computeIndexAtOffset(fPositions, offset + length);
+			list.addAll(fPositions.subList(i, n));
+		}
+	}
+
+	/**
+	 * Returns the number of modifications of the document, to be passed to
+	 * {@link #createUpdateRunnable(TextPresentation, List, List, int, int[])}.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @return the number of modifications
+	 */
+	public int getModificationCount() {
+		synchronized (fPositionLock) {
+			return fModificationCount;
+		}
+	}
+
+	/**
+	 * Returns the range of the document modified since the positions were last reconciled.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @return the modified range, or <code>null</code> if the document was not modified or if the
+	 *     positions need to be reconciled with the entire document
+	 */
+	public ModifiedRange getModifiedRange() {
+		synchronized (fPositionLock) {
+			if (fReconciledFunctionBodies == null || fModifiedEnd < 0)
+				return null;
+			return new ModifiedRange(fModifiedOffset, fModifiedEnd, fModifiedEnd - fModifiedDelta,
+					fReconciledFunctionBodies);
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
@@ -332,7 +421,33 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	 */
 	public Runnable createUpdateRunnable(final TextPresentation textPresentation,
 			List<HighlightedPosition> addedPositions, List<HighlightedPosition> removedPositions) {
-		if (fSourceViewer == null || textPresentation == null)
+		return createUpdateRunnable(textPresentation, addedPositions, removedPositions, -1, null);
+	}
+
+	/**
+	 * Create a runnable for updating the presentation. If the document is not modified between the
+	 * given modification count and the execution of the runnable, the positions are recorded as
+	 * reconciled with the document, such that subsequent reconciles may be limited to the range
+	 * modified afterwards.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 * @param textPresentation the text presentation, may be <code>null</code> if there are no
+	 *     added or removed positions
+	 * @param addedPositions the added positions
+	 * @param removedPositions the removed positions
+	 * @param modificationCount the modification count of the document the positions were computed
+	 *     for, or -1 if unknown
+	 * @param functionBodies the start and end offsets of the function bodies of the document that
+	 *     can be reconciled on their own, or <code>null</code>
+	 * @return the runnable or <code>null</code>, if reconciliation should be canceled
+	 */
+	public Runnable createUpdateRunnable(final TextPresentation textPresentation,
+			List<HighlightedPosition> addedPositions, List<HighlightedPosition> removedPositions,
+			int modificationCount, int[] functionBodies) {
+		if (fSourceViewer == null)
+			return null;
+		if (textPresentation == null && (!addedPositions.isEmpty() || !removedPositions.isEmpty()))
 			return null;
 
 		// TODO: do clustering of positions and post multiple fast runnables
@@ -343,7 +458,8 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		if (isCanceled())
 			return null;
 
-		Runnable runnable = () -> updatePresentation(textPresentation, added, removed);
+		Runnable runnable = () -> updatePresentation(textPresentation, added, removed, modificationCount,
+				functionBodies);
 		return runnable;
 	}
 
@@ -361,6 +477,11 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	 */
 	public void updatePresentation(TextPresentation textPresentation, HighlightedPosition[] addedPositions,
 			HighlightedPosition[] removedPositions) {
+		updatePresentation(textPresentation, addedPositions, removedPositions, -1, null);
+	}
+
+	private void updatePresentation(TextPresentation textPresentation, HighlightedPosition[] addedPositions,
+			HighlightedPosition[] removedPositions, int modificationCount, int[] functionBodies) {
 		if (fSourceViewer == null)
 			return;
 
@@ -379,62 +500,18 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 
 		String positionCategory = getPositionCategory();
 
-		List<HighlightedPosition> removedPositionsList = Arrays.asList(removedPositions);
-
 		try {
 			synchronized (fPositionLock) {
-				List<HighlightedPosition> oldPositions = fPositions;
-				int newSize = Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
-
-				/*
-				 * The following loop is a kind of merge sort: it merges two List<Position>, each
-				 * sorted by position.offset, into one new list. The first of the two is the
-				 * previous list of positions (oldPositions), from which any deleted positions get
-				 * removed on the fly. The second of two is the list of added positions. The result
-				 * is stored in newPositions.
-				 */
-				List<HighlightedPosition> newPositions = new ArrayList<>(newSize);
-				HighlightedPosition position = null;
-				HighlightedPosition addedPosition = null;
-				for (int i = 0, j = 0, n = oldPositions.size(), m = addedPositions.length; i < n || position != null
-						|| j < m || addedPosition != null;) {
-					// loop variant: i + j < old(i + j)
-
-					// a) find the next non-deleted Position from the old list
-					while (position == null && i < n) {
-						position = oldPositions.get(i++);
-						if (position.isDeleted() || contain(removedPositionsList, position)) {
-							document.removePosition(positionCategory, position);
-							position = null;
-						}
-					}
-
-					// b) find the next Position from the added list
-					if (addedPosition == null && j < m) {
-						addedPosition = addedPositions[j++];
-						document.addPosition(positionCategory, addedPosition);
-					}
-
-					// c) merge: add the next of position/addedPosition with the lower offset
-					if (position != null) {
-						if (addedPosition != null)
-							if (position.getOffset() <= addedPosition.getOffset()) {
-								newPositions.add(position);
-								position = null;
-							} else {
-								newPositions.add(addedPosition);
-								addedPosition = null;
-							}
-						else {
-							newPositions.add(position);
-							position = null;
-						}
-					} else if (addedPosition != null) {
-						newPositions.add(addedPosition);
-						addedPosition = null;
-					}
+				if ((addedPositions.length + removedPositions.length) * 16 < fPositions.size()) {
+					updatePositions(document, positionCategory, addedPositions, removedPositions);
+				} else {
+					mergePositions(document, positionCategory, addedPositions, removedPositions);
+				}
+				if (modificationCount >= 0 && modificationCount == fModificationCount) {
+					fReconciledFunctionBodies = functionBodies;
+					fModifiedEnd = -1;
+					fModifiedDelta = 0;
 				}
-				fPositions = newPositions;
 			}
 		} catch (BadPositionCategoryException e) {
 			// Should not happen
@@ -447,10 +524,90 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 
 		if (textPresentation != null)
 			fSourceViewer.changeTextPresentation(textPresentation, false);
-		else
+		else if (addedPositions.length > 0 || removedPositions.length > 0)
 			fSourceViewer.invalidateTextPresentation();
 	}
 
+	/**
+	 * Removes and inserts the given positions one by one, which is faster than merging them with
+	 * all positions of the presenter if there are few of them.
+	 */
+	private void updatePositions(IDocument document, String positionCategory, HighlightedPosition[] addedPositions,
+			HighlightedPosition[] removedPositions) throws BadPositionCategoryException, BadLocationException {
+		for (HighlightedPosition position : removedPositions) {
+			int index = indexOf(fPositions, position);
+			if (index != -1) {
+				fPositions.remove(index);
+				document.removePosition(positionCategory, position);
+			}
+		}
+		for (HighlightedPosition position : addedPositions) {
+			document.addPosition(positionCategory, position);
+			insertPosition(position);
+		}
+	}
+
+	/**
+	 * Merges the given added positions with the positions of the presenter, dropping the removed
+	 * and the deleted ones.
+	 */
+	private void mergePositions(IDocument document, String positionCategory, HighlightedPosition[] addedPositions,
+			HighlightedPosition[] removedPositions) throws BadPositionCategoryException, BadLocationException {
+		List<HighlightedPosition> removedPositionsList = Arrays.asList(removedPositions);
+		List<HighlightedPosition> oldPositions = fPositions;
+		int newSize = Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
+
+		/*
+		 * The following loop is a kind of merge sort: it merges two List<Position>, each
+		 * sorted by position.offset, into one new list. The first of the two is the
+		 * previous list of positions (oldPositions), from which any deleted positions get
+		 * removed on the fly. The second of two is the list of added positions. The result
+		 * is stored in newPositions.
+		 */
+		List<HighlightedPosition> newPositions = new ArrayList<>(newSize);
+		HighlightedPosition position = null;
+		HighlightedPosition addedPosition = null;
+		for (int i = 0, j = 0, n = oldPositions.size(), m = addedPositions.length; i < n || position != null
+				|| j < m || addedPosition != null;) {
+			// loop variant: i + j < old(i + j)
+
+			// a) find the next non-deleted Position from the old list
+			while (position == null && i < n) {
+				position = oldPositions.get(i++);
+				if (position.isDeleted() || contain(removedPositionsList, position)) {
+					document.removePosition(positionCategory, position);
+					position = null;
+				}
+			}
+
+			// b) find the next Position from the added list
+			if (addedPosition == null && j < m) {
+				addedPosition = addedPositions[j++];
+				document.addPosition(positionCategory, addedPosition);
+			}
+
+			// c) merge: add the next of position/addedPosition with the lower offset
+			if (position != null) {
+				if (addedPosition != null)
+					if (position.getOffset() <= addedPosition.getOffset()) {
+						newPositions.add(position);
+						position = null;
+					} else {
+						newPositions.add(addedPosition);
+						addedPosition = null;
+					}
+				else {
+					newPositions.add(position);
+					position = null;
+				}
+			} else if (addedPosition != null) {
+				newPositions.add(addedPosition);
+				addedPosition = null;
+			}
+		}
+		fPositions = newPositions;
+	}
+
 	//	private void checkOrdering(String s, List positions) {
 	//		Position previous= null;
 	//		for (int i= 0, n= positions.size(); i < n; i++) {
@@ -582,6 +739,27 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		final int offset = event.getOffset();
+		final int oldEnd = offset + event.getLength();
+		final String text = event.getText();
+		final int newEnd = offset + (text == null ? 0 : text.length());
+		synchronized (fPositionLock) {
+			fModificationCount++;
+			if (fModifiedEnd < 0) {
+				fModifiedOffset = offset;
+				fModifiedEnd = newEnd;
+			} else {
+				int end = fModifiedEnd;
+				if (end >= oldEnd) {
+					end += newEnd - oldEnd;
+				} else if (end > offset) {
+					end = newEnd;
+				}
+				fModifiedOffset = Math.min(fModifiedOffset, offset);
+				fModifiedEnd = Math.max(end, newEnd);
+			}
+			fModifiedDelta += newEnd - oldEnd;
+		}
 	}
 
 	/**
@@ -727,6 +905,9 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	private void resetState() {
 		synchronized (fPositionLock) {
 			fPositions.clear();
+			fReconciledFunctionBodies = null;
+			fModifiedEnd = -1;
+			fModifiedDelta = 0;
 		}
 	}
 
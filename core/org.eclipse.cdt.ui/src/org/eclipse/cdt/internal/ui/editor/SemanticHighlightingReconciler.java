@@ -16,6 +16,7 @@
 package org.eclipse.cdt.internal.ui.editor;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -24,6 +25,8 @@ import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTImageLocation;
 import org.eclipse.cdt.core.dom.ast.IASTMacroExpansionLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -31,6 +34,7 @@ import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
 import org.eclipse.cdt.core.dom.ast.IASTStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
@@ -38,7 +42,9 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.parser.util.IntArray;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.model.ASTCache;
 import org.eclipse.cdt.internal.core.parser.scanner.ASTPreprocessorName;
@@ -130,12 +136,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			IASTPreprocessorMacroExpansion[] macroExps = tu.getMacroExpansions();
 			for (IASTPreprocessorMacroExpansion macroExp : macroExps) {
 				if (macroExp.isPartOfTranslationUnitFile()) {
-					IASTName macroRef = macroExp.getMacroReference();
-					visitNode(macroRef);
-					IASTName[] nestedMacroRefs = macroExp.getNestedMacroReferences();
-					for (IASTName nestedMacroRef : nestedMacroRefs) {
-						visitNode(nestedMacroRef);
-					}
+					visitMacroExpansion(macroExp);
 				}
 			}
 
@@ -143,6 +144,39 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			return super.visit(tu);
 		}
 
+		/**
+		 * Visits the given node of the translation unit file, together with the macro expansions
+		 * within its range. The node must not contain macro definitions.
+		 *
+		 * @param tu the translation unit
+		 * @param node the node
+		 */
+		public void visitSubtree(IASTTranslationUnit tu, IASTNode node) {
+			IASTFileLocation location = node.getFileLocation();
+			int offset = location.getNodeOffset();
+			int endOffset = offset + location.getNodeLength();
+			IASTPreprocessorMacroExpansion[] macroExps = tu.getMacroExpansions();
+			for (IASTPreprocessorMacroExpansion macroExp : macroExps) {
+				if (macroExp.isPartOfTranslationUnitFile()) {
+					IASTFileLocation macroLocation = macroExp.getFileLocation();
+					if (macroLocation != null && macroLocation.getNodeOffset() >= offset
+							&& macroLocation.getNodeOffset() < endOffset) {
+						visitMacroExpansion(macroExp);
+					}
+				}
+			}
+			node.accept(this);
+		}
+
+		private void visitMacroExpansion(IASTPreprocessorMacroExpansion macroExp) {
+			IASTName macroRef = macroExp.getMacroReference();
+			visitNode(macroRef);
+			IASTName[] nestedMacroRefs = macroExp.getNestedMacroReferences();
+			for (IASTName nestedMacroRef : nestedMacroRefs) {
+				visitNode(nestedMacroRef);
+			}
+		}
+
 		@Override
 		public int visit(IASTDeclaration declaration) {
 			if (!declaration.isPartOfTranslationUnitFile()) {
@@ -307,21 +341,56 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	}
 
 	private class PositionCollector extends AbstractPositionCollector {
-		public PositionCollector() {
+		/**
+		 * The start and end offsets of the outermost function bodies that can be reconciled on
+		 * their own, or <code>null</code> if they are not collected.
+		 */
+		private final IntArray fFunctionBodies;
+		private int fFunctionDepth;
+
+		public PositionCollector(boolean collectFunctionBodies) {
 			super(fJobSemanticHighlightings, fJobHighlightings);
+			fFunctionBodies = collectFunctionBodies ? new IntArray() : null;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			int result = super.visit(declaration);
+			if (result == PROCESS_CONTINUE && declaration instanceof IASTFunctionDefinition) {
+				if (fFunctionDepth++ == 0 && fFunctionBodies != null) {
+					addFunctionBody((IASTFunctionDefinition) declaration);
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public int leave(IASTDeclaration declaration) {
+			if (declaration instanceof IASTFunctionDefinition) {
+				fFunctionDepth--;
+			}
+			return super.leave(declaration);
+		}
+
+		private void addFunctionBody(IASTFunctionDefinition definition) {
+			IASTFileLocation location = getBodyLocation(definition);
+			if (location != null) {
+				fFunctionBodies.add(location.getNodeOffset());
+				fFunctionBodies.add(location.getNodeOffset() + location.getNodeLength());
+			}
 		}
 
 		@Override
 		protected void addPosition(int offset, int length, HighlightingStyle highlightingStyle) {
 			boolean isExisting = false;
-			// TODO: use binary search
-			for (int i = 0, n = fRemovedPositions.size(); i < n; i++) {
+			// The removed positions are sorted by offset.
+			for (int i = computeIndexAtOffset(fRemovedPositions, offset), n = fRemovedPositions.size(); i < n; i++) {
 				HighlightedPosition position = fRemovedPositions.get(i);
-				if (position == null)
-					continue;
-				if (position.isEqual(offset, length, highlightingStyle)) {
+				if (position.getOffset() != offset)
+					break;
+				if (!fMatchedPositions.get(i) && position.isEqual(offset, length, highlightingStyle)) {
 					isExisting = true;
-					fRemovedPositions.set(i, null);
+					fMatchedPositions.set(i);
 					fNOfRemovedPositions--;
 					break;
 				}
@@ -350,6 +419,8 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	protected List<HighlightedPosition> fRemovedPositions = new ArrayList<>();
 	/** Number of removed positions */
 	protected int fNOfRemovedPositions;
+	/** The indices of the removed positions that were found again */
+	private final BitSet fMatchedPositions = new BitSet();
 
 	/** Background job */
 	private Job fJob;
@@ -378,14 +449,49 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 * {@link #reconciled(IASTTranslationUnit, boolean, IProgressMonitor)}
 	 */
 	private HighlightingStyle[] fJobHighlightings;
+	/**
+	 * The function whose body is reconciled rather than the entire AST - cache for background
+	 * thread, only valid during {@link #reconciled(IASTTranslationUnit, boolean, IProgressMonitor)}
+	 */
+	private IASTFunctionDefinition fJobFunction;
+	/**
+	 * The function bodies of the reconciled AST, or <code>null</code> - cache for background
+	 * thread, only valid during {@link #reconciled(IASTTranslationUnit, boolean, IProgressMonitor)}
+	 */
+	private int[] fJobFunctionBodies;
+	/**
+	 * The modification count of the document before the AST was computed, or -1 - cache for
+	 * background thread, only valid during {@link #reconciled(IASTTranslationUnit, boolean, IProgressMonitor)}
+	 */
+	private int fJobModificationCount = -1;
+
+	/** The modification count of the document when reconciling started, or -1 */
+	private int fModificationCount = -1;
 
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		SemanticHighlightingPresenter presenter = fPresenter;
+		fModificationCount = presenter != null ? presenter.getModificationCount() : -1;
 	}
 
 	@Override
 	public void reconciled(IASTTranslationUnit ast, boolean force, IProgressMonitor progressMonitor) {
+		int modificationCount = fModificationCount;
+		fModificationCount = -1;
+		reconciled(ast, force, progressMonitor, modificationCount);
+	}
+
+	/**
+	 * Reconciles the positions with the given AST. If the document was modified only within
+	 * the body of a single function since the positions were last reconciled, only the positions
+	 * within that body are recomputed. Such a modification cannot change bindings declared outside
+	 * of the body, unless the body determines the return type or the value of the function.
+	 *
+	 * @param modificationCount the modification count of the document before the AST was
+	 *     computed, or -1 if unknown
+	 */
+	private void reconciled(IASTTranslationUnit ast, boolean force, IProgressMonitor progressMonitor,
+			int modificationCount) {
 		// Ensure at most one thread can be reconciling at any time.
 		synchronized (fReconcileLock) {
 			if (fIsReconciling)
@@ -405,12 +511,22 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			PositionCollector collector = new PositionCollector();
+			SemanticHighlightingPresenter.ModifiedRange modifiedRange = force ? null
+					: fJobPresenter.getModifiedRange();
+			fJobFunction = modifiedRange != null ? findModifiedFunction(ast, modifiedRange) : null;
+			fJobModificationCount = modificationCount;
+			PositionCollector collector = new PositionCollector(fJobFunction == null);
 
 			startReconcilingPositions();
 
-			if (!fJobPresenter.isCanceled())
+			if (!fJobPresenter.isCanceled()) {
 				reconcilePositions(ast, collector);
+				if (fJobFunction != null) {
+					fJobFunctionBodies = getFunctionBodies(modifiedRange);
+				} else {
+					fJobFunctionBodies = getFunctionBodies(ast, collector.fFunctionBodies);
+				}
+			}
 
 			TextPresentation textPresentation = null;
 			if (!fJobPresenter.isCanceled())
@@ -424,6 +540,9 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			fJobPresenter = null;
 			fJobSemanticHighlightings = null;
 			fJobHighlightings = null;
+			fJobFunction = null;
+			fJobFunctionBodies = null;
+			fJobModificationCount = -1;
 			synchronized (fReconcileLock) {
 				fIsReconciling = false;
 			}
@@ -434,7 +553,12 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 * Starts reconciling positions.
 	 */
 	protected void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+		if (fJobFunction != null) {
+			IASTFileLocation location = fJobFunction.getBody().getFileLocation();
+			fJobPresenter.addPositions(location.getNodeOffset(), location.getNodeLength(), fRemovedPositions);
+		} else {
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		}
 		fNOfRemovedPositions = fRemovedPositions.size();
 	}
 
@@ -447,18 +571,22 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	private void reconcilePositions(IASTTranslationUnit ast, PositionCollector visitor) {
 		try {
 			CPPSemantics.pushLookupPoint(ast);
-			ast.accept(visitor);
+			if (fJobFunction != null) {
+				visitor.visitSubtree(ast, fJobFunction.getBody());
+			} else {
+				ast.accept(visitor);
+			}
 		} finally {
 			CPPSemantics.popLookupPoint();
 		}
 		List<HighlightedPosition> oldPositions = fRemovedPositions;
 		List<HighlightedPosition> newPositions = new ArrayList<>(fNOfRemovedPositions);
 		for (int i = 0, n = oldPositions.size(); i < n; i++) {
-			HighlightedPosition current = oldPositions.get(i);
-			if (current != null)
-				newPositions.add(current);
+			if (!fMatchedPositions.get(i))
+				newPositions.add(oldPositions.get(i));
 		}
 		fRemovedPositions = newPositions;
+		fMatchedPositions.clear();
 		// Positions need to be sorted by ascending offset
 		Collections.sort(fAddedPositions, new Comparator<Position>() {
 			@Override
@@ -477,7 +605,8 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 */
 	protected void updatePresentation(TextPresentation textPresentation, List<HighlightedPosition> addedPositions,
 			List<HighlightedPosition> removedPositions) {
-		Runnable runnable = fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
+		Runnable runnable = fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions,
+				fJobModificationCount, fJobFunctionBodies);
 		if (runnable == null)
 			return;
 
@@ -507,6 +636,147 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions = 0;
 		fAddedPositions.clear();
+		fMatchedPositions.clear();
+	}
+
+	/**
+	 * Returns the index of the first position with an offset equal or greater than the given offset.
+	 *
+	 * @param positions the positions, must be ordered by offset
+	 * @param offset the offset
+	 */
+	private static int computeIndexAtOffset(List<? extends Position> positions, int offset) {
+		int i = -1;
+		int j = positions.size();
+		while (j - i > 1) {
+			int k = (i + j) >> 1;
+			if (positions.get(k).getOffset() >= offset)
+				j = k;
+			else
+				i = k;
+		}
+		return j;
+	}
+
+	/**
+	 * Returns the function of the AST whose body contains all modifications of the document since
+	 * the positions were last reconciled, provided that it can be reconciled on its own.
+	 *
+	 * @return the function definition, or <code>null</code> if the entire AST needs to be reconciled
+	 */
+	private static IASTFunctionDefinition findModifiedFunction(IASTTranslationUnit ast,
+			SemanticHighlightingPresenter.ModifiedRange range) {
+		// Find the body of the previous version of the document containing the modifications.
+		final int[] bodies = range.fFunctionBodies;
+		int lower = 0;
+		int upper = bodies.length / 2;
+		while (upper > lower) {
+			int middle = (upper + lower) >>> 1;
+			if (bodies[2 * middle] < range.fOffset) {
+				lower = middle + 1;
+			} else {
+				upper = middle;
+			}
+		}
+		if (lower == 0)
+			return null;
+		final int oldBodyOffset = bodies[2 * lower - 2];
+		final int oldBodyEndOffset = bodies[2 * lower - 1];
+		// The modifications must not touch the braces of the body.
+		if (range.fOldEndOffset >= oldBodyEndOffset)
+			return null;
+
+		// The body of the current AST containing the modifications must have the same extent.
+		IASTNode node = ast.getNodeSelector(null).findEnclosingNode(range.fOffset,
+				range.fEndOffset - range.fOffset);
+		IASTFunctionDefinition function = null;
+		for (; node != null; node = node.getParent()) {
+			if (node instanceof IASTFunctionDefinition) {
+				function = (IASTFunctionDefinition) node;
+			}
+		}
+		if (function == null)
+			return null;
+		IASTFileLocation location = getBodyLocation(function);
+		if (location == null || location.getNodeOffset() != oldBodyOffset || location.getNodeOffset()
+				+ location.getNodeLength() != oldBodyEndOffset + range.fEndOffset - range.fOldEndOffset) {
+			return null;
+		}
+		for (IASTPreprocessorStatement statement : ast.getAllPreprocessorStatements()) {
+			if (isInBody(statement, location.getNodeOffset(), location.getNodeOffset() + location.getNodeLength()))
+				return null;
+		}
+		return function;
+	}
+
+	/**
+	 * Returns the location of the body of the given function, provided that the body can be
+	 * reconciled on its own.
+	 *
+	 * @return the location of the body, or <code>null</code>
+	 */
+	private static IASTFileLocation getBodyLocation(IASTFunctionDefinition function) {
+		IASTStatement body = function.getBody();
+		if (body == null || ReusableFunctionBodies.hasDeducedResult(function))
+			return null;
+		IASTNodeLocation[] locations = body.getNodeLocations();
+		if (locations.length != 1 || !(locations[0] instanceof IASTFileLocation))
+			return null;
+		return (IASTFileLocation) locations[0];
+	}
+
+	private static boolean isInBody(IASTPreprocessorStatement statement, int bodyOffset, int bodyEndOffset) {
+		if (!statement.isPartOfTranslationUnitFile())
+			return false;
+		IASTFileLocation location = statement.getFileLocation();
+		return location != null && location.getNodeOffset() < bodyEndOffset
+				&& location.getNodeOffset() + location.getNodeLength() > bodyOffset;
+	}
+
+	/**
+	 * Returns the bodies of the functions of the AST that can be reconciled on their own, i.e. the
+	 * given bodies without the ones containing preprocessor statements.
+	 */
+	private static int[] getFunctionBodies(IASTTranslationUnit ast, IntArray bodies) {
+		IASTPreprocessorStatement[] statements = ast.getAllPreprocessorStatements();
+		IntArray result = new IntArray(bodies.size());
+		int j = 0;
+		for (int i = 0; i < bodies.size(); i += 2) {
+			int bodyOffset = bodies.get(i);
+			int bodyEndOffset = bodies.get(i + 1);
+			// Both the bodies and the preprocessor statements are sorted by offset.
+			while (j < statements.length && !isInBody(statements[j], bodyOffset, bodyEndOffset)
+					&& isBefore(statements[j], bodyEndOffset)) {
+				j++;
+			}
+			if (j == statements.length || !isInBody(statements[j], bodyOffset, bodyEndOffset)) {
+				result.add(bodyOffset);
+				result.add(bodyEndOffset);
+			}
+		}
+		return result.toArray();
+	}
+
+	private static boolean isBefore(IASTPreprocessorStatement statement, int offset) {
+		if (!statement.isPartOfTranslationUnitFile())
+			return true;
+		IASTFileLocation location = statement.getFileLocation();
+		return location == null || location.getNodeOffset() < offset;
+	}
+
+	/**
+	 * Returns the given function bodies of the previous version of the document, adjusted for the
+	 * modification of one of them.
+	 */
+	private static int[] getFunctionBodies(SemanticHighlightingPresenter.ModifiedRange range) {
+		final int delta = range.fEndOffset - range.fOldEndOffset;
+		int[] bodies = range.fFunctionBodies.clone();
+		for (int i = 0; i < bodies.length; i++) {
+			if (bodies[i] > range.fOffset) {
+				bodies[i] += delta;
+			}
+		}
+		return bodies;
 	}
 
 	/**
@@ -581,7 +851,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 								new ASTCache.ASTRunnable() {
 									@Override
 									public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
-										reconciled(ast, true, monitor);
+										reconciled(ast, true, monitor, -1);
 										synchronized (fJobLock) {
 											// allow the job to be gc'ed
 											if (fJob == me)
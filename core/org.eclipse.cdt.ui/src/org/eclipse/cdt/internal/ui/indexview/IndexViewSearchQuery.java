@@ -54,7 +54,7 @@ public class IndexViewSearchQuery extends CSearchQuery {
 			if (CCoreInternals.getPDOMManager().getPDOM(fProject).getLastWriteAccess() == fLastWrite) {
 				// We should call CPPSemantics.pushLookupPoint() here.
 				// Until we do, instantiation of dependent expressions may not work.
-				createMatches(index, fBinding);
+				createMatches(index, fBinding, monitor);
 			}
 			return Status.OK_STATUS;
 		} catch (CoreException e) {
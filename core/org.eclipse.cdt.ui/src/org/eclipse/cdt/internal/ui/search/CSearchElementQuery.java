@@ -49,7 +49,7 @@ public class CSearchElementQuery extends CSearchQuery {
 					label = labelForBinding(index, binding, label);
 					// We should call CPPSemantics.pushLookupPoint() here.
 					// Until we do, instantiation of dependent expressions may not work.
-					createMatches(index, binding);
+					createMatches(index, binding, monitor);
 				}
 			}
 			return Status.OK_STATUS;
@@ -191,7 +191,7 @@ public class CSearchPatternQuery extends CSearchQuery {
 			}
 			// We should call CPPSemantics.pushLookupPoint() here.
 			// Until we do, instantiation of dependent expressions may not work.
-			createMatches(index, matchedBindings.toArray(new IIndexBinding[matchedBindings.size()]));
+			createMatches(index, matchedBindings.toArray(new IIndexBinding[matchedBindings.size()]), monitor);
 		} catch (CoreException e) {
 			return e.getStatus();
 		}
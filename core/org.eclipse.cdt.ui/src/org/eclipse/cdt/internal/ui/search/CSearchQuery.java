@@ -21,12 +21,19 @@ package org.eclipse.cdt.internal.ui.search;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IPositionConverter;
@@ -83,6 +90,9 @@ public abstract class CSearchQuery implements ISearchQuery {
 	public static final int FIND_DECLARATIONS_DEFINITIONS = FIND_DECLARATIONS | FIND_DEFINITIONS;
 	public static final int FIND_ALL_OCCURRENCES = FIND_DECLARATIONS | FIND_DEFINITIONS | FIND_REFERENCES;
 
+	/** The maximum number of threads reading the lines of the matches from the files */
+	private static final int MAX_THREADS = 4;
+
 	protected static final long LABEL_FLAGS = CElementLabels.M_PARAMETER_TYPES | CElementLabels.ALL_FULLY_QUALIFIED
 			| CElementLabels.TEMPLATE_ARGUMENTS;
 
@@ -220,8 +230,8 @@ public abstract class CSearchQuery implements ISearchQuery {
 		return false; // i.e. keep it
 	}
 
-	private void createMatchesFromNames(IIndex index, Map<IIndexFile, Set<Match>> fileMatches,
-			Collection<IIndexName> names, boolean isPolymorphicOnly) throws CoreException {
+	private void createMatchesFromNames(IIndex index, Set<Match> matches, Collection<IIndexName> names,
+			boolean isPolymorphicOnly) throws CoreException {
 		if (names == null)
 			return;
 
@@ -233,12 +243,6 @@ public abstract class CSearchQuery implements ISearchQuery {
 					if (loc == null) {
 						continue;
 					}
-					IIndexFile file = name.getFile();
-					Set<Match> matches = fileMatches.get(file);
-					if (matches == null) {
-						matches = new HashSet<>();
-						fileMatches.put(file, matches);
-					}
 					int nodeOffset = loc.getNodeOffset();
 					int nodeLength = loc.getNodeLength();
 					ICElement enclosingElement = null;
@@ -262,9 +266,23 @@ public abstract class CSearchQuery implements ISearchQuery {
 		}
 	}
 
-	private Set<Match> convertMatchesPositions(IIndexFile file, Set<Match> matches) throws CoreException {
-		IPath path = IndexLocationFactory.getPath(file.getLocation());
-		long timestamp = file.getTimestamp();
+	private static void groupByFile(Collection<IIndexName> names, Map<IIndexFile, List<IIndexName>> fileNames)
+			throws CoreException {
+		if (names == null)
+			return;
+		for (IIndexName name : names) {
+			IIndexFile file = name.getFile();
+			List<IIndexName> list = fileNames.get(file);
+			if (list == null) {
+				list = new ArrayList<>();
+				fileNames.put(file, list);
+			}
+			list.add(name);
+		}
+	}
+
+	private Set<Match> convertMatchesPositions(IIndexFileLocation location, long timestamp, Set<Match> matches) {
+		IPath path = IndexLocationFactory.getPath(location);
 		IPositionConverter converter = CCorePlugin.getPositionTrackerManager().findPositionConverter(path, timestamp);
 		if (converter != null) {
 			Set<Match> convertedMatches = new HashSet<>();
@@ -283,12 +301,24 @@ public abstract class CSearchQuery implements ISearchQuery {
 		return matches;
 	}
 
-	private void collectNames(IIndex index, Collection<IIndexName> names, Collection<IIndexName> polymorphicNames)
-			throws CoreException {
-		// group all matched names by files
-		Map<IIndexFile, Set<Match>> fileMatches = new HashMap<>();
-		createMatchesFromNames(index, fileMatches, names, false);
-		createMatchesFromNames(index, fileMatches, polymorphicNames, true);
+	/**
+	 * Reports the matches of the names to the search result file by file, as soon as the matches
+	 * of a file are known. The enclosing elements of the matches are computed from the index by
+	 * the calling thread, which holds the read lock. Reading the lines of the matches from the
+	 * files is done on worker threads, that don't access the index.
+	 */
+	private void collectNames(IIndex index, Collection<IIndexName> names, Collection<IIndexName> polymorphicNames,
+			IProgressMonitor monitor) throws CoreException {
+		// Group all matched names by files, in the order they were found.
+		Map<IIndexFile, List<IIndexName>> fileNames = new LinkedHashMap<>();
+		Map<IIndexFile, List<IIndexName>> filePolymorphicNames = new LinkedHashMap<>();
+		groupByFile(names, fileNames);
+		groupByFile(polymorphicNames, filePolymorphicNames);
+		for (IIndexFile file : filePolymorphicNames.keySet()) {
+			if (!fileNames.containsKey(file)) {
+				fileNames.put(file, Collections.<IIndexName>emptyList());
+			}
+		}
 		// compute mapping from paths to dirty text editors
 		IEditorPart[] dirtyEditors = CUIPlugin.getDirtyEditors();
 		Map<IPath, ITextEditor> pathsDirtyEditors = new HashMap<>();
@@ -302,48 +332,124 @@ public abstract class CSearchQuery implements ISearchQuery {
 				}
 			}
 		}
-		// for each file with matches create line elements with matches
-		for (Entry<IIndexFile, Set<Match>> entry : fileMatches.entrySet()) {
-			IIndexFile file = entry.getKey();
-			Set<Match> matches = entry.getValue();
-			LineSearchElement[] lineElements = {};
-			// check if there is dirty text editor corresponding to file and convert matches
-			IPath absolutePath = IndexLocationFactory.getAbsolutePath(file.getLocation());
-			if (pathsDirtyEditors.containsKey(absolutePath)) {
-				matches = convertMatchesPositions(file, matches);
-				// scan dirty editor and group matches by line elements
-				ITextEditor textEditor = pathsDirtyEditors.get(absolutePath);
-				IEditorInput input = textEditor.getEditorInput();
-				IDocument document = textEditor.getDocumentProvider().getDocument(input);
-				Match[] matchesArray = matches.toArray(new Match[matches.size()]);
-				lineElements = LineSearchElement.createElements(file.getLocation(), matchesArray, document);
-			} else {
-				// scan file and group matches by line elements
-				Match[] matchesArray = matches.toArray(new Match[matches.size()]);
-				lineElements = LineSearchElement.createElements(file.getLocation(), matchesArray);
-			}
-			// create real PDOMSearchMatch with corresponding line elements
-			for (LineSearchElement searchElement : lineElements) {
-				for (Match lineMatch : searchElement.getMatches()) {
-					int offset = lineMatch.getOffset();
-					int length = lineMatch.getLength();
-					CSearchMatch match = new CSearchMatch(searchElement, offset, length);
-					if (lineMatch.isPolymorphicCall())
-						match.setIsPolymorphicCall();
-					if (lineMatch.isWriteAccess()) {
-						match.setIsWriteAccess();
+
+		final ExecutorService executor = createExecutor(fileNames.size());
+		final List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (Entry<IIndexFile, List<IIndexName>> entry : fileNames.entrySet()) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				IIndexFile file = entry.getKey();
+				final Set<Match> matches = new HashSet<>();
+				createMatchesFromNames(index, matches, entry.getValue(), false);
+				createMatchesFromNames(index, matches, filePolymorphicNames.get(file), true);
+				if (matches.isEmpty())
+					continue;
+				final IIndexFileLocation location = file.getLocation();
+				final long timestamp = file.getTimestamp();
+				final ITextEditor dirtyEditor = pathsDirtyEditors
+						.get(IndexLocationFactory.getAbsolutePath(location));
+				futures.add(executor.submit(() -> {
+					if (!monitor.isCanceled()) {
+						addMatches(location, timestamp, matches, dirtyEditor);
 					}
-					result.addMatch(match);
+				}));
+			}
+		} finally {
+			executor.shutdown();
+			// Matches must not be added after the query has returned.
+			waitFor(futures);
+		}
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+	private static ExecutorService createExecutor(int fileCount) {
+		final int threadCount = Math.max(1,
+				Math.min(fileCount, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors())));
+		final AtomicInteger threadNumber = new AtomicInteger();
+		return Executors.newFixedThreadPool(threadCount, r -> {
+			Thread thread = new Thread(r, "C/C++ Search " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static void waitFor(List<Future<?>> futures) {
+		boolean interrupted = false;
+		for (Future<?> future : futures) {
+			while (true) {
+				try {
+					future.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					CUIPlugin.log(e.getCause());
+					break;
 				}
 			}
 		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
-	protected void createMatches(IIndex index, IBinding binding) throws CoreException {
-		createMatches(index, new IBinding[] { binding });
+	/**
+	 * Groups the matches of a file by lines and adds them to the search result.
+	 */
+	private void addMatches(IIndexFileLocation location, long timestamp, Set<Match> matches,
+			ITextEditor dirtyEditor) {
+		LineSearchElement[] lineElements;
+		// check if there is dirty text editor corresponding to file and convert matches
+		if (dirtyEditor != null) {
+			matches = convertMatchesPositions(location, timestamp, matches);
+			// scan dirty editor and group matches by line elements
+			IEditorInput input = dirtyEditor.getEditorInput();
+			IDocument document = dirtyEditor.getDocumentProvider().getDocument(input);
+			Match[] matchesArray = matches.toArray(new Match[matches.size()]);
+			lineElements = LineSearchElement.createElements(location, matchesArray, document);
+		} else {
+			// scan file and group matches by line elements
+			Match[] matchesArray = matches.toArray(new Match[matches.size()]);
+			lineElements = LineSearchElement.createElements(location, matchesArray);
+		}
+		result.addMatches(createSearchMatches(lineElements));
 	}
 
-	protected void createMatches(IIndex index, IBinding[] bindings) throws CoreException {
+	/**
+	 * Creates the real search matches with the corresponding line elements.
+	 */
+	private static CSearchMatch[] createSearchMatches(LineSearchElement[] lineElements) {
+		List<CSearchMatch> searchMatches = new ArrayList<>();
+		for (LineSearchElement searchElement : lineElements) {
+			for (Match lineMatch : searchElement.getMatches()) {
+				int offset = lineMatch.getOffset();
+				int length = lineMatch.getLength();
+				CSearchMatch match = new CSearchMatch(searchElement, offset, length);
+				if (lineMatch.isPolymorphicCall())
+					match.setIsPolymorphicCall();
+				if (lineMatch.isWriteAccess()) {
+					match.setIsWriteAccess();
+				}
+				searchMatches.add(match);
+			}
+		}
+		return searchMatches.toArray(new CSearchMatch[searchMatches.size()]);
+	}
+
+	protected void createMatches(IIndex index, IBinding binding, IProgressMonitor monitor) throws CoreException {
+		createMatches(index, new IBinding[] { binding }, monitor);
+	}
+
+	/**
+	 * Adds the matches of the given bindings to the search result. The matches are reported
+	 * file by file while the search is in progress.
+	 *
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	protected void createMatches(IIndex index, IBinding[] bindings, IProgressMonitor monitor)
+			throws CoreException {
 		if (bindings == null)
 			return;
 		List<IIndexName> names = new ArrayList<>();
@@ -392,7 +498,7 @@ public abstract class CSearchQuery implements ISearchQuery {
 		}
 
 		if (!(names.isEmpty() && (polymorphicNames == null || polymorphicNames.isEmpty()))) {
-			collectNames(index, names, polymorphicNames);
+			collectNames(index, names, polymorphicNames, monitor);
 		}
 	}
 
@@ -483,18 +589,7 @@ public abstract class CSearchQuery implements ISearchQuery {
 			} else {
 				lineElements = LineSearchElement.createElements(fileLocation, matchesArray);
 			}
-			// Create real PDOMSearchMatch with corresponding line elements
-			for (LineSearchElement searchElement : lineElements) {
-				for (Match lineMatch : searchElement.getMatches()) {
-					int offset = lineMatch.getOffset();
-					int length = lineMatch.getLength();
-					CSearchMatch match = new CSearchMatch(searchElement, offset, length);
-					if (lineMatch.isWriteAccess()) {
-						match.setIsWriteAccess();
-					}
-					result.addMatch(match);
-				}
-			}
+			result.addMatches(createSearchMatches(lineElements));
 		}
 	}
 
@@ -523,6 +618,8 @@ public abstract class CSearchQuery implements ISearchQuery {
 			}
 			try {
 				return runWithIndex(index, monitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
 			} finally {
 				index.releaseReadLock();
 			}
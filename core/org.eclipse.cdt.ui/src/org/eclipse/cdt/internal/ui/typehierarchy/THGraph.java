@@ -30,6 +30,7 @@ import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.model.ext.ICElementHandle;
 import org.eclipse.cdt.internal.ui.viewsupport.IndexUI;
 import org.eclipse.cdt.ui.CUIPlugin;
@@ -218,7 +219,9 @@ class THGraph {
 				IBinding binding = IndexUI.elementToBinding(index, elem);
 				if (binding != null) {
 					// TODO(nathanridge): Also find subclasses referenced via decltype-specifiers rather than names.
-					IIndexName[] names = index.findNames(binding, IIndex.FIND_REFERENCES | IIndex.FIND_DEFINITIONS);
+					// The base specifiers are looked up in the inheritance index rather than among all references.
+					IIndexName[] names = index.findNames(binding, IIndex.FIND_REFERENCES | IIndex.FIND_DEFINITIONS
+							| IIndexFragment.FIND_BASE_SPECIFIERS_ONLY);
 					for (IIndexName indexName : names) {
 						if (monitor.isCanceled()) {
 							return;
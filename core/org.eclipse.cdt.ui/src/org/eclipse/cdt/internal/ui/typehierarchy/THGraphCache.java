@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.typehierarchy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndexChangeEvent;
+import org.eclipse.cdt.core.index.IIndexChangeListener;
+import org.eclipse.cdt.core.model.ICElement;
+
+/**
+ * A bounded cache of the graphs computed for the type hierarchy, by the element the hierarchy
+ * was opened on. The graphs are computed on the index of all projects, the cache is therefore
+ * cleared whenever the index changes.
+ */
+class THGraphCache implements IIndexChangeListener {
+	private static final int MAX_SIZE = 10;
+	private static THGraphCache sInstance;
+
+	private final Map<ICElement, THGraph> fGraphs = new LinkedHashMap<ICElement, THGraph>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ICElement, THGraph> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	private long fIndexChangeCount;
+
+	public static synchronized THGraphCache getInstance() {
+		if (sInstance == null) {
+			sInstance = new THGraphCache();
+			CCorePlugin.getIndexManager().addIndexChangeListener(sInstance);
+		}
+		return sInstance;
+	}
+
+	/**
+	 * Returns the number of changes of the index so far, to be passed to {@link #put}.
+	 */
+	public synchronized long getIndexChangeCount() {
+		return fIndexChangeCount;
+	}
+
+	public synchronized THGraph get(ICElement input) {
+		return fGraphs.get(input);
+	}
+
+	/**
+	 * Stores a graph unless the index changed after the computation of the graph was started.
+	 */
+	public synchronized void put(ICElement input, THGraph graph, long indexChangeCount) {
+		if (indexChangeCount == fIndexChangeCount) {
+			fGraphs.put(input, graph);
+		}
+	}
+
+	public synchronized void clear() {
+		fGraphs.clear();
+	}
+
+	@Override
+	public synchronized void indexChanged(IIndexChangeEvent event) {
+		fIndexChangeCount++;
+		fGraphs.clear();
+	}
+}
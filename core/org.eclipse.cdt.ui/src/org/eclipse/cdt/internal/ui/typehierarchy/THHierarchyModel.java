@@ -147,7 +147,15 @@ class THHierarchyModel {
 	}
 
 	protected IStatus onComputeGraph(Job job, IProgressMonitor monitor) {
-		THGraph graph = new THGraph();
+		final ICElement input = fInput;
+		final THGraphCache cache = THGraphCache.getInstance();
+		THGraph graph = input != null ? cache.get(input) : null;
+		if (graph != null) {
+			onJobDone(graph, job);
+			return Status.OK_STATUS;
+		}
+		final long indexChangeCount = cache.getIndexChangeCount();
+		graph = new THGraph();
 		try {
 			ICProject[] scope = CoreModel.getDefault().getCModel().getCProjects();
 			IIndex index = CCorePlugin.getIndexManager().getIndex(scope,
@@ -156,13 +164,16 @@ class THHierarchyModel {
 			try {
 				if (monitor.isCanceled())
 					return Status.CANCEL_STATUS;
-				graph.defineInputNode(index, fInput);
+				graph.defineInputNode(index, input);
 				graph.addSuperClasses(index, monitor);
 				if (monitor.isCanceled())
 					return Status.CANCEL_STATUS;
 				graph.addSubClasses(index, monitor);
 				if (monitor.isCanceled())
 					return Status.CANCEL_STATUS;
+				if (graph.getInputNode() != null) {
+					cache.put(input, graph, indexChangeCount);
+				}
 			} finally {
 				index.releaseReadLock();
 			}
@@ -337,6 +348,7 @@ class THHierarchyModel {
 	}
 
 	synchronized public void refresh() {
+		THGraphCache.getInstance().clear();
 		computeGraph();
 	}
 